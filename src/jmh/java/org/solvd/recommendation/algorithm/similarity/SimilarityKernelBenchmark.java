@@ -0,0 +1,106 @@
+package org.solvd.recommendation.algorithm.similarity;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the map-based and the merge-join similarity kernels of {@link ISimilarityCalculator}
+ * on the same pair of sparse rating vectors.
+ * <p>
+ * Each vector holds {@code size} ratings on a 1-10 scale drawn from a catalogue of
+ * {@code size / overlap} movies, so about {@code overlap} of the entries are co-rated.
+ * The sizes span a casual user's row up to a popular movie's column.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SimilarityKernelBenchmark {
+    private static final long SEED = 42L;
+
+    @Param({"COSINE", "PEARSON"})
+    private SimilarityMethod method;
+
+    @Param({"20", "200", "2000"})
+    private int size;
+
+    @Param({"0.1", "0.5"})
+    private double overlap;
+
+    private ISimilarityCalculator calculator;
+    private Map<Long, Double> map1;
+    private Map<Long, Double> map2;
+    private int[] indices1;
+    private float[] values1;
+    private int[] indices2;
+    private float[] values2;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        calculator = SimilarityCalculatorFactory.createCalculator(method);
+        Random random = new Random(SEED);
+        int universe = Math.max(size, (int) (size / overlap));
+
+        indices1 = sample(random, universe);
+        values1 = ratings(random);
+        indices2 = sample(random, universe);
+        values2 = ratings(random);
+        map1 = toMap(indices1, values1);
+        map2 = toMap(indices2, values2);
+    }
+
+    @Benchmark
+    public double mapBased() {
+        return calculator.calculateSimilarity(map1, map2);
+    }
+
+    @Benchmark
+    public double mergeJoin() {
+        return calculator.calculateSimilarity(indices1, values1, indices2, values2);
+    }
+
+    // Sorted sample of distinct indices below the universe size (selection sampling)
+    private int[] sample(Random random, int universe) {
+        int[] indices = new int[size];
+        int selected = 0;
+        for (int i = 0; i < universe && selected < size; i++) {
+            if (random.nextInt(universe - i) < size - selected) {
+                indices[selected++] = i;
+            }
+        }
+        return indices;
+    }
+
+    private float[] ratings(Random random) {
+        float[] values = new float[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = 1 + random.nextInt(10);
+        }
+        return values;
+    }
+
+    private static Map<Long, Double> toMap(int[] indices, float[] values) {
+        Map<Long, Double> vector = new HashMap<>();
+        for (int i = 0; i < indices.length; i++) {
+            vector.put((long) indices[i], (double) values[i]);
+        }
+        return vector;
+    }
+}
@@ -48,10 +48,10 @@ public class MovieRecommendation {
      * Main entry point for the application.
      */
     public static void main(String[] args) {
-        try {
+        try (IRecommendationServiceFacade recommendationFacade =
+                     new RecommendationServiceFacadeImpl(ServiceFactory.getInstance())) {
             // Create service factories and facades using the Builder pattern
             ServiceFactory serviceFactory = ServiceFactory.getInstance();
-            IRecommendationServiceFacade recommendationFacade = new RecommendationServiceFacadeImpl(serviceFactory);
             DatabaseInitializer databaseInitializer = new DatabaseInitializer(serviceFactory);
 
             // Create main application with dependencies injected
@@ -4,6 +4,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.solvd.recommendation.model.*;
 import org.solvd.recommendation.service.*;
+import org.solvd.recommendation.util.MovieColumns;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -27,6 +28,9 @@ public abstract class AbstractRecommendationAlgorithm implements IRecommendation
     protected final IUserInteractionService userInteractionService;
     protected final IInteractionService interactionService;
     protected final IMovieGenreService movieGenreService;
+    protected final ReferenceDataRegistry referenceData;
+    protected final MovieCatalog movieCatalog;
+    protected final RatingMatrixRegistry ratingMatrixRegistry;
 
     protected AbstractRecommendationAlgorithm() {
         ServiceFactory serviceFactory = ServiceFactory.getInstance();
@@ -37,6 +41,9 @@ public abstract class AbstractRecommendationAlgorithm implements IRecommendation
         this.userInteractionService = serviceFactory.getUserInteractionService();
         this.interactionService = serviceFactory.getInteractionService();
         this.movieGenreService = serviceFactory.getMovieGenreService();
+        this.referenceData = serviceFactory.getReferenceDataRegistry();
+        this.movieCatalog = serviceFactory.getMovieCatalog();
+        this.ratingMatrixRegistry = serviceFactory.getRatingMatrixRegistry();
     }
 
     @Override
@@ -54,46 +61,45 @@ public abstract class AbstractRecommendationAlgorithm implements IRecommendation
             throw new IllegalArgumentException("User not found: " + userId);
         }
 
-        // Get all movies
-        List<Movie> allMovies = movieService.getAll();
+        // Current catalog snapshot; stays consistent for the whole request
+        MovieColumns catalog = movieCatalog.columns();
 
-        // Get movies already rated by the user
-        List<Long> ratedMovieIds = ratingService.getAllUserRatings(userId)
-                .stream()
-                .map(UserRating::getMovieId)
-                .toList();
-
-        // Get movies already watched by the user (from viewing history)
-        List<Long> watchedMovieIds = viewingHistoryService.getUserViewingHistory(userId)
-                .stream()
-                .map(ViewingHistory::getMovieId)
-                .toList();
-
-        // Combine both lists to get all movies to exclude
-        Set<Long> excludedMovieIds = new HashSet<>(ratedMovieIds);
-        excludedMovieIds.addAll(watchedMovieIds);
+        // Mark movies already rated or watched by the user by their catalog index
+        BitSet excluded = new BitSet(catalog.size());
+        for (UserRating rating : ratingService.getAllUserRatings(userId)) {
+            exclude(catalog, excluded, rating.getMovieId());
+        }
+        for (ViewingHistory viewing : viewingHistoryService.getUserViewingHistory(userId)) {
+            exclude(catalog, excluded, viewing.getMovieId());
+        }
 
-        // Filter out both rated and watched movies
-        List<Movie> candidateMovies = allMovies.stream()
-                .filter(movie -> !excludedMovieIds.contains(movie.getMovieId()))
-                .toList();
+        // Candidates are all catalog movies neither rated nor watched
+        List<Long> candidateMovieIds = new ArrayList<>(catalog.size() - excluded.cardinality());
+        for (int index = excluded.nextClearBit(0); index < catalog.size(); index = excluded.nextClearBit(index + 1)) {
+            candidateMovieIds.add(catalog.getMovieId(index));
+        }
 
         // Predict ratings for candidate movies
-        Map<Long, Double> predictedRatings = predictRatings(userId,
-                candidateMovies.stream()
-                        .map(Movie::getMovieId)
-                        .collect(Collectors.toList()));
+        Map<Long, Double> predictedRatings = predictRatings(userId, candidateMovieIds);
 
         // Sort candidates by predicted rating
-        return candidateMovies.stream()
-                .filter(movie -> predictedRatings.containsKey(movie.getMovieId()))
+        return candidateMovieIds.stream()
+                .filter(predictedRatings::containsKey)
                 .sorted((m1, m2) -> Double.compare(
-                        predictedRatings.getOrDefault(m2.getMovieId(), 0.0),
-                        predictedRatings.getOrDefault(m1.getMovieId(), 0.0)))
+                        predictedRatings.getOrDefault(m2, 0.0),
+                        predictedRatings.getOrDefault(m1, 0.0)))
                 .limit(limit)
+                .map(movieId -> catalog.toMovie(catalog.indexOf(movieId)))
                 .collect(Collectors.toList());
     }
 
+    private static void exclude(MovieColumns catalog, BitSet excluded, Long movieId) {
+        int index = movieId == null ? -1 : catalog.indexOf(movieId);
+        if (index >= 0) {
+            excluded.set(index);
+        }
+    }
+
     /**
      * Template method to be implemented by concrete algorithms.
      */
@@ -2,10 +2,13 @@ package org.solvd.recommendation.algorithm;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.solvd.recommendation.algorithm.similarity.CoRatingAccumulator;
 import org.solvd.recommendation.algorithm.similarity.ISimilarityCalculator;
 import org.solvd.recommendation.algorithm.similarity.SimilarityCalculatorFactory;
 import org.solvd.recommendation.algorithm.similarity.SimilarityMethod;
 import org.solvd.recommendation.model.*;
+import org.solvd.recommendation.service.ServiceFactory;
+import org.solvd.recommendation.util.RatingMatrix;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -25,19 +28,31 @@ import java.util.stream.Collectors;
 public class CollaborativeFilteringAlgorithm extends AbstractRecommendationAlgorithm {
     private static final Logger logger = LoggerFactory.getLogger(CollaborativeFilteringAlgorithm.class);
     private static final int DEFAULT_NEIGHBOR_COUNT = 10;
-    private static final double SIMILARITY_THRESHOLD = 0.1;
+    static final double SIMILARITY_THRESHOLD = 0.1;
+    // Neighbours above this similarity may contribute implicit ratings from interactions
+    private static final double INTERACTION_FALLBACK_SIMILARITY = 0.4;
 
     // Simplified weighting scheme with reduced interaction influence
     private static final double RATING_SIMILARITY_WEIGHT = 0.8;
     private static final double INTERACTION_SIMILARITY_WEIGHT = 0.2;
 
+    // Share of positive (like, favorite) and negative (dislike) overlap in interaction similarity
+    static final double POSITIVE_INTERACTION_WEIGHT = 0.6;
+    static final double NEGATIVE_INTERACTION_WEIGHT = 0.4;
+
     // Simplified implicit rating values (only for significant types)
     private static final double FAVORITE_IMPLICIT_RATING = 8.0;
     private static final double LIKE_IMPLICIT_RATING = 7.0;
     private static final double DISLIKE_IMPLICIT_RATING = 3.0;
 
+    // Scratch space of the neighbour search, reused by each request thread
+    private static final ThreadLocal<CoRatingAccumulator> CO_RATINGS = ThreadLocal.withInitial(CoRatingAccumulator::new);
+
+    private final SimilarityMethod similarityMethod;
     private final ISimilarityCalculator similarityCalculator;
     private final int neighborCount;
+    // Precomputed neighbours, or null when the table is disabled
+    private final UserNeighbourhoods neighbourhoods;
 
     public CollaborativeFilteringAlgorithm() {
         this(SimilarityMethod.PEARSON, DEFAULT_NEIGHBOR_COUNT);
@@ -45,19 +60,25 @@ public class CollaborativeFilteringAlgorithm extends AbstractRecommendationAlgor
 
     public CollaborativeFilteringAlgorithm(SimilarityMethod similarityMethod, int neighborCount) {
         super();
+        this.similarityMethod = similarityMethod;
         this.similarityCalculator = SimilarityCalculatorFactory.createCalculator(similarityMethod);
         this.neighborCount = neighborCount;
+        this.neighbourhoods = ServiceFactory.getInstance().getUserNeighbourhoods();
         logger.info("Initialized collaborative filtering with {} similarity and {} neighbors",
                 similarityMethod, neighborCount);
     }
 
     @Override
     public Map<Long, Double> predictRatings(Long userId, List<Long> movieIds) {
-        // Get target user's ratings
-        Map<Long, Double> targetUserRatings = getUserRatingsMap(userId);
-
-        // Find similar users (neighbors)
-        Map<Long, Double> userSimilarities = findSimilarUsers(userId, targetUserRatings);
+        // Shared rating matrix; the same snapshot is used for the whole request
+        RatingMatrix matrix = ratingMatrixRegistry.matrix();
+        int targetIndex = matrix.userIndex(userId);
+
+        // Find similar users (neighbors), from the precomputed table when it covers the user
+        Map<Long, Double> userSimilarities = getPrecomputedNeighbours(userId);
+        if (userSimilarities == null) {
+            userSimilarities = findSimilarUsers(matrix, targetIndex);
+        }
 
         // If no similar users found, return empty result
         if (userSimilarities.isEmpty()) {
@@ -65,10 +86,32 @@ public class CollaborativeFilteringAlgorithm extends AbstractRecommendationAlgor
             return Collections.emptyMap();
         }
 
+        // Resolve the neighbours' matrix rows once for all candidates; a precomputed neighbour
+        // may have lost all ratings since, it then has no row and only interactions count
+        long[] neighbourIds = new long[userSimilarities.size()];
+        int[] neighbourIndices = new int[neighbourIds.length];
+        double[] neighbourSimilarities = new double[neighbourIds.length];
+        int neighbour = 0;
+        for (Map.Entry<Long, Double> entry : userSimilarities.entrySet()) {
+            neighbourIds[neighbour] = entry.getKey();
+            neighbourIndices[neighbour] = matrix.userIndex(entry.getKey());
+            neighbourSimilarities[neighbour] = entry.getValue();
+            neighbour++;
+        }
+
+        // Interactions are only consulted for highly similar neighbours, load them once per neighbour
+        Map<Long, List<UserInteraction>> neighbourInteractions = new HashMap<>();
+        for (Map.Entry<Long, Double> entry : userSimilarities.entrySet()) {
+            if (entry.getValue() > INTERACTION_FALLBACK_SIMILARITY) {
+                neighbourInteractions.put(entry.getKey(), userInteractionService.getByUser(entry.getKey()));
+            }
+        }
+
         // Predict ratings for specified movies
         Map<Long, Double> predictions = new HashMap<>();
         for (Long movieId : movieIds) {
-            Double predictedRating = predictRating(movieId, userSimilarities, targetUserRatings);
+            Double predictedRating = predictRating(movieId, matrix, targetIndex,
+                    neighbourIds, neighbourIndices, neighbourSimilarities, neighbourInteractions);
             if (predictedRating != null) {
                 predictions.put(movieId, predictedRating);
             }
@@ -77,42 +120,76 @@ public class CollaborativeFilteringAlgorithm extends AbstractRecommendationAlgor
         return predictions;
     }
 
+    /**
+     * Reads the user's neighbours from the precomputed table in O(K).
+     *
+     * @return the neighbours, most similar first, or {@code null} if the table is disabled,
+     * not built yet, built with another similarity method or has no entry for the user
+     */
+    private Map<Long, Double> getPrecomputedNeighbours(Long userId) {
+        UserNeighbourTable table = neighbourhoods == null ? null : neighbourhoods.getTable();
+        if (table == null || table.getSimilarityMethod() != similarityMethod) {
+            return null;
+        }
+        int index = table.indexOf(userId);
+        if (index < 0) {
+            return null;
+        }
+
+        Map<Long, Double> neighbours = new LinkedHashMap<>();
+        int end = Math.min(table.end(index), table.start(index) + neighborCount);
+        for (int entry = table.start(index); entry < end; entry++) {
+            neighbours.put(table.neighbourId(entry), (double) table.similarity(entry));
+        }
+        return neighbours;
+    }
+
+    /**
+     * Blends rating and interaction similarity; shared with the precomputed neighbour table.
+     */
+    static double combineSimilarities(double ratingSimilarity, double interactionSimilarity) {
+        return (ratingSimilarity * RATING_SIMILARITY_WEIGHT) +
+                (interactionSimilarity * INTERACTION_SIMILARITY_WEIGHT);
+    }
+
     /**
      * Finds users similar to the target user based on rating patterns and interaction behavior.
+     * Only users sharing a rated movie with the target are compared: for everyone else both
+     * similarity measures are zero, below the threshold.
      */
-    private Map<Long, Double> findSimilarUsers(Long targetUserId, Map<Long, Double> targetUserRatings) {
-        // Get all users except the target user
-        List<Long> otherUserIds = userService.getAll().stream()
-                .map(User::getUserId)
-                .filter(id -> !id.equals(targetUserId))
-                .toList();
+    private Map<Long, Double> findSimilarUsers(RatingMatrix matrix, int targetIndex) {
+        // A user without ratings has no rating-based neighbours
+        if (targetIndex < 0) {
+            return Collections.emptyMap();
+        }
 
         // Similarity map [userId -> similarityScore]
         Map<Long, Double> similarities = new HashMap<>();
 
         // Get target user's interactions for efficient comparison
-        Map<Long, Set<Long>> targetUserInteractions = getMovieInteractionsByType(targetUserId);
+        Map<Long, Set<Long>> targetUserInteractions = getMovieInteractionsByType(matrix.userId(targetIndex));
 
-        // Calculate similarity with each user
-        for (Long userId : otherUserIds) {
-            Map<Long, Double> userRatings = getUserRatingsMap(userId);
+        // Walk the raters of each movie the target rated, collecting co-rating moments per user
+        CoRatingAccumulator coRatings = CO_RATINGS.get();
+        coRatings.accumulateUser(matrix, targetIndex);
 
-            // Skip users with no ratings
-            if (userRatings.isEmpty()) continue;
+        // Calculate similarity with each co-rater
+        for (int i = 0; i < coRatings.size(); i++) {
+            int userIndex = coRatings.candidate(i);
 
-            // Calculate rating-based similarity
-            double ratingSimilarity = similarityCalculator.calculateSimilarity(targetUserRatings, userRatings);
+            // Calculate rating-based similarity from the collected moments
+            double ratingSimilarity = coRatings.similarity(i, similarityCalculator);
 
             // Skip interaction similarity calculation if rating similarity is too low
             if (ratingSimilarity < SIMILARITY_THRESHOLD / 2) continue;
+            long userId = matrix.userId(userIndex);
 
             // Calculate interaction-based similarity (simplified)
             double interactionSimilarity = calculateSimpleInteractionSimilarity(
                     targetUserInteractions, getMovieInteractionsByType(userId));
 
             // Combine both similarities with appropriate weights
-            double combinedSimilarity = (ratingSimilarity * RATING_SIMILARITY_WEIGHT) +
-                    (interactionSimilarity * INTERACTION_SIMILARITY_WEIGHT);
+            double combinedSimilarity = combineSimilarities(ratingSimilarity, interactionSimilarity);
 
             // Only consider users with positive combined similarity above threshold
             if (combinedSimilarity > SIMILARITY_THRESHOLD) {
@@ -167,10 +244,10 @@ public class CollaborativeFilteringAlgorithm extends AbstractRecommendationAlgor
                 Collections.emptySet();
 
         // Calculate positive interaction similarity (60% weight)
-        double positiveSimilarity = calculateJaccardSimilarity(user1Positive, user2Positive) * 0.6;
+        double positiveSimilarity = calculateJaccardSimilarity(user1Positive, user2Positive) * POSITIVE_INTERACTION_WEIGHT;
 
         // Calculate negative interaction similarity (40% weight)
-        double negativeSimilarity = calculateJaccardSimilarity(user1Negative, user2Negative) * 0.4;
+        double negativeSimilarity = calculateJaccardSimilarity(user1Negative, user2Negative) * NEGATIVE_INTERACTION_WEIGHT;
 
         return positiveSimilarity + negativeSimilarity;
     }
@@ -206,32 +283,39 @@ public class CollaborativeFilteringAlgorithm extends AbstractRecommendationAlgor
      * - similarity_u is the similarity score between the target user and user u
      * - rating_u is the rating given by user u for the movie
      */
-    private Double predictRating(Long movieId, Map<Long, Double> similarUsers,
-                                 Map<Long, Double> targetUserRatings) {
+    private Double predictRating(Long movieId, RatingMatrix matrix, int targetIndex,
+                                 long[] neighbourIds, int[] neighbourIndices, double[] neighbourSimilarities,
+                                 Map<Long, List<UserInteraction>> neighbourInteractions) {
         double weightSum = 0.0;
         double weightedRatingSum = 0.0;
 
-        // If target user has already rated this movie, don't predict
-        if (targetUserRatings.containsKey(movieId)) {
+        // A movie without ratings has no matrix column, but neighbours may still have interacted with it
+        int movieIndex = matrix.movieIndex(movieId);
+
+        // If target user has already rated this movie, don't predict; a user from a precomputed
+        // table may have no row in the current matrix
+        if (targetIndex >= 0 && movieIndex >= 0 && !Float.isNaN(matrix.getRating(targetIndex, movieIndex))) {
             return null;
         }
 
         // Strict approach: primarily use existing ratings
-        for (Map.Entry<Long, Double> entry : similarUsers.entrySet()) {
-            Long userId = entry.getKey();
-            Double similarity = entry.getValue();
+        for (int neighbour = 0; neighbour < neighbourIds.length; neighbour++) {
+            long userId = neighbourIds[neighbour];
+            double similarity = neighbourSimilarities[neighbour];
 
             // First check if the user has rated this movie
-            UserRating rating = ratingService.getByUserAndMovie(userId, movieId);
-            if (rating != null) {
+            int neighbourIndex = neighbourIndices[neighbour];
+            float userRating = movieIndex < 0 || neighbourIndex < 0
+                    ? Float.NaN : matrix.getRating(neighbourIndex, movieIndex);
+            if (!Float.isNaN(userRating)) {
                 // Add to weighted sum
-                double userRating = rating.getRatingValue().doubleValue();
                 weightedRatingSum += similarity * userRating;
                 weightSum += Math.abs(similarity);
             }
             // Only check interactions for users with high similarity
-            else if (similarity > 0.4) {
-                UserInteraction interaction = getSignificantInteraction(userId, movieId);
+            else if (similarity > INTERACTION_FALLBACK_SIMILARITY) {
+                UserInteraction interaction = getSignificantInteraction(
+                        neighbourInteractions.getOrDefault(userId, Collections.emptyList()), movieId);
                 if (interaction != null) {
                     Double implicitRating = getImplicitRating(interaction);
                     if (implicitRating != null) {
@@ -256,8 +340,8 @@ public class CollaborativeFilteringAlgorithm extends AbstractRecommendationAlgor
     /**
      * Simplified method to get the most significant interaction with a movie.
      */
-    private UserInteraction getSignificantInteraction(Long userId, Long movieId) {
-        List<UserInteraction> movieInteractions = userInteractionService.getByUser(userId).stream()
+    private UserInteraction getSignificantInteraction(List<UserInteraction> userInteractions, Long movieId) {
+        List<UserInteraction> movieInteractions = userInteractions.stream()
                 .filter(i -> i.getMovieId().equals(movieId))
                 .toList();
 
@@ -288,38 +372,22 @@ public class CollaborativeFilteringAlgorithm extends AbstractRecommendationAlgor
     private Double getImplicitRating(UserInteraction interaction) {
         if (interaction == null) return null;
 
-        Interaction interactionType = interactionService.getById(interaction.getInteractionsId());
-        if (interactionType == null) return null;
-
-        try {
-            InteractionType type = InteractionType.valueOf(String.valueOf(interactionType.getType()));
+        InteractionType type = referenceData.getInteractionType(interaction.getInteractionsId());
+        if (type == null) return null;
 
-            return switch (type) {
-                case FAVORITE -> FAVORITE_IMPLICIT_RATING;
-                case LIKE -> LIKE_IMPLICIT_RATING;
-                case DISLIKE -> DISLIKE_IMPLICIT_RATING;
-                default -> null;
-            };
-        } catch (IllegalArgumentException e) {
-            return null;
-        }
+        return switch (type) {
+            case FAVORITE -> FAVORITE_IMPLICIT_RATING;
+            case LIKE -> LIKE_IMPLICIT_RATING;
+            case DISLIKE -> DISLIKE_IMPLICIT_RATING;
+            default -> null;
+        };
     }
 
     /**
      * Gets the interaction type ID for the specified interaction type.
      */
     private Long getInteractionTypeId(InteractionType type) {
-        for (Interaction interaction : interactionService.getAll()) {
-            try {
-                String interactionType = String.valueOf(interaction.getType());
-                if (interactionType.equals(type.name())) {
-                    return interaction.getInteractionId();
-                }
-            } catch (Exception e) {
-                logger.warn("Error processing interaction type: {}", e.getMessage());
-            }
-        }
-        return null;
+        return referenceData.getInteractionId(type);
     }
 
     /**
@@ -337,15 +405,4 @@ public class CollaborativeFilteringAlgorithm extends AbstractRecommendationAlgor
 
         return moviesByInteractionType;
     }
-
-    /**
-     * Converts user ratings to a map of movie IDs to rating values.
-     */
-    private Map<Long, Double> getUserRatingsMap(Long userId) {
-        return ratingService.getAllUserRatings(userId).stream()
-                .collect(Collectors.toMap(
-                        UserRating::getMovieId,
-                        rating -> rating.getRatingValue().doubleValue()
-                ));
-    }
-}
\ No newline at end of file
+}
@@ -61,14 +61,29 @@ public class ContentBasedFilteringAlgorithm extends AbstractRecommendationAlgori
             return Collections.emptyMap();
         }
 
+        // Sparse vector over the dense genre indices, sorted by index
+        int[] userGenreIndices = userGenrePreferences.keySet().stream()
+                .mapToInt(referenceData::getGenreIndex)
+                .filter(index -> index >= 0)
+                .sorted()
+                .toArray();
+        float[] userGenreWeights = new float[userGenreIndices.length];
+        for (int i = 0; i < userGenreIndices.length; i++) {
+            userGenreWeights[i] = userGenrePreferences.get(referenceData.getGenreId(userGenreIndices[i])).floatValue();
+        }
+
         Map<Long, Double> predictions = new HashMap<>();
         for (Long movieId : movieIds) {
-            Map<Long, Double> movieGenreProfile = getMovieGenreProfile(movieId);
+            int[] movieGenreIndices = getMovieGenreIndices(movieId);
 
-            if (movieGenreProfile.isEmpty()) continue;
+            if (movieGenreIndices.length == 0) continue;
+
+            // Every genre of a movie has the same weight
+            float[] movieGenreWeights = new float[movieGenreIndices.length];
+            Arrays.fill(movieGenreWeights, 1.0f / movieGenreIndices.length);
 
             double similarity = similarityCalculator.calculateSimilarity(
-                    userGenrePreferences, movieGenreProfile);
+                    userGenreIndices, userGenreWeights, movieGenreIndices, movieGenreWeights);
 
             // Scale similarity to 1-10 rating range and ensure it's within bounds
             double predictedRating = Math.max(1.0, Math.min(10.0, 5.0 + (similarity * 5.0)));
@@ -140,43 +155,32 @@ public class ContentBasedFilteringAlgorithm extends AbstractRecommendationAlgori
     private double getInteractionWeight(Long interactionId) {
         if (interactionId == null) return 0.0;
 
-        // Get interaction from service
-        Interaction interaction = interactionService.getById(interactionId);
-        if (interaction == null) return 0.0;
-
-        // Return weight based on interaction type
-        String typeStr = String.valueOf(interaction.getType());
-        try {
-            InteractionType type = InteractionType.valueOf(typeStr);
-
-            return switch (type) {
-                case LIKE -> LIKE_WEIGHT;
-                case FAVORITE -> FAVORITE_WEIGHT;
-                case DISLIKE -> DISLIKE_WEIGHT;
-                case WATCH -> WATCH_WEIGHT;
-                default -> {
-                    logger.warn("Unhandled interaction type: {}", type);
-                    yield 0.0;
-                }
-            };
-        } catch (IllegalArgumentException e) {
-            logger.warn("Unknown interaction type: {}", typeStr);
+        // Resolve the interaction type from the preloaded reference data
+        InteractionType type = referenceData.getInteractionType(interactionId);
+        if (type == null) {
+            logger.warn("Unknown interaction ID: {}", interactionId);
             return 0.0;
         }
-    }
-
 
-    private Map<Long, Double> getMovieGenreProfile(Long movieId) {
-        List<MovieGenres> movieGenres = movieGenreService.getByMovie(movieId);
+        // Return weight based on interaction type
+        return switch (type) {
+            case LIKE -> LIKE_WEIGHT;
+            case FAVORITE -> FAVORITE_WEIGHT;
+            case DISLIKE -> DISLIKE_WEIGHT;
+            case WATCH -> WATCH_WEIGHT;
+        };
+    }
 
-        if (movieGenres.isEmpty()) return Collections.emptyMap();
 
-        double weight = 1.0 / movieGenres.size();
-        return movieGenres.stream()
-                .collect(Collectors.toMap(
-                        MovieGenres::getGenreId,
-                        mg -> weight,
-                        (v1, v2) -> v1
-                ));
+    /**
+     * Gets the sorted, distinct dense genre indices of a movie.
+     */
+    private int[] getMovieGenreIndices(Long movieId) {
+        return movieGenreService.getByMovie(movieId).stream()
+                .mapToInt(mg -> referenceData.getGenreIndex(mg.getGenreId()))
+                .filter(index -> index >= 0)
+                .sorted()
+                .distinct()
+                .toArray();
     }
 }
\ No newline at end of file
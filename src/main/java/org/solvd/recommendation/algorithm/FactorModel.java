@@ -0,0 +1,109 @@
+package org.solvd.recommendation.algorithm;
+
+import java.util.Arrays;
+
+/**
+ * Immutable matrix factorization model: a latent factor vector per user and per movie, trained
+ * by {@link MatrixFactorization}.
+ * <p>
+ * Users and movies are sorted by ID. The factors of all users (and of all movies) are stored
+ * row by row in one contiguous array, the vector of the user at position {@code u} being
+ * {@code userFactors[u * factorCount, (u + 1) * factorCount)}, so a prediction is a single
+ * sequential dot product added to the global mean rating.
+ */
+public final class FactorModel {
+    private final int factorCount;
+    private final double globalMean;
+    private final long[] userIds;
+    private final long[] movieIds;
+    private final float[] userFactors;
+    private final float[] movieFactors;
+
+    // Training report
+    private final int iterations;
+    private final double regularization;
+    private final double trainingRmse;
+    private final long trainingMillis;
+    private final long builtAtMillis;
+
+    FactorModel(int factorCount, double globalMean, long[] userIds, long[] movieIds,
+                float[] userFactors, float[] movieFactors, int iterations, double regularization,
+                double trainingRmse, long trainingMillis, long builtAtMillis) {
+        this.factorCount = factorCount;
+        this.globalMean = globalMean;
+        this.userIds = userIds;
+        this.movieIds = movieIds;
+        this.userFactors = userFactors;
+        this.movieFactors = movieFactors;
+        this.iterations = iterations;
+        this.regularization = regularization;
+        this.trainingRmse = trainingRmse;
+        this.trainingMillis = trainingMillis;
+        this.builtAtMillis = builtAtMillis;
+    }
+
+    public int getFactorCount() {
+        return factorCount;
+    }
+
+    public double getGlobalMean() {
+        return globalMean;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    public double getRegularization() {
+        return regularization;
+    }
+
+    /**
+     * @return the root mean squared error of the model over the ratings it was trained on
+     */
+    public double getTrainingRmse() {
+        return trainingRmse;
+    }
+
+    public long getTrainingMillis() {
+        return trainingMillis;
+    }
+
+    public long getBuiltAtMillis() {
+        return builtAtMillis;
+    }
+
+    public int userCount() {
+        return userIds.length;
+    }
+
+    public int movieCount() {
+        return movieIds.length;
+    }
+
+    /**
+     * @return the position of the user in the model, or -1 if the user had no ratings
+     */
+    public int userIndex(long userId) {
+        int index = Arrays.binarySearch(userIds, userId);
+        return index < 0 ? -1 : index;
+    }
+
+    /**
+     * @return the position of the movie in the model, or -1 if the movie had no ratings
+     */
+    public int movieIndex(long movieId) {
+        int index = Arrays.binarySearch(movieIds, movieId);
+        return index < 0 ? -1 : index;
+    }
+
+    public double predict(int userIndex, int movieIndex) {
+        int u = userIndex * factorCount;
+        int m = movieIndex * factorCount;
+        double dot = 0.0;
+        for (int f = 0; f < factorCount; f++) {
+            dot += userFactors[u + f] * movieFactors[m + f];
+        }
+        return globalMean + dot;
+    }
+}
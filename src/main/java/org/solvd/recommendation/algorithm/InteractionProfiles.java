@@ -0,0 +1,136 @@
+package org.solvd.recommendation.algorithm;
+
+import org.solvd.recommendation.model.InteractionType;
+import org.solvd.recommendation.model.UserInteraction;
+import org.solvd.recommendation.service.ReferenceDataRegistry;
+import org.solvd.recommendation.util.RatingMatrix;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * Positive (like, favorite) and negative (dislike) movie sets of every user in a
+ * {@link RatingMatrix}, as sorted movie ID slices indexed by the matrix user index.
+ * Used by the neighbour table build to blend in interaction similarity without a query per user.
+ */
+final class InteractionProfiles {
+    private final MovieSets positive;
+    private final MovieSets negative;
+
+    private InteractionProfiles(MovieSets positive, MovieSets negative) {
+        this.positive = positive;
+        this.negative = negative;
+    }
+
+    static InteractionProfiles of(RatingMatrix matrix, Iterator<UserInteraction> interactions,
+                                  ReferenceDataRegistry referenceData) {
+        MovieSets.Builder positive = new MovieSets.Builder();
+        MovieSets.Builder negative = new MovieSets.Builder();
+        while (interactions.hasNext()) {
+            UserInteraction interaction = interactions.next();
+            int userIndex = matrix.userIndex(interaction.getUserId());
+            InteractionType type = referenceData.getInteractionType(interaction.getInteractionsId());
+            if (userIndex < 0 || type == null) continue;
+
+            switch (type) {
+                case LIKE, FAVORITE -> positive.add(userIndex, interaction.getMovieId());
+                case DISLIKE -> negative.add(userIndex, interaction.getMovieId());
+                default -> { }
+            }
+        }
+        return new InteractionProfiles(positive.build(matrix.userCount()), negative.build(matrix.userCount()));
+    }
+
+    /**
+     * Same measure as {@code CollaborativeFilteringAlgorithm.calculateSimpleInteractionSimilarity}:
+     * weighted Jaccard similarity of the positive and of the negative sets.
+     */
+    double similarity(int userIndex1, int userIndex2) {
+        return positive.jaccard(userIndex1, userIndex2) * CollaborativeFilteringAlgorithm.POSITIVE_INTERACTION_WEIGHT
+                + negative.jaccard(userIndex1, userIndex2) * CollaborativeFilteringAlgorithm.NEGATIVE_INTERACTION_WEIGHT;
+    }
+
+    // Distinct sorted movie IDs per user, in CSR layout
+    private static final class MovieSets {
+        private final int[] offsets;
+        private final long[] movieIds;
+
+        private MovieSets(int[] offsets, long[] movieIds) {
+            this.offsets = offsets;
+            this.movieIds = movieIds;
+        }
+
+        double jaccard(int user1, int user2) {
+            int from1 = offsets[user1];
+            int to1 = offsets[user1 + 1];
+            int from2 = offsets[user2];
+            int to2 = offsets[user2 + 1];
+            if (from1 == to1 && from2 == to2) {
+                return 0.0;
+            }
+
+            int intersection = 0;
+            int i = from1;
+            int j = from2;
+            while (i < to1 && j < to2) {
+                if (movieIds[i] < movieIds[j]) {
+                    i++;
+                } else if (movieIds[i] > movieIds[j]) {
+                    j++;
+                } else {
+                    intersection++;
+                    i++;
+                    j++;
+                }
+            }
+            int union = (to1 - from1) + (to2 - from2) - intersection;
+            return (double) intersection / union;
+        }
+
+        private static final class Builder {
+            private int[] users = new int[1024];
+            private long[] movies = new long[1024];
+            private int count;
+
+            void add(int userIndex, long movieId) {
+                if (count == users.length) {
+                    users = Arrays.copyOf(users, count * 2);
+                    movies = Arrays.copyOf(movies, count * 2);
+                }
+                users[count] = userIndex;
+                movies[count] = movieId;
+                count++;
+            }
+
+            MovieSets build(int userCount) {
+                int[] offsets = new int[userCount + 1];
+                for (int i = 0; i < count; i++) {
+                    offsets[users[i] + 1]++;
+                }
+                for (int u = 0; u < userCount; u++) {
+                    offsets[u + 1] += offsets[u];
+                }
+
+                long[] grouped = new long[count];
+                int[] next = Arrays.copyOf(offsets, userCount);
+                for (int i = 0; i < count; i++) {
+                    grouped[next[users[i]]++] = movies[i];
+                }
+
+                // Sort and deduplicate every user's slice, then compact the slices
+                int[] compactOffsets = new int[userCount + 1];
+                int size = 0;
+                for (int u = 0; u < userCount; u++) {
+                    Arrays.sort(grouped, offsets[u], offsets[u + 1]);
+                    for (int k = offsets[u]; k < offsets[u + 1]; k++) {
+                        if (k == offsets[u] || grouped[k] != grouped[k - 1]) {
+                            grouped[size++] = grouped[k];
+                        }
+                    }
+                    compactOffsets[u + 1] = size;
+                }
+                return new MovieSets(compactOffsets, Arrays.copyOf(grouped, size));
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package org.solvd.recommendation.algorithm;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.solvd.recommendation.service.ServiceFactory;
+import org.solvd.recommendation.util.RatingMatrix;
+
+import java.util.*;
+
+/**
+ * Item-based collaborative filtering recommendation algorithm implementation.
+ *
+ * Instead of searching for similar users, this algorithm relies on movie-to-movie similarities
+ * computed in advance from rating co-occurrence ({@link ItemNeighbourhoods}). A movie is scored
+ * from the user's own ratings of its most similar movies, so the online cost depends on the
+ * length of the user's rating history and not on the number of users.
+ *
+ * The algorithm works in two steps:
+ * 1. For every movie the user rated, visit its precomputed top-N similar movies
+ * 2. Predict ratings using weighted averages of the user's ratings of these similar movies
+ */
+public class ItemBasedCollaborativeFilteringAlgorithm extends AbstractRecommendationAlgorithm {
+    private static final Logger logger = LoggerFactory.getLogger(ItemBasedCollaborativeFilteringAlgorithm.class);
+
+    // Score accumulators of the prediction, reused by each request thread
+    private static final ThreadLocal<ItemScores> SCORES = ThreadLocal.withInitial(ItemScores::new);
+
+    private final ItemNeighbourhoods neighbourhoods;
+
+    public ItemBasedCollaborativeFilteringAlgorithm() {
+        super();
+        this.neighbourhoods = ServiceFactory.getInstance().getItemNeighbourhoods();
+        logger.info("Initialized item-based collaborative filtering with {} similarity",
+                neighbourhoods.getSimilarityMethod());
+    }
+
+    /**
+     * Predicts ratings with the formula:
+     * predictedRating = Σ(similarity_ij * rating_j) / Σ|similarity_ij|
+     * where:
+     * - j is a movie rated by the user that has movie i among its most similar movies
+     * - similarity_ij is the precomputed similarity between movies i and j
+     * - rating_j is the user's rating of movie j
+     */
+    @Override
+    public Map<Long, Double> predictRatings(Long userId, List<Long> movieIds) {
+        ItemNeighbourTable table = neighbourhoods.getTable();
+        if (table == null) {
+            logger.debug("Item neighbour table not built yet, no predictions for user {}", userId);
+            return Collections.emptyMap();
+        }
+
+        // Current matrix for the user's ratings, so ratings given since the last table build count
+        RatingMatrix matrix = ratingMatrixRegistry.matrix();
+        int userIndex = matrix.userIndex(userId);
+        if (userIndex < 0) {
+            logger.warn("No ratings found for user {}", userId);
+            return Collections.emptyMap();
+        }
+
+        ItemScores scores = SCORES.get();
+        scores.reset(table.movieCount());
+
+        // Spread each rating over the neighbours of the rated movie
+        for (int entry = matrix.rowStart(userIndex); entry < matrix.rowEnd(userIndex); entry++) {
+            int ratedIndex = table.indexOf(matrix.movieId(matrix.rowMovie(entry)));
+            if (ratedIndex < 0) continue;
+
+            double rating = matrix.rowRating(entry);
+            for (int k = table.start(ratedIndex); k < table.end(ratedIndex); k++) {
+                scores.add(table.neighbour(k), table.similarity(k), rating);
+            }
+        }
+
+        // Predict ratings for specified movies not rated by the user yet
+        Map<Long, Double> predictions = new HashMap<>();
+        for (Long movieId : movieIds) {
+            int index = table.indexOf(movieId);
+            if (index < 0) continue;
+
+            int movieIndex = matrix.movieIndex(movieId);
+            if (movieIndex >= 0 && !Float.isNaN(matrix.getRating(userIndex, movieIndex))) continue;
+
+            Double predictedRating = scores.predict(index);
+            if (predictedRating != null) {
+                predictions.put(movieId, predictedRating);
+            }
+        }
+
+        return predictions;
+    }
+
+    // Weighted rating sums by table position; only the touched positions are cleared between requests
+    private static final class ItemScores {
+        private double[] weightedRatingSums = new double[0];
+        private double[] weightSums = new double[0];
+        private int[] touched = new int[0];
+        private int touchedCount;
+
+        void reset(int movieCount) {
+            if (weightSums.length < movieCount) {
+                weightedRatingSums = new double[movieCount];
+                weightSums = new double[movieCount];
+                touched = new int[movieCount];
+            } else {
+                for (int i = 0; i < touchedCount; i++) {
+                    weightedRatingSums[touched[i]] = 0.0;
+                    weightSums[touched[i]] = 0.0;
+                }
+            }
+            touchedCount = 0;
+        }
+
+        void add(int index, double similarity, double rating) {
+            if (similarity == 0.0) return;
+            if (weightSums[index] == 0.0) {
+                touched[touchedCount++] = index;
+            }
+            weightedRatingSums[index] += similarity * rating;
+            weightSums[index] += Math.abs(similarity);
+        }
+
+        Double predict(int index) {
+            return weightSums[index] == 0.0 ? null : weightedRatingSums[index] / weightSums[index];
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package org.solvd.recommendation.algorithm;
+
+import org.solvd.recommendation.algorithm.similarity.SimilarityMethod;
+
+import java.util.Arrays;
+
+/**
+ * Immutable table of each movie's top-N most similar movies by rating co-occurrence.
+ * <p>
+ * Movies are sorted by ID; the neighbours of the movie at position {@code i} are the entries
+ * {@code [start(i), end(i))} of the parallel neighbour and similarity arrays, most similar first.
+ * Neighbours are stored as positions in this table rather than IDs, so scoring can accumulate
+ * into arrays indexed by position.
+ */
+public final class ItemNeighbourTable {
+    private final SimilarityMethod similarityMethod;
+    private final long builtAtMillis;
+    private final long[] movieIds;
+    private final int[] offsets;
+    private final int[] neighbours;
+    private final float[] similarities;
+
+    ItemNeighbourTable(SimilarityMethod similarityMethod, long builtAtMillis,
+                       long[] movieIds, int[] offsets, int[] neighbours, float[] similarities) {
+        this.similarityMethod = similarityMethod;
+        this.builtAtMillis = builtAtMillis;
+        this.movieIds = movieIds;
+        this.offsets = offsets;
+        this.neighbours = neighbours;
+        this.similarities = similarities;
+    }
+
+    public SimilarityMethod getSimilarityMethod() {
+        return similarityMethod;
+    }
+
+    public long getBuiltAtMillis() {
+        return builtAtMillis;
+    }
+
+    public int movieCount() {
+        return movieIds.length;
+    }
+
+    public int entryCount() {
+        return neighbours.length;
+    }
+
+    /**
+     * @return the position of the movie in the table, or -1 if the movie has no entry
+     */
+    public int indexOf(long movieId) {
+        int index = Arrays.binarySearch(movieIds, movieId);
+        return index < 0 ? -1 : index;
+    }
+
+    public long movieId(int index) {
+        return movieIds[index];
+    }
+
+    public int start(int index) {
+        return offsets[index];
+    }
+
+    public int end(int index) {
+        return offsets[index + 1];
+    }
+
+    /**
+     * @return the table position of the neighbour movie of the entry
+     */
+    public int neighbour(int entry) {
+        return neighbours[entry];
+    }
+
+    public float similarity(int entry) {
+        return similarities[entry];
+    }
+}
@@ -0,0 +1,182 @@
+package org.solvd.recommendation.algorithm;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.solvd.recommendation.algorithm.similarity.CoRatingAccumulator;
+import org.solvd.recommendation.algorithm.similarity.ISimilarityCalculator;
+import org.solvd.recommendation.algorithm.similarity.SimilarityCalculatorFactory;
+import org.solvd.recommendation.algorithm.similarity.SimilarityMethod;
+import org.solvd.recommendation.service.RatingMatrixRegistry;
+import org.solvd.recommendation.util.RatingMatrix;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Keeps a precomputed {@link ItemNeighbourTable} for {@link ItemBasedCollaborativeFilteringAlgorithm}.
+ * <p>
+ * A background thread builds the table from the shared rating matrix at startup, walking for each
+ * movie the raters' rows to find the movies rated together with it, so the cost follows the number
+ * of co-ratings rather than the number of movie pairs. Movies are processed in parallel. The thread
+ * then rebuilds the table every refresh interval when the rating matrix has changed since the last
+ * build, and publishes the new table atomically. Request threads never build the table.
+ */
+public class ItemNeighbourhoods implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(ItemNeighbourhoods.class);
+
+    private final RatingMatrixRegistry ratingMatrixRegistry;
+    private final SimilarityMethod similarityMethod;
+    private final ISimilarityCalculator similarityCalculator;
+    private final int neighbourCount;
+    private final int parallelism;
+    private final ScheduledExecutorService refresher;
+
+    private volatile ItemNeighbourTable table;
+    // Matrix the current table was built from, guarded by this
+    private RatingMatrix builtFrom;
+
+    public ItemNeighbourhoods(RatingMatrixRegistry ratingMatrixRegistry, SimilarityMethod similarityMethod,
+                              int neighbourCount, int parallelism, long refreshIntervalMillis) {
+        this.ratingMatrixRegistry = ratingMatrixRegistry;
+        this.similarityMethod = similarityMethod;
+        this.similarityCalculator = SimilarityCalculatorFactory.createCalculator(similarityMethod);
+        this.neighbourCount = Math.max(1, neighbourCount);
+        this.parallelism = Math.max(1, parallelism);
+
+        this.refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "item-neighbourhoods");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (refreshIntervalMillis > 0) {
+            refresher.scheduleWithFixedDelay(this::refreshQuietly, 0, refreshIntervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            refresher.execute(this::refreshQuietly);
+        }
+    }
+
+    /**
+     * @return the latest table, or {@code null} until the first one is built
+     */
+    public ItemNeighbourTable getTable() {
+        return table;
+    }
+
+    public SimilarityMethod getSimilarityMethod() {
+        return similarityMethod;
+    }
+
+    /**
+     * Rebuilds the table if the rating matrix changed since the last build.
+     */
+    public synchronized void refresh() {
+        long start = System.currentTimeMillis();
+        RatingMatrix matrix = ratingMatrixRegistry.matrix();
+        if (matrix == builtFrom) {
+            return;
+        }
+
+        ItemNeighbourTable built = build(matrix, start);
+        table = built;
+        builtFrom = matrix;
+        logger.info("Item neighbour table built: {} movies, {} neighbours in {} ms",
+                built.movieCount(), built.entryCount(), System.currentTimeMillis() - start);
+    }
+
+    @Override
+    public void close() {
+        refresher.shutdownNow();
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            logger.error("Error building the item neighbour table", e);
+        }
+    }
+
+    private ItemNeighbourTable build(RatingMatrix matrix, long builtAtMillis) {
+        int movieCount = matrix.movieCount();
+        int[][] neighbours = new int[movieCount][];
+        float[][] similarities = new float[movieCount][];
+
+        ThreadLocal<TopItems> scratch = ThreadLocal.withInitial(() -> new TopItems(neighbourCount));
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.submit(() -> IntStream.range(0, movieCount).parallel().forEach(movieIndex -> {
+                TopItems top = scratch.get();
+                top.collect(matrix, movieIndex);
+                neighbours[movieIndex] = top.neighbours();
+                similarities[movieIndex] = top.similarities();
+            })).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Item neighbour table build interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Error building the item neighbour table", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+
+        // Table positions equal matrix movie indices, both are sorted by movie ID
+        long[] movieIds = new long[movieCount];
+        int[] offsets = new int[movieCount + 1];
+        for (int m = 0; m < movieCount; m++) {
+            movieIds[m] = matrix.movieId(m);
+            offsets[m + 1] = offsets[m] + neighbours[m].length;
+        }
+        int[] allNeighbours = new int[offsets[movieCount]];
+        float[] allSimilarities = new float[offsets[movieCount]];
+        for (int m = 0; m < movieCount; m++) {
+            System.arraycopy(neighbours[m], 0, allNeighbours, offsets[m], neighbours[m].length);
+            System.arraycopy(similarities[m], 0, allSimilarities, offsets[m], similarities[m].length);
+        }
+        return new ItemNeighbourTable(similarityMethod, builtAtMillis, movieIds, offsets, allNeighbours, allSimilarities);
+    }
+
+    /**
+     * Per-thread neighbour search of one movie: the co-rated movie pass followed by a bounded
+     * heap that keeps the N most similar movies with a positive similarity.
+     */
+    private final class TopItems {
+        private final CoRatingAccumulator coRatings = new CoRatingAccumulator();
+        private final TopKHeap heap;
+
+        private TopItems(int capacity) {
+            this.heap = new TopKHeap(capacity);
+        }
+
+        void collect(RatingMatrix matrix, int movieIndex) {
+            heap.clear();
+            coRatings.accumulateMovie(matrix, movieIndex);
+            for (int i = 0; i < coRatings.size(); i++) {
+                double similarity = coRatings.similarity(i, similarityCalculator);
+                if (similarity > 0) {
+                    heap.offer(coRatings.candidate(i), similarity);
+                }
+            }
+            heap.sortDescending();
+        }
+
+        int[] neighbours() {
+            int[] indices = new int[heap.size()];
+            for (int i = 0; i < indices.length; i++) {
+                indices[i] = heap.index(i);
+            }
+            return indices;
+        }
+
+        float[] similarities() {
+            float[] values = new float[heap.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = (float) heap.score(i);
+            }
+            return values;
+        }
+    }
+}
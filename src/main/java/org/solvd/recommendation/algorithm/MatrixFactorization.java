@@ -0,0 +1,262 @@
+package org.solvd.recommendation.algorithm;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.solvd.recommendation.service.RatingMatrixRegistry;
+import org.solvd.recommendation.util.RatingMatrix;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Trains and keeps the {@link FactorModel} for {@link MatrixFactorizationAlgorithm} by alternating
+ * least squares over the explicit ratings of the shared rating matrix.
+ * <p>
+ * Each iteration first fixes the movie factors and solves a small regularized least squares
+ * problem per user, then fixes the user factors and does the same per movie. The problems of one
+ * half are independent, so they are solved in parallel on a fork-join pool, each worker thread
+ * reusing its own normal equation buffers. Ratings are centred on the global mean and the
+ * regularization is scaled by each user's or movie's rating count.
+ * <p>
+ * A background thread trains the model at startup and retrains it every refresh interval when the
+ * rating matrix has changed since the last training, publishing each new model atomically. Request
+ * threads never train the model.
+ */
+public class MatrixFactorization implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(MatrixFactorization.class);
+    // Fixed seed, so training the same ratings gives the same model
+    private static final long SEED = 42L;
+    private static final double INITIAL_FACTOR_SCALE = 0.1;
+
+    private final RatingMatrixRegistry ratingMatrixRegistry;
+    private final int factorCount;
+    private final int iterations;
+    private final double regularization;
+    private final int parallelism;
+    private final ScheduledExecutorService refresher;
+
+    private volatile FactorModel model;
+    // Matrix the current model was trained on, guarded by this
+    private RatingMatrix trainedOn;
+
+    public MatrixFactorization(RatingMatrixRegistry ratingMatrixRegistry, int factorCount, int iterations,
+                               double regularization, int parallelism, long refreshIntervalMillis) {
+        this.ratingMatrixRegistry = ratingMatrixRegistry;
+        this.factorCount = Math.max(1, factorCount);
+        this.iterations = Math.max(1, iterations);
+        this.regularization = regularization;
+        this.parallelism = Math.max(1, parallelism);
+
+        this.refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "matrix-factorization");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (refreshIntervalMillis > 0) {
+            refresher.scheduleWithFixedDelay(this::refreshQuietly, 0, refreshIntervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            refresher.execute(this::refreshQuietly);
+        }
+    }
+
+    /**
+     * @return the latest model, or {@code null} until the first one is trained
+     */
+    public FactorModel getModel() {
+        return model;
+    }
+
+    /**
+     * Retrains the model if the rating matrix changed since the last training.
+     */
+    public synchronized void refresh() {
+        RatingMatrix matrix = ratingMatrixRegistry.matrix();
+        if (matrix == trainedOn) {
+            return;
+        }
+
+        FactorModel trained = train(matrix);
+        model = trained;
+        trainedOn = matrix;
+        logger.info("Matrix factorization trained: {} users, {} movies, {} factors, {} iterations, RMSE {} in {} ms",
+                trained.userCount(), trained.movieCount(), trained.getFactorCount(), trained.getIterations(),
+                String.format("%.4f", trained.getTrainingRmse()), trained.getTrainingMillis());
+    }
+
+    @Override
+    public void close() {
+        refresher.shutdownNow();
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            logger.error("Error training the matrix factorization model", e);
+        }
+    }
+
+    private FactorModel train(RatingMatrix matrix) {
+        long start = System.currentTimeMillis();
+        int userCount = matrix.userCount();
+        int movieCount = matrix.movieCount();
+        double globalMean = globalMean(matrix);
+
+        float[] userFactors = new float[userCount * factorCount];
+        float[] movieFactors = new float[movieCount * factorCount];
+        Random random = new Random(SEED);
+        for (int i = 0; i < movieFactors.length; i++) {
+            movieFactors[i] = (float) (random.nextGaussian() * INITIAL_FACTOR_SCALE);
+        }
+
+        ThreadLocal<Solver> scratch = ThreadLocal.withInitial(Solver::new);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            for (int iteration = 0; iteration < iterations; iteration++) {
+                // Users against fixed movie factors
+                pool.submit(() -> IntStream.range(0, userCount).parallel().forEach(u -> {
+                    Solver solver = scratch.get();
+                    solver.clear();
+                    for (int entry = matrix.rowStart(u); entry < matrix.rowEnd(u); entry++) {
+                        solver.add(movieFactors, matrix.rowMovie(entry), matrix.rowRating(entry) - globalMean);
+                    }
+                    solver.solve(userFactors, u, matrix.rowEnd(u) - matrix.rowStart(u));
+                })).get();
+
+                // Movies against fixed user factors
+                pool.submit(() -> IntStream.range(0, movieCount).parallel().forEach(m -> {
+                    Solver solver = scratch.get();
+                    solver.clear();
+                    for (int entry = matrix.columnStart(m); entry < matrix.columnEnd(m); entry++) {
+                        solver.add(userFactors, matrix.columnUser(entry), matrix.columnRating(entry) - globalMean);
+                    }
+                    solver.solve(movieFactors, m, matrix.columnEnd(m) - matrix.columnStart(m));
+                })).get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Matrix factorization training interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Error training the matrix factorization model", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+
+        long[] userIds = new long[userCount];
+        for (int u = 0; u < userCount; u++) {
+            userIds[u] = matrix.userId(u);
+        }
+        long[] movieIds = new long[movieCount];
+        for (int m = 0; m < movieCount; m++) {
+            movieIds[m] = matrix.movieId(m);
+        }
+        double rmse = trainingRmse(matrix, globalMean, userFactors, movieFactors);
+        return new FactorModel(factorCount, globalMean, userIds, movieIds, userFactors, movieFactors,
+                iterations, regularization, rmse, System.currentTimeMillis() - start, start);
+    }
+
+    private static double globalMean(RatingMatrix matrix) {
+        if (matrix.ratingCount() == 0) {
+            return 0.0;
+        }
+        double sum = 0.0;
+        for (int u = 0; u < matrix.userCount(); u++) {
+            for (int entry = matrix.rowStart(u); entry < matrix.rowEnd(u); entry++) {
+                sum += matrix.rowRating(entry);
+            }
+        }
+        return sum / matrix.ratingCount();
+    }
+
+    private double trainingRmse(RatingMatrix matrix, double globalMean, float[] userFactors, float[] movieFactors) {
+        if (matrix.ratingCount() == 0) {
+            return 0.0;
+        }
+        double squaredErrorSum = 0.0;
+        for (int u = 0; u < matrix.userCount(); u++) {
+            for (int entry = matrix.rowStart(u); entry < matrix.rowEnd(u); entry++) {
+                int userOffset = u * factorCount;
+                int movieOffset = matrix.rowMovie(entry) * factorCount;
+                double predicted = globalMean;
+                for (int f = 0; f < factorCount; f++) {
+                    predicted += userFactors[userOffset + f] * movieFactors[movieOffset + f];
+                }
+                double error = matrix.rowRating(entry) - predicted;
+                squaredErrorSum += error * error;
+            }
+        }
+        return Math.sqrt(squaredErrorSum / matrix.ratingCount());
+    }
+
+    /**
+     * Normal equations (Y'Y + λnI) x = Y'r of one user or movie, solved by Cholesky decomposition.
+     * One instance per worker thread; it is not thread-safe.
+     */
+    private final class Solver {
+        private final double[] lhs = new double[factorCount * factorCount];
+        private final double[] rhs = new double[factorCount];
+
+        void clear() {
+            Arrays.fill(lhs, 0.0);
+            Arrays.fill(rhs, 0.0);
+        }
+
+        // Adds one rating against the fixed factor vector at the given position
+        void add(float[] fixedFactors, int index, double residual) {
+            int offset = index * factorCount;
+            for (int i = 0; i < factorCount; i++) {
+                double yi = fixedFactors[offset + i];
+                rhs[i] += yi * residual;
+                // Lower triangle only, the decomposition reads nothing else
+                for (int j = 0; j <= i; j++) {
+                    lhs[i * factorCount + j] += yi * fixedFactors[offset + j];
+                }
+            }
+        }
+
+        void solve(float[] targetFactors, int index, int ratingCount) {
+            int k = factorCount;
+            double lambda = regularization * Math.max(1, ratingCount);
+            for (int i = 0; i < k; i++) {
+                lhs[i * k + i] += lambda;
+            }
+
+            // In-place Cholesky decomposition L L' of the lower triangle
+            for (int i = 0; i < k; i++) {
+                for (int j = 0; j <= i; j++) {
+                    double sum = lhs[i * k + j];
+                    for (int p = 0; p < j; p++) {
+                        sum -= lhs[i * k + p] * lhs[j * k + p];
+                    }
+                    lhs[i * k + j] = i == j ? Math.sqrt(Math.max(sum, Double.MIN_NORMAL)) : sum / lhs[j * k + j];
+                }
+            }
+            // Forward substitution L z = rhs, then back substitution L' x = z
+            for (int i = 0; i < k; i++) {
+                double sum = rhs[i];
+                for (int p = 0; p < i; p++) {
+                    sum -= lhs[i * k + p] * rhs[p];
+                }
+                rhs[i] = sum / lhs[i * k + i];
+            }
+            for (int i = k - 1; i >= 0; i--) {
+                double sum = rhs[i];
+                for (int p = i + 1; p < k; p++) {
+                    sum -= lhs[p * k + i] * rhs[p];
+                }
+                rhs[i] = sum / lhs[i * k + i];
+            }
+
+            int offset = index * k;
+            for (int i = 0; i < k; i++) {
+                targetFactors[offset + i] = (float) rhs[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package org.solvd.recommendation.algorithm;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.solvd.recommendation.service.ServiceFactory;
+import org.solvd.recommendation.util.RatingMatrix;
+
+import java.util.*;
+
+/**
+ * Matrix factorization recommendation algorithm implementation.
+ *
+ * Users and movies are described by latent factor vectors learned from the explicit ratings
+ * by alternating least squares ({@link MatrixFactorization}). A rating is predicted as
+ * predictedRating = globalMean + userFactors · movieFactors
+ * so scoring a movie costs one dot product of the factor dimension, independent of the number
+ * of users and of the length of the user's history.
+ */
+public class MatrixFactorizationAlgorithm extends AbstractRecommendationAlgorithm {
+    private static final Logger logger = LoggerFactory.getLogger(MatrixFactorizationAlgorithm.class);
+
+    private final MatrixFactorization factorization;
+
+    public MatrixFactorizationAlgorithm() {
+        super();
+        this.factorization = ServiceFactory.getInstance().getMatrixFactorization();
+        logger.info("Initialized matrix factorization algorithm");
+    }
+
+    @Override
+    public Map<Long, Double> predictRatings(Long userId, List<Long> movieIds) {
+        FactorModel model = factorization.getModel();
+        if (model == null) {
+            logger.debug("Matrix factorization model not trained yet, no predictions for user {}", userId);
+            return Collections.emptyMap();
+        }
+
+        int userIndex = model.userIndex(userId);
+        if (userIndex < 0) {
+            logger.warn("User {} has no factors, no ratings at the last training", userId);
+            return Collections.emptyMap();
+        }
+
+        // Current matrix, so movies rated since the last training are not predicted
+        RatingMatrix matrix = ratingMatrixRegistry.matrix();
+        int ratingIndex = matrix.userIndex(userId);
+
+        Map<Long, Double> predictions = new HashMap<>();
+        for (Long movieId : movieIds) {
+            int movieIndex = model.movieIndex(movieId);
+            if (movieIndex < 0) continue;
+
+            int ratedIndex = ratingIndex < 0 ? -1 : matrix.movieIndex(movieId);
+            if (ratedIndex >= 0 && !Float.isNaN(matrix.getRating(ratingIndex, ratedIndex))) continue;
+
+            predictions.put(movieId, model.predict(userIndex, movieIndex));
+        }
+
+        return predictions;
+    }
+}
@@ -17,7 +17,9 @@ public class RecommendationAlgorithmFactory {
      */
     public enum AlgorithmType {
         COLLABORATIVE_FILTERING,
+        ITEM_BASED_COLLABORATIVE,
         CONTENT_BASED_FILTERING,
+        MATRIX_FACTORIZATION,
         HYBRID_RECOMMENDATION
     }
 
@@ -43,7 +45,9 @@ public class RecommendationAlgorithmFactory {
 
         return switch (type) {
             case COLLABORATIVE_FILTERING -> new CollaborativeFilteringAlgorithm();
+            case ITEM_BASED_COLLABORATIVE -> new ItemBasedCollaborativeFilteringAlgorithm();
             case CONTENT_BASED_FILTERING -> new ContentBasedFilteringAlgorithm();
+            case MATRIX_FACTORIZATION -> new MatrixFactorizationAlgorithm();
             case HYBRID_RECOMMENDATION -> new HybridRecommendationAlgorithm();
             default -> throw new IllegalArgumentException("Unknown algorithm type: " + type);
         };
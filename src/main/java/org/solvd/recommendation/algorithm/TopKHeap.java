@@ -0,0 +1,86 @@
+package org.solvd.recommendation.algorithm;
+
+/**
+ * Bounded min-heap of (index, score) pairs that keeps the K highest scores offered,
+ * on primitive arrays so selecting neighbours allocates nothing. Not thread-safe.
+ */
+final class TopKHeap {
+    private final int[] indices;
+    private final double[] scores;
+    private int size;
+
+    TopKHeap(int capacity) {
+        this.indices = new int[capacity];
+        this.scores = new double[capacity];
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int index(int i) {
+        return indices[i];
+    }
+
+    double score(int i) {
+        return scores[i];
+    }
+
+    void offer(int index, double score) {
+        if (size < indices.length) {
+            indices[size] = index;
+            scores[size] = score;
+            siftUp(size++);
+        } else if (score > scores[0]) {
+            indices[0] = index;
+            scores[0] = score;
+            siftDown(0, size);
+        }
+    }
+
+    /**
+     * Orders the kept entries by descending score; the heap must be cleared before the next offer.
+     */
+    void sortDescending() {
+        // Repeatedly move the minimum behind the shrinking heap
+        for (int end = size - 1; end > 0; end--) {
+            swap(0, end);
+            siftDown(0, end);
+        }
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (scores[parent] <= scores[i]) return;
+            swap(parent, i);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i, int end) {
+        while (true) {
+            int smallest = i;
+            int left = 2 * i + 1;
+            int right = left + 1;
+            if (left < end && scores[left] < scores[smallest]) smallest = left;
+            if (right < end && scores[right] < scores[smallest]) smallest = right;
+            if (smallest == i) return;
+            swap(i, smallest);
+            i = smallest;
+        }
+    }
+
+    private void swap(int i, int j) {
+        int index = indices[i];
+        indices[i] = indices[j];
+        indices[j] = index;
+        double score = scores[i];
+        scores[i] = scores[j];
+        scores[j] = score;
+    }
+}
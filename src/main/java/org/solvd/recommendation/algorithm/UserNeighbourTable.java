@@ -0,0 +1,156 @@
+package org.solvd.recommendation.algorithm;
+
+import org.solvd.recommendation.algorithm.similarity.SimilarityMethod;
+import org.solvd.recommendation.exeption.SnapshotException;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+
+/**
+ * Immutable table of each user's top-K most similar users.
+ * <p>
+ * Users are sorted by ID; the neighbours of the user at position {@code i} are the entries
+ * {@code [start(i), end(i))} of the parallel neighbour ID and similarity arrays, most similar first.
+ * The table can be written to and read from a file:
+ * <pre>
+ * magic (int) | version (int) | similarity method (UTF) | builtAt epoch millis (long)
+ * userCount (int) | entryCount (int) | userIds | offsets | neighbourIds | similarities
+ * </pre>
+ */
+public final class UserNeighbourTable {
+    private static final int MAGIC = 0x4D52554E; // "MRUN"
+    private static final int VERSION = 1;
+
+    private final SimilarityMethod similarityMethod;
+    private final long builtAtMillis;
+    private final long[] userIds;
+    private final int[] offsets;
+    private final long[] neighbourIds;
+    private final float[] similarities;
+
+    UserNeighbourTable(SimilarityMethod similarityMethod, long builtAtMillis,
+                       long[] userIds, int[] offsets, long[] neighbourIds, float[] similarities) {
+        this.similarityMethod = similarityMethod;
+        this.builtAtMillis = builtAtMillis;
+        this.userIds = userIds;
+        this.offsets = offsets;
+        this.neighbourIds = neighbourIds;
+        this.similarities = similarities;
+    }
+
+    public SimilarityMethod getSimilarityMethod() {
+        return similarityMethod;
+    }
+
+    public long getBuiltAtMillis() {
+        return builtAtMillis;
+    }
+
+    public int userCount() {
+        return userIds.length;
+    }
+
+    public int entryCount() {
+        return neighbourIds.length;
+    }
+
+    /**
+     * @return the position of the user in the table, or -1 if the user has no entry
+     */
+    public int indexOf(long userId) {
+        int index = Arrays.binarySearch(userIds, userId);
+        return index < 0 ? -1 : index;
+    }
+
+    public int start(int index) {
+        return offsets[index];
+    }
+
+    public int end(int index) {
+        return offsets[index + 1];
+    }
+
+    public long neighbourId(int entry) {
+        return neighbourIds[entry];
+    }
+
+    public float similarity(int entry) {
+        return similarities[entry];
+    }
+
+    /**
+     * Writes the table next to the target and moves it into place, so readers never see a partial file.
+     */
+    public void write(Path target) {
+        Path absoluteTarget = target.toAbsolutePath();
+        Path temp = absoluteTarget.resolveSibling(absoluteTarget.getFileName() + ".tmp");
+        try {
+            if (absoluteTarget.getParent() != null) {
+                Files.createDirectories(absoluteTarget.getParent());
+            }
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeUTF(similarityMethod.name());
+                out.writeLong(builtAtMillis);
+                out.writeInt(userIds.length);
+                out.writeInt(neighbourIds.length);
+                for (long userId : userIds) {
+                    out.writeLong(userId);
+                }
+                for (int offset : offsets) {
+                    out.writeInt(offset);
+                }
+                for (long neighbourId : neighbourIds) {
+                    out.writeLong(neighbourId);
+                }
+                for (float similarity : similarities) {
+                    out.writeFloat(similarity);
+                }
+            }
+            Files.move(temp, absoluteTarget, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new SnapshotException("Error writing user neighbour table " + target, e);
+        }
+    }
+
+    public static UserNeighbourTable read(Path source) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(source)))) {
+            if (in.readInt() != MAGIC) {
+                throw new SnapshotException("Not a user neighbour table: " + source);
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new SnapshotException("Unsupported user neighbour table version " + version + ": " + source);
+            }
+            SimilarityMethod similarityMethod = SimilarityMethod.valueOf(in.readUTF());
+            long builtAtMillis = in.readLong();
+            long[] userIds = new long[in.readInt()];
+            int[] offsets = new int[userIds.length + 1];
+            long[] neighbourIds = new long[in.readInt()];
+            float[] similarities = new float[neighbourIds.length];
+            for (int i = 0; i < userIds.length; i++) {
+                userIds[i] = in.readLong();
+            }
+            for (int i = 0; i < offsets.length; i++) {
+                offsets[i] = in.readInt();
+            }
+            for (int i = 0; i < neighbourIds.length; i++) {
+                neighbourIds[i] = in.readLong();
+            }
+            for (int i = 0; i < similarities.length; i++) {
+                similarities[i] = in.readFloat();
+            }
+            return new UserNeighbourTable(similarityMethod, builtAtMillis, userIds, offsets, neighbourIds, similarities);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new SnapshotException("Error reading user neighbour table " + source, e);
+        }
+    }
+}
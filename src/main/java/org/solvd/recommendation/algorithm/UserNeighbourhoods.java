@@ -0,0 +1,221 @@
+package org.solvd.recommendation.algorithm;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.solvd.recommendation.algorithm.similarity.CoRatingAccumulator;
+import org.solvd.recommendation.algorithm.similarity.ISimilarityCalculator;
+import org.solvd.recommendation.algorithm.similarity.SimilarityCalculatorFactory;
+import org.solvd.recommendation.algorithm.similarity.SimilarityMethod;
+import org.solvd.recommendation.exeption.SnapshotException;
+import org.solvd.recommendation.model.UserInteraction;
+import org.solvd.recommendation.service.IUserInteractionService;
+import org.solvd.recommendation.service.RatingMatrixRegistry;
+import org.solvd.recommendation.service.ReferenceDataRegistry;
+import org.solvd.recommendation.util.RatingMatrix;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Keeps a precomputed {@link UserNeighbourTable} for {@link CollaborativeFilteringAlgorithm}.
+ * <p>
+ * A background thread rebuilds the table from the shared rating matrix and the users' interactions
+ * every refresh interval, scoring users exactly like the online neighbour search. The users are
+ * processed in parallel, and the finished table is published atomically and, if a path is set,
+ * written to disk; on startup a table file with the same similarity method is loaded, so
+ * neighbours are available before the first build completes.
+ */
+public class UserNeighbourhoods implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(UserNeighbourhoods.class);
+
+    private final RatingMatrixRegistry ratingMatrixRegistry;
+    private final IUserInteractionService userInteractionService;
+    private final ReferenceDataRegistry referenceData;
+    private final SimilarityMethod similarityMethod;
+    private final ISimilarityCalculator similarityCalculator;
+    private final int neighbourCount;
+    private final int parallelism;
+    private final Path path;
+    private final ScheduledExecutorService refresher;
+
+    private volatile UserNeighbourTable table;
+
+    public UserNeighbourhoods(RatingMatrixRegistry ratingMatrixRegistry, IUserInteractionService userInteractionService,
+                              ReferenceDataRegistry referenceData, SimilarityMethod similarityMethod,
+                              int neighbourCount, int parallelism, long refreshIntervalMillis, Path path) {
+        this.ratingMatrixRegistry = ratingMatrixRegistry;
+        this.userInteractionService = userInteractionService;
+        this.referenceData = referenceData;
+        this.similarityMethod = similarityMethod;
+        this.similarityCalculator = SimilarityCalculatorFactory.createCalculator(similarityMethod);
+        this.neighbourCount = Math.max(1, neighbourCount);
+        this.parallelism = Math.max(1, parallelism);
+        this.path = path;
+        this.table = load(path, similarityMethod);
+
+        this.refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "user-neighbourhoods");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (refreshIntervalMillis > 0) {
+            refresher.scheduleWithFixedDelay(this::refreshQuietly, 0, refreshIntervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            refresher.execute(this::refreshQuietly);
+        }
+    }
+
+    /**
+     * @return the latest table, or {@code null} until the first one is loaded or built
+     */
+    public UserNeighbourTable getTable() {
+        return table;
+    }
+
+    public SimilarityMethod getSimilarityMethod() {
+        return similarityMethod;
+    }
+
+    /**
+     * Builds a new table from the current rating matrix and replaces the published one.
+     */
+    public synchronized void refresh() {
+        long start = System.currentTimeMillis();
+        RatingMatrix matrix = ratingMatrixRegistry.matrix();
+        InteractionProfiles profiles;
+        try (Stream<UserInteraction> interactions = userInteractionService.stream()) {
+            profiles = InteractionProfiles.of(matrix, interactions.iterator(), referenceData);
+        }
+
+        UserNeighbourTable built = build(matrix, profiles, start);
+        table = built;
+        logger.info("User neighbour table built: {} users, {} neighbours in {} ms",
+                built.userCount(), built.entryCount(), System.currentTimeMillis() - start);
+
+        if (path != null) {
+            built.write(path);
+        }
+    }
+
+    @Override
+    public void close() {
+        refresher.shutdownNow();
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            logger.error("Error building the user neighbour table", e);
+        }
+    }
+
+    private UserNeighbourTable build(RatingMatrix matrix, InteractionProfiles profiles, long builtAtMillis) {
+        int userCount = matrix.userCount();
+        long[][] neighbourIds = new long[userCount][];
+        float[][] similarities = new float[userCount][];
+
+        ThreadLocal<TopNeighbours> scratch = ThreadLocal.withInitial(() -> new TopNeighbours(neighbourCount));
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.submit(() -> IntStream.range(0, userCount).parallel().forEach(userIndex -> {
+                TopNeighbours top = scratch.get();
+                top.collect(matrix, userIndex, profiles);
+                neighbourIds[userIndex] = top.neighbourIds(matrix);
+                similarities[userIndex] = top.similarities();
+            })).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("User neighbour table build interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Error building the user neighbour table", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+
+        long[] userIds = new long[userCount];
+        int[] offsets = new int[userCount + 1];
+        for (int u = 0; u < userCount; u++) {
+            userIds[u] = matrix.userId(u);
+            offsets[u + 1] = offsets[u] + neighbourIds[u].length;
+        }
+        long[] allNeighbourIds = new long[offsets[userCount]];
+        float[] allSimilarities = new float[offsets[userCount]];
+        for (int u = 0; u < userCount; u++) {
+            System.arraycopy(neighbourIds[u], 0, allNeighbourIds, offsets[u], neighbourIds[u].length);
+            System.arraycopy(similarities[u], 0, allSimilarities, offsets[u], similarities[u].length);
+        }
+        return new UserNeighbourTable(similarityMethod, builtAtMillis, userIds, offsets, allNeighbourIds, allSimilarities);
+    }
+
+    private static UserNeighbourTable load(Path path, SimilarityMethod similarityMethod) {
+        if (path == null || !Files.exists(path)) {
+            return null;
+        }
+        try {
+            UserNeighbourTable loaded = UserNeighbourTable.read(path);
+            if (loaded.getSimilarityMethod() != similarityMethod) {
+                logger.info("Ignoring user neighbour table {} built with {} similarity", path, loaded.getSimilarityMethod());
+                return null;
+            }
+            logger.info("Loaded user neighbour table {}: {} users", path, loaded.userCount());
+            return loaded;
+        } catch (SnapshotException e) {
+            logger.warn("Ignoring unreadable user neighbour table {}", path, e);
+            return null;
+        }
+    }
+
+    /**
+     * Per-thread neighbour search of one user: the co-rater pass followed by a bounded
+     * heap that keeps the K best combined similarities.
+     */
+    private final class TopNeighbours {
+        private final CoRatingAccumulator coRatings = new CoRatingAccumulator();
+        private final TopKHeap heap;
+
+        private TopNeighbours(int capacity) {
+            this.heap = new TopKHeap(capacity);
+        }
+
+        void collect(RatingMatrix matrix, int userIndex, InteractionProfiles profiles) {
+            heap.clear();
+            coRatings.accumulateUser(matrix, userIndex);
+            for (int i = 0; i < coRatings.size(); i++) {
+                double ratingSimilarity = coRatings.similarity(i, similarityCalculator);
+                if (ratingSimilarity < CollaborativeFilteringAlgorithm.SIMILARITY_THRESHOLD / 2) continue;
+
+                int other = coRatings.candidate(i);
+                double combinedSimilarity = CollaborativeFilteringAlgorithm.combineSimilarities(
+                        ratingSimilarity, profiles.similarity(userIndex, other));
+                if (combinedSimilarity > CollaborativeFilteringAlgorithm.SIMILARITY_THRESHOLD) {
+                    heap.offer(other, combinedSimilarity);
+                }
+            }
+            heap.sortDescending();
+        }
+
+        long[] neighbourIds(RatingMatrix matrix) {
+            long[] ids = new long[heap.size()];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = matrix.userId(heap.index(i));
+            }
+            return ids;
+        }
+
+        float[] similarities() {
+            float[] values = new float[heap.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = (float) heap.score(i);
+            }
+            return values;
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package org.solvd.recommendation.algorithm.similarity;
+
+import org.solvd.recommendation.util.RatingMatrix;
+
+import java.util.Arrays;
+
+/**
+ * Finds the users (or movies) that share at least one rating with a target and collects the
+ * moments every {@link ISimilarityCalculator} needs, in one sparse pass over the inverted lists
+ * of the {@link RatingMatrix}.
+ * <p>
+ * For a target user the pass walks the target's row and, for each rated movie, that movie's
+ * column, i.e. the list of its raters. The cost is the number of co-ratings instead of the
+ * number of users, and users without a common movie, whose similarity is zero, are never seen.
+ * Movies are handled the same way with rows and columns swapped.
+ * <p>
+ * The dense user-to-slot table is sized once to the matrix and only the touched slots are reset
+ * between targets, so an instance should be reused, one per thread; it is not thread-safe.
+ */
+public final class CoRatingAccumulator {
+    private static final int INITIAL_CAPACITY = 256;
+
+    private int[] slotOf = new int[0];
+    private int[] candidates = new int[INITIAL_CAPACITY];
+    private int[] counts = new int[INITIAL_CAPACITY];
+    private double[] sums1 = new double[INITIAL_CAPACITY];
+    private double[] sums2 = new double[INITIAL_CAPACITY];
+    private double[] sumProducts = new double[INITIAL_CAPACITY];
+    private double[] sumSquares1 = new double[INITIAL_CAPACITY];
+    private double[] sumSquares2 = new double[INITIAL_CAPACITY];
+    private int size;
+
+    private final Cursor cursor = new Cursor();
+    private RatingMatrix matrix;
+    private boolean byUser;
+    private double targetSquaredNorm;
+
+    /**
+     * Collects the users sharing a rated movie with the user, replacing the previous result.
+     */
+    public void accumulateUser(RatingMatrix matrix, int userIndex) {
+        start(matrix, true, matrix.userCount(), matrix.rowSquaredNorm(userIndex));
+        for (int entry = matrix.rowStart(userIndex); entry < matrix.rowEnd(userIndex); entry++) {
+            int movieIndex = matrix.rowMovie(entry);
+            double rating = matrix.rowRating(entry);
+            for (int k = matrix.columnStart(movieIndex); k < matrix.columnEnd(movieIndex); k++) {
+                int other = matrix.columnUser(k);
+                if (other != userIndex) {
+                    add(other, rating, matrix.columnRating(k));
+                }
+            }
+        }
+    }
+
+    /**
+     * Collects the movies sharing a rater with the movie, replacing the previous result.
+     */
+    public void accumulateMovie(RatingMatrix matrix, int movieIndex) {
+        start(matrix, false, matrix.movieCount(), matrix.columnSquaredNorm(movieIndex));
+        for (int entry = matrix.columnStart(movieIndex); entry < matrix.columnEnd(movieIndex); entry++) {
+            int userIndex = matrix.columnUser(entry);
+            double rating = matrix.columnRating(entry);
+            for (int k = matrix.rowStart(userIndex); k < matrix.rowEnd(userIndex); k++) {
+                int other = matrix.rowMovie(k);
+                if (other != movieIndex) {
+                    add(other, rating, matrix.rowRating(k));
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the number of users or movies found by the last pass
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the matrix index of the i-th user or movie found, in order of discovery
+     */
+    public int candidate(int i) {
+        return candidates[i];
+    }
+
+    public int commonCount(int i) {
+        return counts[i];
+    }
+
+    public double similarity(int i, ISimilarityCalculator calculator) {
+        cursor.slot = i;
+        return calculator.calculateSimilarity(cursor);
+    }
+
+    private void start(RatingMatrix matrix, boolean byUser, int indexCount, double targetSquaredNorm) {
+        for (int i = 0; i < size; i++) {
+            slotOf[candidates[i]] = -1;
+        }
+        size = 0;
+        if (slotOf.length < indexCount) {
+            slotOf = new int[indexCount];
+            Arrays.fill(slotOf, -1);
+        }
+        this.matrix = matrix;
+        this.byUser = byUser;
+        this.targetSquaredNorm = targetSquaredNorm;
+    }
+
+    private void add(int other, double value1, double value2) {
+        int slot = slotOf[other];
+        if (slot < 0) {
+            slot = size++;
+            if (slot == candidates.length) {
+                grow();
+            }
+            slotOf[other] = slot;
+            candidates[slot] = other;
+            counts[slot] = 0;
+            sums1[slot] = 0.0;
+            sums2[slot] = 0.0;
+            sumProducts[slot] = 0.0;
+            sumSquares1[slot] = 0.0;
+            sumSquares2[slot] = 0.0;
+        }
+        counts[slot]++;
+        sums1[slot] += value1;
+        sums2[slot] += value2;
+        sumProducts[slot] += value1 * value2;
+        sumSquares1[slot] += value1 * value1;
+        sumSquares2[slot] += value2 * value2;
+    }
+
+    private void grow() {
+        int capacity = candidates.length * 2;
+        candidates = Arrays.copyOf(candidates, capacity);
+        counts = Arrays.copyOf(counts, capacity);
+        sums1 = Arrays.copyOf(sums1, capacity);
+        sums2 = Arrays.copyOf(sums2, capacity);
+        sumProducts = Arrays.copyOf(sumProducts, capacity);
+        sumSquares1 = Arrays.copyOf(sumSquares1, capacity);
+        sumSquares2 = Arrays.copyOf(sumSquares2, capacity);
+    }
+
+    /**
+     * Moments of the target (1) and one found user or movie (2). The counts and sums cover
+     * only their common entries; the squared norms cover all entries of each vector.
+     */
+    public interface Moments {
+        int count();
+
+        double sum1();
+
+        double sum2();
+
+        double sumProducts();
+
+        double sumSquares1();
+
+        double sumSquares2();
+
+        double squaredNorm1();
+
+        double squaredNorm2();
+    }
+
+    // Reused view of one slot, so computing a similarity allocates nothing
+    private final class Cursor implements Moments {
+        private int slot;
+
+        @Override
+        public int count() {
+            return counts[slot];
+        }
+
+        @Override
+        public double sum1() {
+            return sums1[slot];
+        }
+
+        @Override
+        public double sum2() {
+            return sums2[slot];
+        }
+
+        @Override
+        public double sumProducts() {
+            return sumProducts[slot];
+        }
+
+        @Override
+        public double sumSquares1() {
+            return sumSquares1[slot];
+        }
+
+        @Override
+        public double sumSquares2() {
+            return sumSquares2[slot];
+        }
+
+        @Override
+        public double squaredNorm1() {
+            return targetSquaredNorm;
+        }
+
+        @Override
+        public double squaredNorm2() {
+            int other = candidates[slot];
+            return byUser ? matrix.rowSquaredNorm(other) : matrix.columnSquaredNorm(other);
+        }
+    }
+}
@@ -65,4 +65,56 @@ public class CosineSimilarityCalculator implements ISimilarityCalculator {
         double denominator = magnitude1Sqrt * magnitude2Sqrt;  // Product of magnitudes
         return dotProduct / denominator;  // Final similarity value
     }
-}
\ No newline at end of file
+
+    @Override
+    public double calculateSimilarity(int[] indices1, float[] values1, int from1, int to1,
+                                      int[] indices2, float[] values2, int from2, int to2) {
+        if (from1 >= to1 || from2 >= to2) {
+            return 0.0;
+        }
+
+        double dotProduct = 0.0;
+        double magnitude1 = 0.0;
+        double magnitude2 = 0.0;
+
+        // Merge-join: indices present in only one vector add to its magnitude only
+        int i = from1;
+        int j = from2;
+        while (i < to1 && j < to2) {
+            int index1 = indices1[i];
+            int index2 = indices2[j];
+            if (index1 == index2) {
+                double val1 = values1[i++];
+                double val2 = values2[j++];
+                dotProduct += val1 * val2;
+                magnitude1 += val1 * val1;
+                magnitude2 += val2 * val2;
+            } else if (index1 < index2) {
+                double val1 = values1[i++];
+                magnitude1 += val1 * val1;
+            } else {
+                double val2 = values2[j++];
+                magnitude2 += val2 * val2;
+            }
+        }
+        for (; i < to1; i++) {
+            magnitude1 += (double) values1[i] * values1[i];
+        }
+        for (; j < to2; j++) {
+            magnitude2 += (double) values2[j] * values2[j];
+        }
+
+        if (magnitude1 <= 0.0 || magnitude2 <= 0.0) {
+            return 0.0;
+        }
+        return dotProduct / (Math.sqrt(magnitude1) * Math.sqrt(magnitude2));
+    }
+
+    @Override
+    public double calculateSimilarity(CoRatingAccumulator.Moments moments) {
+        if (moments.squaredNorm1() <= 0.0 || moments.squaredNorm2() <= 0.0) {
+            return 0.0;
+        }
+        return moments.sumProducts() / (Math.sqrt(moments.squaredNorm1()) * Math.sqrt(moments.squaredNorm2()));
+    }
+}
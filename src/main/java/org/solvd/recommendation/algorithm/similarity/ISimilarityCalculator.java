@@ -9,4 +9,22 @@ import java.util.Map;
  */
 public interface ISimilarityCalculator {
     double calculateSimilarity(Map<Long, Double> vector1, Map<Long, Double> vector2);
+
+    /**
+     * Same measure over two sparse vectors given as slices {@code [from, to)} of parallel
+     * index / value arrays, with the indices strictly increasing within each slice.
+     * Implementations merge-join the slices in one pass without allocating.
+     */
+    double calculateSimilarity(int[] indices1, float[] values1, int from1, int to1,
+                               int[] indices2, float[] values2, int from2, int to2);
+
+    default double calculateSimilarity(int[] indices1, float[] values1, int[] indices2, float[] values2) {
+        return calculateSimilarity(indices1, values1, 0, indices1.length, indices2, values2, 0, indices2.length);
+    }
+
+    /**
+     * Same measure from the moments of two vectors over their common indices, as collected by
+     * {@link CoRatingAccumulator}; the squared norms cover all entries of each vector.
+     */
+    double calculateSimilarity(CoRatingAccumulator.Moments moments);
 }
\ No newline at end of file
@@ -26,6 +26,8 @@ import java.util.Set;
  */
 public class PearsonCorrelationCalculator implements ISimilarityCalculator {
     private static final Logger logger = LoggerFactory.getLogger(PearsonCorrelationCalculator.class);
+    // Relative size below which a variance computed from raw sums is treated as zero
+    private static final double ZERO_VARIANCE_TOLERANCE = 1e-12;
 
     @Override
     public double calculateSimilarity(Map<Long, Double> vector1, Map<Long, Double> vector2) {
@@ -81,5 +83,67 @@ public class PearsonCorrelationCalculator implements ISimilarityCalculator {
         double denominator = sqrtDenom1 * sqrtDenom2;
         return numerator / denominator;
     }
-}
 
+    /**
+     * Single merge-join pass over the common indices with running means and co-moments
+     * (Welford's update), so no second pass over the deviations is needed and a constant
+     * vector still yields exactly zero variance.
+     */
+    @Override
+    public double calculateSimilarity(int[] indices1, float[] values1, int from1, int to1,
+                                      int[] indices2, float[] values2, int from2, int to2) {
+        int n = 0;
+        double mean1 = 0.0;
+        double mean2 = 0.0;
+        double numerator = 0.0;
+        double denom1 = 0.0;
+        double denom2 = 0.0;
+
+        int i = from1;
+        int j = from2;
+        while (i < to1 && j < to2) {
+            int index1 = indices1[i];
+            int index2 = indices2[j];
+            if (index1 < index2) {
+                i++;
+            } else if (index1 > index2) {
+                j++;
+            } else {
+                double val1 = values1[i++];
+                double val2 = values2[j++];
+                n++;
+                double delta1 = val1 - mean1;
+                double delta2 = val2 - mean2;
+                mean1 += delta1 / n;
+                mean2 += delta2 / n;
+                numerator += delta1 * (val2 - mean2);
+                denom1 += delta1 * (val1 - mean1);
+                denom2 += delta2 * (val2 - mean2);
+            }
+        }
+
+        if (n == 0 || denom1 <= 0.0 || denom2 <= 0.0) {
+            return 0.0;
+        }
+        return numerator / (Math.sqrt(denom1) * Math.sqrt(denom2));
+    }
+
+    @Override
+    public double calculateSimilarity(CoRatingAccumulator.Moments moments) {
+        int n = moments.count();
+        if (n == 0) {
+            return 0.0;
+        }
+
+        double numerator = moments.sumProducts() - moments.sum1() * moments.sum2() / n;
+        double denom1 = moments.sumSquares1() - moments.sum1() * moments.sum1() / n;
+        double denom2 = moments.sumSquares2() - moments.sum2() * moments.sum2() / n;
+
+        // Rounding in the raw sums leaves a tiny residue where the variance is really zero
+        if (denom1 <= ZERO_VARIANCE_TOLERANCE * moments.sumSquares1()
+                || denom2 <= ZERO_VARIANCE_TOLERANCE * moments.sumSquares2()) {
+            return 0.0;
+        }
+        return numerator / (Math.sqrt(denom1) * Math.sqrt(denom2));
+    }
+}
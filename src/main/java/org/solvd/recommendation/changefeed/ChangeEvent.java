@@ -0,0 +1,78 @@
+package org.solvd.recommendation.changefeed;
+
+/**
+ * One committed write recorded in the {@link ChangeFeed}.
+ * The entity is the {@code UserRating}, {@code UserInteraction} or {@code ViewingHistory}
+ * as written, or as passed to the delete.
+ */
+public final class ChangeEvent {
+
+    public enum EntityType {
+        USER_RATING,
+        USER_INTERACTION,
+        VIEWING_HISTORY
+    }
+
+    public enum ChangeType {
+        UPSERT,
+        DELETE
+    }
+
+    private final long version;
+    private final EntityType entityType;
+    private final ChangeType changeType;
+    private final Long userId;
+    private final Long movieId;
+    private final Object entity;
+    private final long timestampMillis;
+
+    ChangeEvent(long version, EntityType entityType, ChangeType changeType,
+                Long userId, Long movieId, Object entity, long timestampMillis) {
+        this.version = version;
+        this.entityType = entityType;
+        this.changeType = changeType;
+        this.userId = userId;
+        this.movieId = movieId;
+        this.entity = entity;
+        this.timestampMillis = timestampMillis;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public EntityType getEntityType() {
+        return entityType;
+    }
+
+    public ChangeType getChangeType() {
+        return changeType;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Long getMovieId() {
+        return movieId;
+    }
+
+    public Object getEntity() {
+        return entity;
+    }
+
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "ChangeEvent{" +
+                "version=" + version +
+                ", entityType=" + entityType +
+                ", changeType=" + changeType +
+                ", userId=" + userId +
+                ", movieId=" + movieId +
+                '}';
+    }
+}
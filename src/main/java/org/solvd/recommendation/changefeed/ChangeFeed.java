@@ -0,0 +1,82 @@
+package org.solvd.recommendation.changefeed;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Append-only feed of committed rating, interaction and viewing-history writes.
+ * <p>
+ * Every event gets the next version number, starting at 1; the latest {@code capacity} events
+ * are kept in a ring buffer. Consumers remember the version they have processed and poll
+ * {@link #changesSince(long, int)} to update incrementally. A consumer that falls further
+ * behind than the buffer reaches gets an incomplete change set and has to rebuild: it should
+ * read {@link #getVersion()} before rebuilding, then continue from that version.
+ * <p>
+ * Events are appended after their transaction commits, so writers on different threads may
+ * commit in a slightly different order than their versions show.
+ */
+public class ChangeFeed {
+    private final ChangeEvent[] ring;
+    private long version;
+
+    public ChangeFeed(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Change feed capacity must be positive");
+        }
+        this.ring = new ChangeEvent[capacity];
+    }
+
+    /**
+     * @return the version of the latest event, 0 before the first one
+     */
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    /**
+     * Appends one event per entity, with consecutive versions.
+     */
+    public <T> void append(ChangeEvent.EntityType entityType, ChangeEvent.ChangeType changeType,
+                           Collection<T> entities, Function<T, Long> userId, Function<T, Long> movieId) {
+        if (entities.isEmpty()) return;
+
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            for (T entity : entities) {
+                version++;
+                ring[slot(version)] = new ChangeEvent(version, entityType, changeType,
+                        userId.apply(entity), movieId.apply(entity), entity, now);
+            }
+        }
+    }
+
+    /**
+     * @param sinceVersion the last version the consumer has processed, 0 for everything retained
+     * @param maxEvents upper bound for the number of returned events
+     * @return the events after {@code sinceVersion} in version order
+     */
+    public synchronized ChangeSet changesSince(long sinceVersion, int maxEvents) {
+        if (sinceVersion > version) {
+            throw new IllegalArgumentException("Version " + sinceVersion + " is ahead of the feed at " + version);
+        }
+
+        long oldestRetained = Math.max(1, version - ring.length + 1);
+        if (sinceVersion + 1 < oldestRetained) {
+            return new ChangeSet(Collections.emptyList(), version, false);
+        }
+
+        long last = Math.min(version, sinceVersion + Math.max(0, maxEvents));
+        List<ChangeEvent> events = new ArrayList<>((int) (last - sinceVersion));
+        for (long v = sinceVersion + 1; v <= last; v++) {
+            events.add(ring[slot(v)]);
+        }
+        return new ChangeSet(events, last, true);
+    }
+
+    private int slot(long eventVersion) {
+        return (int) ((eventVersion - 1) % ring.length);
+    }
+}
@@ -0,0 +1,35 @@
+package org.solvd.recommendation.changefeed;
+
+import java.util.List;
+
+/**
+ * Result of {@link ChangeFeed#changesSince(long, int)}.
+ * An incomplete change set means events after the requested version were already evicted
+ * from the feed: the consumer has to rebuild its state and continue from {@link #getVersion()}.
+ */
+public final class ChangeSet {
+    private final List<ChangeEvent> events;
+    private final long version;
+    private final boolean complete;
+
+    ChangeSet(List<ChangeEvent> events, long version, boolean complete) {
+        this.events = events;
+        this.version = version;
+        this.complete = complete;
+    }
+
+    public List<ChangeEvent> getEvents() {
+        return events;
+    }
+
+    /**
+     * @return the version to pass to the next {@code changesSince} call
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+}
@@ -1,14 +1,18 @@
 package org.solvd.recommendation.dao;
 
+import org.solvd.recommendation.dao.memory.InMemoryDatabase;
 import org.solvd.recommendation.dao.mybatis.*;
+import org.solvd.recommendation.util.AppConfig;
 
 public class DAOFactory {
 
     public enum DAOType {
-        MYBATIS
+        MYBATIS,
+        IN_MEMORY
     }
 
-    private static final DAOType DEFAULT_DAO_TYPE = DAOType.MYBATIS;
+    private static final DAOType DEFAULT_DAO_TYPE =
+            DAOType.valueOf(AppConfig.getString("dao.type", DAOType.MYBATIS.name()).toUpperCase());
 
     public static IGenreDAO getGenreDAO() {
         return getGenreDAO(DEFAULT_DAO_TYPE);
@@ -17,6 +21,7 @@ public class DAOFactory {
     public static IGenreDAO getGenreDAO(DAOType type) {
         return switch (type) {
             case MYBATIS -> new GenreMyBatisDAO();
+            case IN_MEMORY -> InMemoryDatabase.getInstance().getGenreDAO();
             default -> throw new IllegalArgumentException("Unsupported DAO type: " + type);
         };
     }
@@ -28,6 +33,7 @@ public class DAOFactory {
     public static IMovieDAO getMovieDAO(DAOType type) {
         return switch (type) {
             case MYBATIS -> new MovieMyBatisDAO();
+            case IN_MEMORY -> InMemoryDatabase.getInstance().getMovieDAO();
             default -> throw new IllegalArgumentException("Unsupported DAO type: " + type);
         };
     }
@@ -39,6 +45,7 @@ public class DAOFactory {
     public static IUserDAO getUserDAO(DAOType type) {
         return switch (type) {
             case MYBATIS -> new UserMyBatisDAO();
+            case IN_MEMORY -> InMemoryDatabase.getInstance().getUserDAO();
             default -> throw new IllegalArgumentException("Unsupported DAO type: " + type);
         };
     }
@@ -50,6 +57,7 @@ public class DAOFactory {
     public static IPersonDAO getPersonDAO(DAOType type) {
         return switch (type) {
             case MYBATIS -> new PersonMyBatisDAO();
+            case IN_MEMORY -> InMemoryDatabase.getInstance().getPersonDAO();
             default -> throw new IllegalArgumentException("Unsupported DAO type: " + type);
         };
     }
@@ -61,6 +69,7 @@ public class DAOFactory {
     public static IUserRatingDAO getUserRatingDAO(DAOType type) {
         return switch (type) {
             case MYBATIS -> new UserRatingMyBatisDAO();
+            case IN_MEMORY -> InMemoryDatabase.getInstance().getUserRatingDAO();
             default -> throw new IllegalArgumentException("Unsupported DAO type: " + type);
         };
     }
@@ -72,6 +81,7 @@ public class DAOFactory {
     public static IInteractionDAO getInteractionDAO(DAOType type) {
         return switch (type) {
             case MYBATIS -> new InteractionMyBatisDAO();
+            case IN_MEMORY -> InMemoryDatabase.getInstance().getInteractionDAO();
             default -> throw new IllegalArgumentException("Unsupported DAO type: " + type);
         };
     }
@@ -83,6 +93,7 @@ public class DAOFactory {
     public static IViewingHistoryDAO getViewingHistoryDAO(DAOType type) {
         return switch (type) {
             case MYBATIS -> new ViewingHistoryMyBatisDAO();
+            case IN_MEMORY -> InMemoryDatabase.getInstance().getViewingHistoryDAO();
             default -> throw new IllegalArgumentException("Unsupported DAO type: " + type);
         };
     }
@@ -94,6 +105,7 @@ public class DAOFactory {
     public static IMovieGenresDAO getMovieGenreDAO(DAOType type) {
         return switch (type) {
             case MYBATIS -> new MovieGenresMyBatisDAO();
+            case IN_MEMORY -> InMemoryDatabase.getInstance().getMovieGenresDAO();
             default -> throw new IllegalArgumentException("Unsupported DAO type: " + type);
         };
     }
@@ -105,6 +117,7 @@ public class DAOFactory {
     public static IUserPreferredGenreDAO getUserPreferredGenreDAO(DAOType type) {
         return switch (type) {
             case MYBATIS -> new UserPreferredGenresMyBatisDAO();
+            case IN_MEMORY -> InMemoryDatabase.getInstance().getUserPreferredGenresDAO();
             default -> throw new IllegalArgumentException("Unsupported DAO type: " + type);
         };
     }
@@ -116,6 +129,7 @@ public class DAOFactory {
     public static IContentContributorDAO getContentContributorDAO(DAOType type) {
         return switch (type) {
             case MYBATIS -> new ContentContributorsMyBatisDAO();
+            case IN_MEMORY -> InMemoryDatabase.getInstance().getContentContributorsDAO();
             default -> throw new IllegalArgumentException("Unsupported DAO type: " + type);
         };
     }
@@ -127,6 +141,7 @@ public class DAOFactory {
     public static IUserInteractionDAO getUserInteractionDAO(DAOType type) {
         return switch (type) {
             case MYBATIS -> new UserInteractionsMyBatisDAO();
+            case IN_MEMORY -> InMemoryDatabase.getInstance().getUserInteractionsDAO();
             default -> throw new IllegalArgumentException("Unsupported DAO type: " + type);
         };
     }
@@ -138,6 +153,7 @@ public class DAOFactory {
     public static IPersonRoleDAO getPersonRoleDAO(DAOType type) {
         return switch (type) {
             case MYBATIS -> new PersonRoleMyBatisDAO();
+            case IN_MEMORY -> InMemoryDatabase.getInstance().getPersonRoleDAO();
             default -> throw new IllegalArgumentException("Unsupported DAO type: " + type);
         };
     }
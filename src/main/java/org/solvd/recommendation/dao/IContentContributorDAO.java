@@ -3,8 +3,10 @@ package org.solvd.recommendation.dao;
 import org.solvd.recommendation.model.ContentContributor;
 import org.solvd.recommendation.util.CompositeKey3;
 
-import java.sql.SQLException;
+import java.util.List;
 
 
 public interface IContentContributorDAO extends IDAO<ContentContributor, CompositeKey3<Long, Long, Long>> {
-}
\ No newline at end of file
+    List<ContentContributor> findByMovie(Long movieId);
+    List<ContentContributor> findByPerson(Long personId);
+}
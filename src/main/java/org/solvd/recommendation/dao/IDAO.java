@@ -1,7 +1,10 @@
 package org.solvd.recommendation.dao;
 
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Generic DAO interface defining standard operations for data access.
@@ -23,4 +26,37 @@ public interface IDAO<T, ID> {
 
 
     List<T> getAll();
-}
\ No newline at end of file
+
+    /**
+     * Scans the whole table without materialising it; rows are read as the stream is consumed.
+     * The stream holds a database connection and must be closed, e.g. with try-with-resources.
+     */
+    Stream<T> stream();
+
+    /**
+     * Bulk operations split the entities into chunks; each chunk is written as one
+     * JDBC batch in its own transaction. The listener is called after a chunk is committed.
+     */
+    void saveAll(Collection<T> entities, Consumer<List<T>> chunkListener);
+
+
+    void updateAll(Collection<T> entities, Consumer<List<T>> chunkListener);
+
+
+    void deleteAll(Collection<T> entities, Consumer<List<T>> chunkListener);
+
+
+    default void saveAll(Collection<T> entities) {
+        saveAll(entities, chunk -> { });
+    }
+
+
+    default void updateAll(Collection<T> entities) {
+        updateAll(entities, chunk -> { });
+    }
+
+
+    default void deleteAll(Collection<T> entities) {
+        deleteAll(entities, chunk -> { });
+    }
+}
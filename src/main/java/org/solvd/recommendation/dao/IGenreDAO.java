@@ -2,8 +2,13 @@ package org.solvd.recommendation.dao;
 
 import org.solvd.recommendation.model.Genre;
 
+import java.util.List;
+
 /**
  * DAO interface for Genre entity operations.
  */
-public interface IGenreDAO extends IDAO<Genre, Long> {
+public interface IGenreDAO extends IMultiGetDAO<Genre> {
+
+    // Genres of the movie, joined through MovieGenres
+    List<Genre> findByMovie(Long movieId);
 }
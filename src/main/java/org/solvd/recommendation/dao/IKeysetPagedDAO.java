@@ -0,0 +1,22 @@
+package org.solvd.recommendation.dao;
+
+import java.util.List;
+
+/**
+ * DAO for entities with a single numeric primary key that can be read in keyset pages.
+ * @param <T> Entity type
+ */
+public interface IKeysetPagedDAO<T> extends IDAO<T, Long> {
+
+    /**
+     * @return up to {@code pageSize} entities with {@code afterId < id <= maxId}, ordered by ID;
+     * a {@code null} bound is open
+     */
+    List<T> getPage(Long afterId, Long maxId, int pageSize);
+
+
+    Long getMinId();
+
+
+    Long getMaxId();
+}
@@ -1,9 +1,32 @@
 package org.solvd.recommendation.dao;
 
 import org.solvd.recommendation.model.Movie;
+import org.solvd.recommendation.model.MovieDetails;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 
 /**
  * DAO interface for Movie entity operations.
  */
-public interface IMovieDAO extends IDAO<Movie, Long> {
-}
\ No newline at end of file
+public interface IMovieDAO extends IKeysetPagedDAO<Movie>, IMultiGetDAO<Movie> {
+
+    // Movies of the genre, joined through MovieGenres
+    List<Movie> findByGenre(Long genreId);
+
+    // Movies the person contributed to in the role, or in any role when roleId is null
+    List<Movie> findByPerson(Long personId, Long roleId);
+
+    /**
+     * Loads the movies together with their genres and contributors, one JOIN query per chunk of IDs.
+     * Unknown IDs are skipped; the result is ordered by movie ID.
+     */
+    List<MovieDetails> getDetailsByIds(Collection<Long> movieIds);
+
+    /**
+     * Sets only the average rating column of the given movies, batched like the bulk operations.
+     */
+    void updateAverageRatings(Map<Long, BigDecimal> averageRatings);
+}
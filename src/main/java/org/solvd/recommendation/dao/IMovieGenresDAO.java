@@ -3,6 +3,9 @@ package org.solvd.recommendation.dao;
 import org.solvd.recommendation.model.MovieGenres;
 import org.solvd.recommendation.util.CompositeKey2;
 
+import java.util.List;
+
 public interface IMovieGenresDAO extends IDAO<MovieGenres, CompositeKey2<Long, Long>> {
+    List<MovieGenres> findByMovie(Long movieId);
+    List<MovieGenres> findByGenre(Long genreId);
 }
-
@@ -0,0 +1,17 @@
+package org.solvd.recommendation.dao;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * DAO for entities with a single numeric primary key that can be loaded by many IDs at once.
+ * @param <T> Entity type
+ */
+public interface IMultiGetDAO<T> extends IDAO<T, Long> {
+
+    /**
+     * Loads the entities with the given IDs in as few IN-clause queries as possible.
+     * Unknown IDs are skipped; the result is in no particular order.
+     */
+    List<T> getByIds(Collection<Long> ids);
+}
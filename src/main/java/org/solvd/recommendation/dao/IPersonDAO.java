@@ -2,8 +2,13 @@ package org.solvd.recommendation.dao;
 
 import org.solvd.recommendation.model.Person;
 
+import java.util.List;
+
 /**
  * DAO interface for Person entity operations.
  */
-public interface IPersonDAO extends IDAO<Person, Long> {
+public interface IPersonDAO extends IMultiGetDAO<Person> {
+
+    // Contributors of the movie in the role, or in any role when roleId is null
+    List<Person> findByMovie(Long movieId, Long roleId);
 }
@@ -2,8 +2,14 @@ package org.solvd.recommendation.dao;
 
 import org.solvd.recommendation.model.User;
 
+import java.util.List;
+
 /**
  * DAO interface for User entity operations.
  */
-public interface IUserDAO extends IDAO<User, Long> {
-}
\ No newline at end of file
+public interface IUserDAO extends IKeysetPagedDAO<User>, IMultiGetDAO<User> {
+    User getByUsername(String username);
+
+    // Users with a ViewingHistory entry for the movie
+    List<User> findByWatchedMovie(Long movieId);
+}
@@ -3,8 +3,10 @@ package org.solvd.recommendation.dao;
 import org.solvd.recommendation.model.UserInteraction;
 import org.solvd.recommendation.util.CompositeKey3;
 
-import java.sql.SQLException;
+import java.util.List;
 
 
 public interface IUserInteractionDAO extends IDAO<UserInteraction, CompositeKey3<Long, Long, Long>> {
-}
\ No newline at end of file
+    List<UserInteraction> findByUser(Long userId);
+    List<UserInteraction> findByMovie(Long movieId);
+}
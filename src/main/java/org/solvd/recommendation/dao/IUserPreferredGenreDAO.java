@@ -3,7 +3,8 @@ package org.solvd.recommendation.dao;
 import org.solvd.recommendation.model.UserPreferredGenre;
 import org.solvd.recommendation.util.CompositeKey2;
 
-import java.sql.SQLException;
+import java.util.List;
 
 public interface IUserPreferredGenreDAO extends IDAO<UserPreferredGenre, CompositeKey2<Long, Long>> {
+    List<UserPreferredGenre> findByUser(Long userId);
 }
@@ -1,9 +1,50 @@
 package org.solvd.recommendation.dao;
 
+import org.solvd.recommendation.model.MovieRatingAggregate;
 import org.solvd.recommendation.model.UserRating;
 import org.solvd.recommendation.util.CompositeKey2;
 
-import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
 
 public interface IUserRatingDAO extends IDAO<UserRating, CompositeKey2<Long, Long>> {
+    List<UserRating> findByUser(Long userId);
+    List<UserRating> findByMovie(Long movieId);
+
+    /**
+     * @return the user's rating of the movie, or {@code null} if there is none
+     */
+    UserRating findByUserAndMovie(Long userId, Long movieId);
+
+    /**
+     * Loads every rating given by any of the users to any of the movies.
+     * Large ID collections are split into several IN-clause queries on a single session.
+     */
+    List<UserRating> findByUsersAndMovies(Collection<Long> userIds, Collection<Long> movieIds);
+
+    /**
+     * Rating count and sum of every rated movie, computed in one GROUP BY query.
+     */
+    List<MovieRatingAggregate> getMovieRatingAggregates();
+
+    /**
+     * Rating count and sum of the given movies; movies without ratings are left out.
+     */
+    List<MovieRatingAggregate> getMovieRatingAggregates(Collection<Long> movieIds);
+
+    /**
+     * Inserts the rating, or overwrites the value of the user's existing rating of the movie,
+     * in a single statement.
+     */
+    void upsert(UserRating rating);
+
+    /**
+     * Batched {@link #upsert}, chunked and committed like {@link #saveAll(Collection, Consumer)}.
+     */
+    void upsertAll(Collection<UserRating> ratings, Consumer<List<UserRating>> chunkListener);
+
+    default void upsertAll(Collection<UserRating> ratings) {
+        upsertAll(ratings, chunk -> { });
+    }
 }
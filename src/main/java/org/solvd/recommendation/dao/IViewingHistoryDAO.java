@@ -3,7 +3,9 @@ package org.solvd.recommendation.dao;
 import org.solvd.recommendation.model.ViewingHistory;
 import org.solvd.recommendation.util.CompositeKey2;
 
-import java.sql.SQLException;
+import java.util.List;
 
 public interface IViewingHistoryDAO extends IDAO<ViewingHistory, CompositeKey2<Long, Long>> {
-}
\ No newline at end of file
+    List<ViewingHistory> findByUser(Long userId);
+    List<ViewingHistory> findByMovie(Long movieId);
+}
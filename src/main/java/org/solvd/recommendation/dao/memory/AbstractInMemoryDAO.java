@@ -0,0 +1,358 @@
+package org.solvd.recommendation.dao.memory;
+
+import org.solvd.recommendation.dao.IDAO;
+import org.solvd.recommendation.exeption.EntityAlreadyExistsException;
+import org.solvd.recommendation.exeption.EntityNotFoundException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Abstract implementation of the DAO interface over concurrent in-memory maps.
+ * <p>
+ * Rows are stored as private copies keyed by a primitive-friendly key (a boxed long or a
+ * packed pair of IDs where possible) and kept in sync with any number of secondary indexes.
+ * Reads are lock-free; writes are serialized per DAO so rows and indexes change together.
+ * <p>
+ * When a write-through DAO is attached, every write goes to it first and is applied in memory
+ * only after it succeeded, so the database stays the source of truth (and assigns generated IDs).
+ * Like MySQL, {@code save} rejects an existing key, and deletes cascade to the stores registered
+ * with {@link #addCascade}.
+ *
+ * @param <T> Entity type
+ * @param <ID> Entity identifier type
+ * @param <K> Storage key type
+ */
+public abstract class AbstractInMemoryDAO<T, ID, K> implements IDAO<T, ID> {
+    protected final Class<T> entityClass;
+    private final Supplier<? extends ConcurrentMap<K, T>> newRows;
+    private final List<SecondaryIndex<T, K, ?>> indexes = new ArrayList<>();
+    private final List<Consumer<ID>> cascades = new ArrayList<>();
+    private final Object loadLock = new Object();
+    private volatile ConcurrentMap<K, T> rows;
+    private volatile IDAO<T, ID> writeThrough;
+    // Writes made while a load is running, replayed onto the loaded rows; null values are deletes
+    private Map<K, T> writesDuringLoad;
+
+    protected AbstractInMemoryDAO(Class<T> entityClass, Supplier<? extends ConcurrentMap<K, T>> newRows) {
+        this.entityClass = entityClass;
+        this.newRows = newRows;
+        this.rows = newRows.get();
+    }
+
+    protected abstract K keyOf(T entity);
+
+    protected abstract K toKey(ID id);
+
+    protected abstract ID idOf(T entity);
+
+    protected abstract T copy(T entity);
+
+    /**
+     * Prepares an entity saved without write-through, e.g. assigns a generated ID.
+     */
+    protected void prepareNew(T entity) {
+    }
+
+    protected <A> SecondaryIndex<T, K, A> addIndex(Function<T, A> attribute) {
+        SecondaryIndex<T, K, A> index = new SecondaryIndex<>(attribute);
+        indexes.add(index);
+        return index;
+    }
+
+    /**
+     * Removes dependent rows whenever a row of this store is deleted, mirroring an
+     * ON DELETE CASCADE foreign key. The consumer receives the ID of the deleted row.
+     */
+    public void addCascade(Consumer<ID> deleteDependents) {
+        cascades.add(deleteDependents);
+    }
+
+    /**
+     * Sends all subsequent writes to the given DAO before applying them in memory.
+     */
+    public void setWriteThrough(IDAO<T, ID> writeThrough) {
+        this.writeThrough = writeThrough;
+    }
+
+    protected IDAO<T, ID> getWriteThrough() {
+        return writeThrough;
+    }
+
+    /**
+     * Replaces the contents of this store with all rows of the source DAO.
+     */
+    public void loadFrom(IDAO<T, ID> source) {
+        try (Stream<T> entities = source.stream()) {
+            load(entities);
+        }
+    }
+
+    /**
+     * Replaces the contents of this store with the given rows.
+     * The rows and indexes are built aside without holding the write lock, so writes are not
+     * blocked while a table is streamed; writes made in the meantime are replayed onto the new
+     * rows, which then replace the old ones. Readers see the old contents until then.
+     */
+    public void load(Stream<T> entities) {
+        synchronized (loadLock) {
+            synchronized (this) {
+                writesDuringLoad = new HashMap<>();
+            }
+            ConcurrentMap<K, T> loaded = newRows.get();
+            try {
+                entities.forEach(entity -> {
+                    T row = copy(entity);
+                    loaded.put(keyOf(row), row);
+                });
+                indexes.forEach(index -> index.stage(loaded));
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    writesDuringLoad = null;
+                }
+                throw e;
+            }
+
+            synchronized (this) {
+                writesDuringLoad.forEach((key, row) -> {
+                    T previous = row == null ? loaded.remove(key) : loaded.put(key, row);
+                    for (SecondaryIndex<T, K, ?> index : indexes) {
+                        index.stageChange(key, previous, row);
+                    }
+                });
+                writesDuringLoad = null;
+                indexes.forEach(SecondaryIndex::commit);
+                rows = loaded;
+                afterLoad();
+            }
+        }
+    }
+
+    /**
+     * Called under the write lock once loaded rows have replaced the contents of this store.
+     */
+    protected void afterLoad() {
+    }
+
+    @Override
+    public T get(ID id) {
+        T row = rows.get(toKey(id));
+        if (row == null) {
+            throw new EntityNotFoundException(entityClass, id);
+        }
+        return copy(row);
+    }
+
+    @Override
+    public synchronized ID save(T entity) {
+        IDAO<T, ID> target = writeThrough;
+        if (target != null) {
+            target.save(entity);
+        } else {
+            prepareNew(entity);
+            requireNew(entity);
+        }
+        store(entity);
+        return idOf(entity);
+    }
+
+    @Override
+    public synchronized void update(T entity) {
+        IDAO<T, ID> target = writeThrough;
+        if (target != null) {
+            target.update(entity);
+        }
+        if (rows.containsKey(keyOf(entity))) {
+            store(entity);
+        }
+    }
+
+    @Override
+    public synchronized void delete(T entity) {
+        IDAO<T, ID> target = writeThrough;
+        if (target != null) {
+            target.delete(entity);
+        }
+        remove(entity);
+        cascade(entity);
+    }
+
+    @Override
+    public List<T> getAll() {
+        return rows.values().stream().map(this::copy).toList();
+    }
+
+    @Override
+    public Stream<T> stream() {
+        return rows.values().stream().map(this::copy);
+    }
+
+    @Override
+    public synchronized void saveAll(Collection<T> entities, Consumer<List<T>> chunkListener) {
+        IDAO<T, ID> target = writeThrough;
+        if (target != null) {
+            target.saveAll(entities, chunk -> {
+                chunk.forEach(this::store);
+                chunkListener.accept(chunk);
+            });
+            return;
+        }
+        if (entities.isEmpty()) return;
+
+        List<T> chunk = new ArrayList<>(entities);
+        Set<K> keys = new HashSet<>();
+        for (T entity : chunk) {
+            prepareNew(entity);
+            requireNew(entity);
+            if (!keys.add(keyOf(entity))) {
+                throw new EntityAlreadyExistsException(entityClass, idOf(entity));
+            }
+        }
+        chunk.forEach(this::store);
+        chunkListener.accept(chunk);
+    }
+
+    @Override
+    public synchronized void updateAll(Collection<T> entities, Consumer<List<T>> chunkListener) {
+        Consumer<T> apply = entity -> {
+            if (rows.containsKey(keyOf(entity))) {
+                store(entity);
+            }
+        };
+        IDAO<T, ID> target = writeThrough;
+        if (target != null) {
+            target.updateAll(entities, chunk -> {
+                chunk.forEach(apply);
+                chunkListener.accept(chunk);
+            });
+            return;
+        }
+        if (entities.isEmpty()) return;
+
+        List<T> chunk = new ArrayList<>(entities);
+        chunk.forEach(apply);
+        chunkListener.accept(chunk);
+    }
+
+    @Override
+    public synchronized void deleteAll(Collection<T> entities, Consumer<List<T>> chunkListener) {
+        IDAO<T, ID> target = writeThrough;
+        if (target != null) {
+            target.deleteAll(entities, chunk -> {
+                chunk.forEach(this::remove);
+                chunk.forEach(this::cascade);
+                chunkListener.accept(chunk);
+            });
+            return;
+        }
+        if (entities.isEmpty()) return;
+
+        List<T> chunk = new ArrayList<>(entities);
+        chunk.forEach(this::remove);
+        chunk.forEach(this::cascade);
+        chunkListener.accept(chunk);
+    }
+
+    public int size() {
+        return rows.size();
+    }
+
+    protected ConcurrentMap<K, T> rows() {
+        return rows;
+    }
+
+    /**
+     * Resolves index keys to row copies.
+     */
+    protected List<T> rowsFor(Collection<K> keys) {
+        List<T> result = new ArrayList<>(keys.size());
+        for (K key : keys) {
+            T row = rows.get(key);
+            if (row != null) {
+                result.add(copy(row));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Removes the rows an index maps to the given value from memory only. Used for cascading
+     * deletes, which a written-through database has already applied on its own.
+     */
+    protected synchronized <A> void evict(SecondaryIndex<T, K, A> index, A value) {
+        for (K key : new ArrayList<>(index.get(value))) {
+            T row = rows.get(key);
+            if (row != null) {
+                remove(row);
+            }
+        }
+    }
+
+    // Callers hold the write lock
+    private void requireNew(T entity) {
+        if (rows.containsKey(keyOf(entity))) {
+            throw new EntityAlreadyExistsException(entityClass, idOf(entity));
+        }
+    }
+
+    // Callers hold the write lock
+    private void cascade(T entity) {
+        ID id = idOf(entity);
+        if (id != null) {
+            cascades.forEach(cascade -> cascade.accept(id));
+        }
+    }
+
+    // Callers hold the write lock
+    protected void store(T entity) {
+        T row = copy(entity);
+        K key = keyOf(row);
+        if (writesDuringLoad != null) {
+            writesDuringLoad.put(key, row);
+        }
+        T previous = rows.put(key, row);
+        for (SecondaryIndex<T, K, ?> index : indexes) {
+            if (previous != null) {
+                index.remove(previous, key);
+            }
+            index.add(row, key);
+        }
+    }
+
+    // Callers hold the write lock
+    private void remove(T entity) {
+        K key = keyOf(entity);
+        if (writesDuringLoad != null) {
+            writesDuringLoad.put(key, null);
+        }
+        T previous = rows.remove(key);
+        if (previous != null) {
+            for (SecondaryIndex<T, K, ?> index : indexes) {
+                index.remove(previous, key);
+            }
+        }
+    }
+
+    /**
+     * Packs two non-negative IDs below 2^32 into one long key.
+     */
+    protected static long pack(Long high, Long low) {
+        if (high == null || low == null) {
+            throw new IllegalArgumentException("Incomplete key values: " + high + ", " + low);
+        }
+        if (high < 0 || high > 0xFFFFFFFFL || low < 0 || low > 0xFFFFFFFFL) {
+            throw new IllegalArgumentException("IDs out of range for a packed key: " + high + ", " + low);
+        }
+        return (high << 32) | low;
+    }
+}
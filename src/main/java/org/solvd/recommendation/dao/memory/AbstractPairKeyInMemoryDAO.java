@@ -0,0 +1,37 @@
+package org.solvd.recommendation.dao.memory;
+
+import org.solvd.recommendation.util.CompositeKey2;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory store for entities with a two-part key, packed into one long per row.
+ * The key parts are in the same order as the entity's {@link CompositeKey2} ID.
+ *
+ * @param <T> Entity type
+ */
+public abstract class AbstractPairKeyInMemoryDAO<T> extends AbstractInMemoryDAO<T, CompositeKey2<Long, Long>, Long> {
+
+    protected AbstractPairKeyInMemoryDAO(Class<T> entityClass) {
+        super(entityClass, ConcurrentHashMap::new);
+    }
+
+    protected abstract Long firstKey(T entity);
+
+    protected abstract Long secondKey(T entity);
+
+    @Override
+    protected Long keyOf(T entity) {
+        return pack(firstKey(entity), secondKey(entity));
+    }
+
+    @Override
+    protected Long toKey(CompositeKey2<Long, Long> id) {
+        return pack(id.getKey1(), id.getKey2());
+    }
+
+    @Override
+    protected CompositeKey2<Long, Long> idOf(T entity) {
+        return new CompositeKey2<>(firstKey(entity), secondKey(entity));
+    }
+}
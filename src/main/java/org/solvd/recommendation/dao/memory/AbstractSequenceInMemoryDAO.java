@@ -0,0 +1,97 @@
+package org.solvd.recommendation.dao.memory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory store for entities with a single auto-increment ID.
+ * Rows are kept in ID order, which also serves keyset pages.
+ *
+ * @param <T> Entity type
+ */
+public abstract class AbstractSequenceInMemoryDAO<T> extends AbstractInMemoryDAO<T, Long, Long> {
+    private final AtomicLong sequence = new AtomicLong();
+
+    protected AbstractSequenceInMemoryDAO(Class<T> entityClass) {
+        super(entityClass, ConcurrentSkipListMap::new);
+    }
+
+    protected abstract void setId(T entity, Long id);
+
+    @Override
+    protected Long keyOf(T entity) {
+        Long id = idOf(entity);
+        if (id == null) {
+            throw new IllegalArgumentException(entityClass.getSimpleName() + " has no ID");
+        }
+        return id;
+    }
+
+    @Override
+    protected Long toKey(Long id) {
+        return id;
+    }
+
+    @Override
+    protected void prepareNew(T entity) {
+        if (idOf(entity) == null) {
+            setId(entity, sequence.incrementAndGet());
+        }
+    }
+
+    @Override
+    protected void store(T entity) {
+        super.store(entity);
+        sequence.accumulateAndGet(idOf(entity), Math::max);
+    }
+
+    @Override
+    protected void afterLoad() {
+        Long maxId = getMaxId();
+        if (maxId != null) {
+            sequence.accumulateAndGet(maxId, Math::max);
+        }
+    }
+
+    public List<T> getByIds(Collection<Long> ids) {
+        return rowsFor(new LinkedHashSet<>(ids));
+    }
+
+    public List<T> getPage(Long afterId, Long maxId, int pageSize) {
+        ConcurrentNavigableMap<Long, T> ordered = orderedRows();
+        if (afterId != null) {
+            ordered = ordered.tailMap(afterId, false);
+        }
+        if (maxId != null) {
+            ordered = ordered.headMap(maxId, true);
+        }
+
+        List<T> page = new ArrayList<>(Math.min(pageSize, 1024));
+        for (T row : ordered.values()) {
+            if (page.size() == pageSize) break;
+            page.add(copy(row));
+        }
+        return page;
+    }
+
+    public Long getMinId() {
+        Map.Entry<Long, T> first = orderedRows().firstEntry();
+        return first == null ? null : first.getKey();
+    }
+
+    public Long getMaxId() {
+        Map.Entry<Long, T> last = orderedRows().lastEntry();
+        return last == null ? null : last.getKey();
+    }
+
+    // The rows map is always created by the skip list factory above
+    private ConcurrentNavigableMap<Long, T> orderedRows() {
+        return (ConcurrentNavigableMap<Long, T>) rows();
+    }
+}
@@ -0,0 +1,68 @@
+package org.solvd.recommendation.dao.memory;
+
+import org.solvd.recommendation.dao.IContentContributorDAO;
+import org.solvd.recommendation.model.ContentContributor;
+import org.solvd.recommendation.util.CompositeKey3;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class ContentContributorsInMemoryDAO
+        extends AbstractInMemoryDAO<ContentContributor, CompositeKey3<Long, Long, Long>, CompositeKey3<Long, Long, Long>>
+        implements IContentContributorDAO {
+    private final SecondaryIndex<ContentContributor, CompositeKey3<Long, Long, Long>, Long> byMovie =
+            addIndex(ContentContributor::getMovieId);
+    private final SecondaryIndex<ContentContributor, CompositeKey3<Long, Long, Long>, Long> byPerson =
+            addIndex(ContentContributor::getPersonId);
+
+    public ContentContributorsInMemoryDAO() {
+        super(ContentContributor.class, ConcurrentHashMap::new);
+    }
+
+    @Override
+    public List<ContentContributor> findByMovie(Long movieId) {
+        return rowsFor(byMovie.get(movieId));
+    }
+
+    @Override
+    public List<ContentContributor> findByPerson(Long personId) {
+        return rowsFor(byPerson.get(personId));
+    }
+
+    // ON DELETE CASCADE of the Movie foreign key
+    void evictByMovie(Long movieId) {
+        evict(byMovie, movieId);
+    }
+
+    // ON DELETE CASCADE of the Person foreign key
+    void evictByPerson(Long personId) {
+        evict(byPerson, personId);
+    }
+
+    @Override
+    protected CompositeKey3<Long, Long, Long> keyOf(ContentContributor entity) {
+        if (entity.getMovieId() == null || entity.getPersonId() == null || entity.getPersonRoleId() == null) {
+            throw new IllegalArgumentException("ContentContributor has incomplete key values");
+        }
+        return idOf(entity);
+    }
+
+    @Override
+    protected CompositeKey3<Long, Long, Long> toKey(CompositeKey3<Long, Long, Long> id) {
+        return id;
+    }
+
+    @Override
+    protected CompositeKey3<Long, Long, Long> idOf(ContentContributor entity) {
+        return new CompositeKey3<>(entity.getMovieId(), entity.getPersonId(), entity.getPersonRoleId());
+    }
+
+    @Override
+    protected ContentContributor copy(ContentContributor entity) {
+        return ContentContributor.builder()
+                .movieId(entity.getMovieId())
+                .personId(entity.getPersonId())
+                .personRoleId(entity.getPersonRoleId())
+                .build();
+    }
+}
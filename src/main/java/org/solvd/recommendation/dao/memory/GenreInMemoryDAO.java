@@ -0,0 +1,38 @@
+package org.solvd.recommendation.dao.memory;
+
+import org.solvd.recommendation.dao.IGenreDAO;
+import org.solvd.recommendation.dao.IMovieGenresDAO;
+import org.solvd.recommendation.model.Genre;
+import org.solvd.recommendation.model.MovieGenres;
+
+import java.util.List;
+
+public class GenreInMemoryDAO extends AbstractSequenceInMemoryDAO<Genre> implements IGenreDAO {
+
+    private final IMovieGenresDAO movieGenresDAO;
+
+    public GenreInMemoryDAO(IMovieGenresDAO movieGenresDAO) {
+        super(Genre.class);
+        this.movieGenresDAO = movieGenresDAO;
+    }
+
+    @Override
+    public List<Genre> findByMovie(Long movieId) {
+        return getByIds(movieGenresDAO.findByMovie(movieId).stream().map(MovieGenres::getGenreId).toList());
+    }
+
+    @Override
+    protected Long idOf(Genre entity) {
+        return entity.getGenreId();
+    }
+
+    @Override
+    protected void setId(Genre entity, Long id) {
+        entity.setGenreId(id);
+    }
+
+    @Override
+    protected Genre copy(Genre entity) {
+        return Genre.builder().genreId(entity.getGenreId()).name(entity.getName()).build();
+    }
+}
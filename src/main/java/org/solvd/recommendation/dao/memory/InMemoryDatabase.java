@@ -0,0 +1,230 @@
+package org.solvd.recommendation.dao.memory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.solvd.recommendation.dao.DAOFactory;
+import org.solvd.recommendation.dao.DAOFactory.DAOType;
+import org.solvd.recommendation.dao.IDAO;
+import org.solvd.recommendation.snapshot.SnapshotReader;
+import org.solvd.recommendation.util.AppConfig;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Holds the single set of in-memory stores behind {@link DAOType#IN_MEMORY}.
+ * <p>
+ * With {@code dao.memory.preload=true} every store is filled from MySQL when first created;
+ * with {@code dao.memory.write.through=true} every write is also sent to the MyBatis DAOs.
+ * If {@code dao.memory.snapshot.path} names an existing snapshot, the stores it covers are filled
+ * from it instead, the remaining tables are loaded from MySQL, and all stores are then caught up
+ * from MySQL in the background.
+ */
+public class InMemoryDatabase {
+    private static final Logger logger = LoggerFactory.getLogger(InMemoryDatabase.class);
+    private static InMemoryDatabase instance;
+
+    // Join tables first: the entity stores resolve JOIN-style lookups through them
+    private final ViewingHistoryInMemoryDAO viewingHistoryDAO = new ViewingHistoryInMemoryDAO();
+    private final MovieGenresInMemoryDAO movieGenresDAO = new MovieGenresInMemoryDAO();
+    private final UserPreferredGenresInMemoryDAO userPreferredGenresDAO = new UserPreferredGenresInMemoryDAO();
+    private final ContentContributorsInMemoryDAO contentContributorsDAO = new ContentContributorsInMemoryDAO();
+    private final UserInteractionsInMemoryDAO userInteractionsDAO = new UserInteractionsInMemoryDAO();
+    private final UserRatingInMemoryDAO userRatingDAO = new UserRatingInMemoryDAO();
+
+    private final GenreInMemoryDAO genreDAO = new GenreInMemoryDAO(movieGenresDAO);
+    private final PersonInMemoryDAO personDAO = new PersonInMemoryDAO(contentContributorsDAO);
+    private final MovieInMemoryDAO movieDAO = new MovieInMemoryDAO(movieGenresDAO, contentContributorsDAO, genreDAO, personDAO);
+    private final UserInMemoryDAO userDAO = new UserInMemoryDAO(viewingHistoryDAO);
+    private final PersonRoleInMemoryDAO personRoleDAO = new PersonRoleInMemoryDAO();
+    private final InteractionInMemoryDAO interactionDAO = new InteractionInMemoryDAO();
+
+    private InMemoryDatabase() {
+        // Mirror the ON DELETE CASCADE foreign keys of the schema
+        movieDAO.addCascade(movieGenresDAO::evictByMovie);
+        movieDAO.addCascade(contentContributorsDAO::evictByMovie);
+        movieDAO.addCascade(viewingHistoryDAO::evictByMovie);
+        movieDAO.addCascade(userRatingDAO::evictByMovie);
+        movieDAO.addCascade(userInteractionsDAO::evictByMovie);
+        userDAO.addCascade(viewingHistoryDAO::evictByUser);
+        userDAO.addCascade(userRatingDAO::evictByUser);
+        userDAO.addCascade(userInteractionsDAO::evictByUser);
+        genreDAO.addCascade(movieGenresDAO::evictByGenre);
+        personDAO.addCascade(contentContributorsDAO::evictByPerson);
+    }
+
+    public static synchronized InMemoryDatabase getInstance() {
+        if (instance == null) {
+            InMemoryDatabase database = new InMemoryDatabase();
+            boolean preload = AppConfig.getBoolean("dao.memory.preload", false);
+            Path snapshot = snapshotPath();
+            if (snapshot != null && Files.isRegularFile(snapshot)) {
+                database.loadFromSnapshot(snapshot);
+                database.loadMissingFromDatabase();
+                database.catchUpInBackground();
+            } else if (preload) {
+                database.loadFromDatabase();
+            }
+            if (AppConfig.getBoolean("dao.memory.write.through", false)) {
+                database.enableWriteThrough();
+            }
+            instance = database;
+        }
+        return instance;
+    }
+
+    /**
+     * Replaces the contents of every store with the current MySQL tables.
+     */
+    public void loadFromDatabase() {
+        long start = System.currentTimeMillis();
+        bindings().forEach(Binding::load);
+        logger.info("In-memory stores loaded from the database in {} ms", System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Loads the tables a snapshot does not cover from the database, so a node started from
+     * a snapshot can serve requests that touch users, genres or people right away.
+     */
+    public void loadMissingFromDatabase() {
+        long start = System.currentTimeMillis();
+        bindings().stream().filter(binding -> !binding.inSnapshot).forEach(Binding::load);
+        logger.info("In-memory stores missing from the snapshot loaded from the database in {} ms",
+                System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Fills the catalog, rating, interaction and viewing history stores from a snapshot file.
+     * The remaining tables are left as they are.
+     */
+    public void loadFromSnapshot(Path path) {
+        long start = System.currentTimeMillis();
+        SnapshotReader snapshot = SnapshotReader.open(path);
+        movieDAO.load(snapshot.movies());
+        userRatingDAO.load(snapshot.userRatings());
+        userInteractionsDAO.load(snapshot.userInteractions());
+        viewingHistoryDAO.load(snapshot.viewingHistory());
+        movieGenresDAO.load(snapshot.movieGenres());
+        logger.info("In-memory stores loaded from snapshot {} (created {}) in {} ms",
+                path, Instant.ofEpochMilli(snapshot.getCreatedAt()), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Reloads every store from the database on a background thread,
+     * bringing a node started from a snapshot up to date while it already serves reads.
+     */
+    public void catchUpInBackground() {
+        Thread thread = new Thread(() -> {
+            try {
+                loadFromDatabase();
+            } catch (RuntimeException e) {
+                logger.error("Error catching up in-memory stores from the database", e);
+            }
+        }, "in-memory-catch-up");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Sends every subsequent write to MySQL before applying it in memory.
+     */
+    public void enableWriteThrough() {
+        bindings().forEach(Binding::writeThrough);
+        logger.info("In-memory stores write through to the database");
+    }
+
+    public GenreInMemoryDAO getGenreDAO() {
+        return genreDAO;
+    }
+
+    public MovieInMemoryDAO getMovieDAO() {
+        return movieDAO;
+    }
+
+    public UserInMemoryDAO getUserDAO() {
+        return userDAO;
+    }
+
+    public PersonInMemoryDAO getPersonDAO() {
+        return personDAO;
+    }
+
+    public PersonRoleInMemoryDAO getPersonRoleDAO() {
+        return personRoleDAO;
+    }
+
+    public InteractionInMemoryDAO getInteractionDAO() {
+        return interactionDAO;
+    }
+
+    public UserRatingInMemoryDAO getUserRatingDAO() {
+        return userRatingDAO;
+    }
+
+    public ViewingHistoryInMemoryDAO getViewingHistoryDAO() {
+        return viewingHistoryDAO;
+    }
+
+    public MovieGenresInMemoryDAO getMovieGenresDAO() {
+        return movieGenresDAO;
+    }
+
+    public UserPreferredGenresInMemoryDAO getUserPreferredGenresDAO() {
+        return userPreferredGenresDAO;
+    }
+
+    public ContentContributorsInMemoryDAO getContentContributorsDAO() {
+        return contentContributorsDAO;
+    }
+
+    public UserInteractionsInMemoryDAO getUserInteractionsDAO() {
+        return userInteractionsDAO;
+    }
+
+    private static Path snapshotPath() {
+        String path = AppConfig.getString("dao.memory.snapshot.path", null);
+        return path == null ? null : Path.of(path);
+    }
+
+    private List<Binding<?, ?>> bindings() {
+        return List.of(
+                new Binding<>(genreDAO, false, () -> DAOFactory.getGenreDAO(DAOType.MYBATIS)),
+                new Binding<>(movieDAO, true, () -> DAOFactory.getMovieDAO(DAOType.MYBATIS)),
+                new Binding<>(userDAO, false, () -> DAOFactory.getUserDAO(DAOType.MYBATIS)),
+                new Binding<>(personDAO, false, () -> DAOFactory.getPersonDAO(DAOType.MYBATIS)),
+                new Binding<>(personRoleDAO, false, () -> DAOFactory.getPersonRoleDAO(DAOType.MYBATIS)),
+                new Binding<>(interactionDAO, false, () -> DAOFactory.getInteractionDAO(DAOType.MYBATIS)),
+                new Binding<>(userRatingDAO, true, () -> DAOFactory.getUserRatingDAO(DAOType.MYBATIS)),
+                new Binding<>(viewingHistoryDAO, true, () -> DAOFactory.getViewingHistoryDAO(DAOType.MYBATIS)),
+                new Binding<>(movieGenresDAO, true, () -> DAOFactory.getMovieGenreDAO(DAOType.MYBATIS)),
+                new Binding<>(userPreferredGenresDAO, false, () -> DAOFactory.getUserPreferredGenreDAO(DAOType.MYBATIS)),
+                new Binding<>(contentContributorsDAO, false, () -> DAOFactory.getContentContributorDAO(DAOType.MYBATIS)),
+                new Binding<>(userInteractionsDAO, true, () -> DAOFactory.getUserInteractionDAO(DAOType.MYBATIS)));
+    }
+
+    // Pairs an in-memory store with the MyBatis DAO of the same table
+    private static final class Binding<T, ID> {
+        private final AbstractInMemoryDAO<T, ID, ?> store;
+        // Whether loadFromSnapshot fills the store
+        private final boolean inSnapshot;
+        private final Supplier<? extends IDAO<T, ID>> database;
+
+        private Binding(AbstractInMemoryDAO<T, ID, ?> store, boolean inSnapshot,
+                        Supplier<? extends IDAO<T, ID>> database) {
+            this.store = store;
+            this.inSnapshot = inSnapshot;
+            this.database = database;
+        }
+
+        private void load() {
+            store.loadFrom(database.get());
+        }
+
+        private void writeThrough() {
+            store.setWriteThrough(database.get());
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package org.solvd.recommendation.dao.memory;
+
+import org.solvd.recommendation.dao.IInteractionDAO;
+import org.solvd.recommendation.model.Interaction;
+
+public class InteractionInMemoryDAO extends AbstractSequenceInMemoryDAO<Interaction> implements IInteractionDAO {
+
+    public InteractionInMemoryDAO() {
+        super(Interaction.class);
+    }
+
+    @Override
+    protected Long idOf(Interaction entity) {
+        return entity.getInteractionId();
+    }
+
+    @Override
+    protected void setId(Interaction entity, Long id) {
+        entity.setInteractionId(id);
+    }
+
+    @Override
+    protected Interaction copy(Interaction entity) {
+        return Interaction.builder().interactionId(entity.getInteractionId()).type(entity.getType()).build();
+    }
+}
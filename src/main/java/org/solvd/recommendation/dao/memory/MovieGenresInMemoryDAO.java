@@ -0,0 +1,53 @@
+package org.solvd.recommendation.dao.memory;
+
+import org.solvd.recommendation.dao.IMovieGenresDAO;
+import org.solvd.recommendation.model.MovieGenres;
+
+import java.util.List;
+
+public class MovieGenresInMemoryDAO extends AbstractPairKeyInMemoryDAO<MovieGenres> implements IMovieGenresDAO {
+    private final SecondaryIndex<MovieGenres, Long, Long> byMovie = addIndex(MovieGenres::getMovieId);
+    private final SecondaryIndex<MovieGenres, Long, Long> byGenre = addIndex(MovieGenres::getGenreId);
+
+    public MovieGenresInMemoryDAO() {
+        super(MovieGenres.class);
+    }
+
+    @Override
+    public List<MovieGenres> findByMovie(Long movieId) {
+        return rowsFor(byMovie.get(movieId));
+    }
+
+    @Override
+    public List<MovieGenres> findByGenre(Long genreId) {
+        return rowsFor(byGenre.get(genreId));
+    }
+
+    // ON DELETE CASCADE of the Movie foreign key
+    void evictByMovie(Long movieId) {
+        evict(byMovie, movieId);
+    }
+
+    // ON DELETE CASCADE of the Genre foreign key
+    void evictByGenre(Long genreId) {
+        evict(byGenre, genreId);
+    }
+
+    @Override
+    protected Long firstKey(MovieGenres entity) {
+        return entity.getMovieId();
+    }
+
+    @Override
+    protected Long secondKey(MovieGenres entity) {
+        return entity.getGenreId();
+    }
+
+    @Override
+    protected MovieGenres copy(MovieGenres entity) {
+        return MovieGenres.builder()
+                .movieId(entity.getMovieId())
+                .genreId(entity.getGenreId())
+                .build();
+    }
+}
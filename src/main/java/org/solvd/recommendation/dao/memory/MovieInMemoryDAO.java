@@ -0,0 +1,124 @@
+package org.solvd.recommendation.dao.memory;
+
+import org.solvd.recommendation.dao.IContentContributorDAO;
+import org.solvd.recommendation.dao.IGenreDAO;
+import org.solvd.recommendation.dao.IMovieDAO;
+import org.solvd.recommendation.dao.IMovieGenresDAO;
+import org.solvd.recommendation.dao.IPersonDAO;
+import org.solvd.recommendation.model.ContentContributor;
+import org.solvd.recommendation.model.Movie;
+import org.solvd.recommendation.model.MovieContributor;
+import org.solvd.recommendation.model.MovieDetails;
+import org.solvd.recommendation.model.MovieGenres;
+import org.solvd.recommendation.model.Person;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public class MovieInMemoryDAO extends AbstractSequenceInMemoryDAO<Movie> implements IMovieDAO {
+    private final IMovieGenresDAO movieGenresDAO;
+    private final IContentContributorDAO contentContributorDAO;
+    private final IGenreDAO genreDAO;
+    private final IPersonDAO personDAO;
+
+    public MovieInMemoryDAO(IMovieGenresDAO movieGenresDAO, IContentContributorDAO contentContributorDAO,
+                            IGenreDAO genreDAO, IPersonDAO personDAO) {
+        super(Movie.class);
+        this.movieGenresDAO = movieGenresDAO;
+        this.contentContributorDAO = contentContributorDAO;
+        this.genreDAO = genreDAO;
+        this.personDAO = personDAO;
+    }
+
+    @Override
+    public List<Movie> findByGenre(Long genreId) {
+        return getByIds(movieGenresDAO.findByGenre(genreId).stream().map(MovieGenres::getMovieId).toList());
+    }
+
+    @Override
+    public List<Movie> findByPerson(Long personId, Long roleId) {
+        return getByIds(contentContributorDAO.findByPerson(personId).stream()
+                .filter(cc -> roleId == null || roleId.equals(cc.getPersonRoleId()))
+                .map(ContentContributor::getMovieId)
+                .toList());
+    }
+
+    @Override
+    public List<MovieDetails> getDetailsByIds(Collection<Long> movieIds) {
+        List<MovieDetails> result = new ArrayList<>();
+        for (Long movieId : new TreeSet<>(movieIds)) {
+            Movie row = rows().get(movieId);
+            if (row == null) continue;
+
+            MovieDetails details = new MovieDetails();
+            details.setMovieId(row.getMovieId());
+            details.setTitle(row.getTitle());
+            details.setDuration(row.getDuration());
+            details.setAverageRating(row.getAverageRating());
+            details.setGenres(genreDAO.getByIds(movieGenresDAO.findByMovie(movieId).stream()
+                    .map(MovieGenres::getGenreId)
+                    .toList()));
+
+            List<ContentContributor> contributions = contentContributorDAO.findByMovie(movieId);
+            Map<Long, Person> persons = personDAO.getByIds(contributions.stream()
+                            .map(ContentContributor::getPersonId)
+                            .toList())
+                    .stream()
+                    .collect(Collectors.toMap(Person::getPersonId, Function.identity()));
+            for (ContentContributor contribution : contributions) {
+                Person person = persons.get(contribution.getPersonId());
+                if (person != null) {
+                    details.getContributors().add(MovieContributor.builder()
+                            .personId(person.getPersonId())
+                            .fullName(person.getFullName())
+                            .gender(person.getGender())
+                            .personRoleId(contribution.getPersonRoleId())
+                            .build());
+                }
+            }
+            result.add(details);
+        }
+        return result;
+    }
+
+    @Override
+    public synchronized void updateAverageRatings(Map<Long, BigDecimal> averageRatings) {
+        if (getWriteThrough() instanceof IMovieDAO target) {
+            target.updateAverageRatings(averageRatings);
+        }
+        averageRatings.forEach((movieId, averageRating) -> {
+            Movie row = rows().get(movieId);
+            if (row != null) {
+                Movie updated = copy(row);
+                updated.setAverageRating(averageRating);
+                store(updated);
+            }
+        });
+    }
+
+    @Override
+    protected Long idOf(Movie entity) {
+        return entity.getMovieId();
+    }
+
+    @Override
+    protected void setId(Movie entity, Long id) {
+        entity.setMovieId(id);
+    }
+
+    @Override
+    protected Movie copy(Movie entity) {
+        return Movie.builder()
+                .movieId(entity.getMovieId())
+                .title(entity.getTitle())
+                .duration(entity.getDuration())
+                .averageRating(entity.getAverageRating())
+                .build();
+    }
+}
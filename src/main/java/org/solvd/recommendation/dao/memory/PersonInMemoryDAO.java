@@ -0,0 +1,41 @@
+package org.solvd.recommendation.dao.memory;
+
+import org.solvd.recommendation.dao.IContentContributorDAO;
+import org.solvd.recommendation.dao.IPersonDAO;
+import org.solvd.recommendation.model.ContentContributor;
+import org.solvd.recommendation.model.Person;
+
+import java.util.List;
+
+public class PersonInMemoryDAO extends AbstractSequenceInMemoryDAO<Person> implements IPersonDAO {
+
+    private final IContentContributorDAO contentContributorDAO;
+
+    public PersonInMemoryDAO(IContentContributorDAO contentContributorDAO) {
+        super(Person.class);
+        this.contentContributorDAO = contentContributorDAO;
+    }
+
+    @Override
+    public List<Person> findByMovie(Long movieId, Long roleId) {
+        return getByIds(contentContributorDAO.findByMovie(movieId).stream()
+                .filter(cc -> roleId == null || roleId.equals(cc.getPersonRoleId()))
+                .map(ContentContributor::getPersonId)
+                .toList());
+    }
+
+    @Override
+    protected Long idOf(Person entity) {
+        return entity.getPersonId();
+    }
+
+    @Override
+    protected void setId(Person entity, Long id) {
+        entity.setPersonId(id);
+    }
+
+    @Override
+    protected Person copy(Person entity) {
+        return Person.builder().personId(entity.getPersonId()).fullName(entity.getFullName()).gender(entity.getGender()).build();
+    }
+}
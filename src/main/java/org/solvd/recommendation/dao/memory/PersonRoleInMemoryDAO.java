@@ -0,0 +1,26 @@
+package org.solvd.recommendation.dao.memory;
+
+import org.solvd.recommendation.dao.IPersonRoleDAO;
+import org.solvd.recommendation.model.PersonRole;
+
+public class PersonRoleInMemoryDAO extends AbstractSequenceInMemoryDAO<PersonRole> implements IPersonRoleDAO {
+
+    public PersonRoleInMemoryDAO() {
+        super(PersonRole.class);
+    }
+
+    @Override
+    protected Long idOf(PersonRole entity) {
+        return entity.getPersonRoleId();
+    }
+
+    @Override
+    protected void setId(PersonRole entity, Long id) {
+        entity.setPersonRoleId(id);
+    }
+
+    @Override
+    protected PersonRole copy(PersonRole entity) {
+        return PersonRole.builder().personRoleId(entity.getPersonRoleId()).roleName(entity.getRoleName()).build();
+    }
+}
@@ -0,0 +1,90 @@
+package org.solvd.recommendation.dao.memory;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Non-unique index from an entity attribute to the primary keys of the rows holding it.
+ * Mutated only under the owning DAO's write lock; reads are lock-free.
+ * A load builds a replacement with {@link #stage} and installs it with {@link #commit}.
+ *
+ * @param <T> Entity type
+ * @param <K> Primary key type
+ * @param <A> Indexed attribute type
+ */
+class SecondaryIndex<T, K, A> {
+    private final Function<T, A> attribute;
+    private volatile ConcurrentMap<A, Set<K>> keysByValue = new ConcurrentHashMap<>();
+    private ConcurrentMap<A, Set<K>> staged;
+
+    SecondaryIndex(Function<T, A> attribute) {
+        this.attribute = attribute;
+    }
+
+    void add(T row, K key) {
+        add(keysByValue, row, key);
+    }
+
+    void remove(T row, K key) {
+        remove(keysByValue, row, key);
+    }
+
+    // Builds the index of the given rows aside, leaving the current one in use
+    void stage(Map<K, T> rows) {
+        ConcurrentMap<A, Set<K>> index = new ConcurrentHashMap<>();
+        rows.forEach((key, row) -> add(index, row, key));
+        staged = index;
+    }
+
+    // Applies a row change to the staged index; a null row is a delete
+    void stageChange(K key, T previous, T row) {
+        if (previous != null) {
+            remove(staged, previous, key);
+        }
+        if (row != null) {
+            add(staged, row, key);
+        }
+    }
+
+    void commit() {
+        keysByValue = staged;
+        staged = null;
+    }
+
+    private void add(ConcurrentMap<A, Set<K>> index, T row, K key) {
+        A value = attribute.apply(row);
+        if (value != null) {
+            index.computeIfAbsent(value, v -> ConcurrentHashMap.newKeySet()).add(key);
+        }
+    }
+
+    private void remove(ConcurrentMap<A, Set<K>> index, T row, K key) {
+        A value = attribute.apply(row);
+        if (value == null) return;
+
+        Set<K> keys = index.get(value);
+        if (keys != null) {
+            keys.remove(key);
+            if (keys.isEmpty()) {
+                index.remove(value);
+            }
+        }
+    }
+
+    Set<K> get(A value) {
+        if (value == null) return Collections.emptySet();
+        return keysByValue.getOrDefault(value, Collections.emptySet());
+    }
+
+    Set<A> keys() {
+        return keysByValue.keySet();
+    }
+
+    void clear() {
+        keysByValue.clear();
+    }
+}
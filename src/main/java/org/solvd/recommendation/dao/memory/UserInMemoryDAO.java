@@ -0,0 +1,55 @@
+package org.solvd.recommendation.dao.memory;
+
+import org.solvd.recommendation.dao.IUserDAO;
+import org.solvd.recommendation.dao.IViewingHistoryDAO;
+import org.solvd.recommendation.exeption.EntityNotFoundException;
+import org.solvd.recommendation.model.User;
+import org.solvd.recommendation.model.ViewingHistory;
+
+import java.util.List;
+import java.util.Set;
+
+public class UserInMemoryDAO extends AbstractSequenceInMemoryDAO<User> implements IUserDAO {
+    private final SecondaryIndex<User, Long, String> byUsername = addIndex(User::getUsername);
+
+    private final IViewingHistoryDAO viewingHistoryDAO;
+
+    public UserInMemoryDAO(IViewingHistoryDAO viewingHistoryDAO) {
+        super(User.class);
+        this.viewingHistoryDAO = viewingHistoryDAO;
+    }
+
+    @Override
+    public List<User> findByWatchedMovie(Long movieId) {
+        return getByIds(viewingHistoryDAO.findByMovie(movieId).stream().map(ViewingHistory::getUserId).toList());
+    }
+
+    @Override
+    public User getByUsername(String username) {
+        Set<Long> keys = byUsername.get(username);
+        List<User> users = rowsFor(keys);
+        if (users.isEmpty()) {
+            throw new EntityNotFoundException(User.class, "username " + username);
+        }
+        return users.get(0);
+    }
+
+    @Override
+    protected Long idOf(User entity) {
+        return entity.getUserId();
+    }
+
+    @Override
+    protected void setId(User entity, Long id) {
+        entity.setUserId(id);
+    }
+
+    @Override
+    protected User copy(User entity) {
+        User user = new User(entity.getUserId(), entity.getUsername(), entity.getEmail());
+        user.setPersonId(entity.getPersonId());
+        user.setFullName(entity.getFullName());
+        user.setGender(entity.getGender());
+        return user;
+    }
+}
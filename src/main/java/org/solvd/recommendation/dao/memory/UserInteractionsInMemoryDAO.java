@@ -0,0 +1,68 @@
+package org.solvd.recommendation.dao.memory;
+
+import org.solvd.recommendation.dao.IUserInteractionDAO;
+import org.solvd.recommendation.model.UserInteraction;
+import org.solvd.recommendation.util.CompositeKey3;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class UserInteractionsInMemoryDAO
+        extends AbstractInMemoryDAO<UserInteraction, CompositeKey3<Long, Long, Long>, CompositeKey3<Long, Long, Long>>
+        implements IUserInteractionDAO {
+    private final SecondaryIndex<UserInteraction, CompositeKey3<Long, Long, Long>, Long> byUser =
+            addIndex(UserInteraction::getUserId);
+    private final SecondaryIndex<UserInteraction, CompositeKey3<Long, Long, Long>, Long> byMovie =
+            addIndex(UserInteraction::getMovieId);
+
+    public UserInteractionsInMemoryDAO() {
+        super(UserInteraction.class, ConcurrentHashMap::new);
+    }
+
+    @Override
+    public List<UserInteraction> findByUser(Long userId) {
+        return rowsFor(byUser.get(userId));
+    }
+
+    @Override
+    public List<UserInteraction> findByMovie(Long movieId) {
+        return rowsFor(byMovie.get(movieId));
+    }
+
+    // ON DELETE CASCADE of the User foreign key
+    void evictByUser(Long userId) {
+        evict(byUser, userId);
+    }
+
+    // ON DELETE CASCADE of the Movie foreign key
+    void evictByMovie(Long movieId) {
+        evict(byMovie, movieId);
+    }
+
+    @Override
+    protected CompositeKey3<Long, Long, Long> keyOf(UserInteraction entity) {
+        if (entity.getUserId() == null || entity.getMovieId() == null || entity.getInteractionsId() == null) {
+            throw new IllegalArgumentException("UserInteraction has incomplete key values");
+        }
+        return idOf(entity);
+    }
+
+    @Override
+    protected CompositeKey3<Long, Long, Long> toKey(CompositeKey3<Long, Long, Long> id) {
+        return id;
+    }
+
+    @Override
+    protected CompositeKey3<Long, Long, Long> idOf(UserInteraction entity) {
+        return new CompositeKey3<>(entity.getUserId(), entity.getMovieId(), entity.getInteractionsId());
+    }
+
+    @Override
+    protected UserInteraction copy(UserInteraction entity) {
+        return UserInteraction.builder()
+                .userId(entity.getUserId())
+                .movieId(entity.getMovieId())
+                .interactionsId(entity.getInteractionsId())
+                .build();
+    }
+}
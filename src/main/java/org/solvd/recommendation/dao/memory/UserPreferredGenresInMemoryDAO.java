@@ -0,0 +1,38 @@
+package org.solvd.recommendation.dao.memory;
+
+import org.solvd.recommendation.dao.IUserPreferredGenreDAO;
+import org.solvd.recommendation.model.UserPreferredGenre;
+
+import java.util.List;
+
+public class UserPreferredGenresInMemoryDAO extends AbstractPairKeyInMemoryDAO<UserPreferredGenre>
+        implements IUserPreferredGenreDAO {
+    private final SecondaryIndex<UserPreferredGenre, Long, Long> byUser = addIndex(UserPreferredGenre::getUserId);
+
+    public UserPreferredGenresInMemoryDAO() {
+        super(UserPreferredGenre.class);
+    }
+
+    @Override
+    public List<UserPreferredGenre> findByUser(Long userId) {
+        return rowsFor(byUser.get(userId));
+    }
+
+    @Override
+    protected Long firstKey(UserPreferredGenre entity) {
+        return entity.getUserId();
+    }
+
+    @Override
+    protected Long secondKey(UserPreferredGenre entity) {
+        return entity.getGenreId();
+    }
+
+    @Override
+    protected UserPreferredGenre copy(UserPreferredGenre entity) {
+        return UserPreferredGenre.builder()
+                .userId(entity.getUserId())
+                .genreId(entity.getGenreId())
+                .build();
+    }
+}
@@ -0,0 +1,136 @@
+package org.solvd.recommendation.dao.memory;
+
+import org.solvd.recommendation.dao.IUserRatingDAO;
+import org.solvd.recommendation.model.MovieRatingAggregate;
+import org.solvd.recommendation.model.UserRating;
+
+import java.math.BigDecimal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+public class UserRatingInMemoryDAO extends AbstractPairKeyInMemoryDAO<UserRating> implements IUserRatingDAO {
+    private final SecondaryIndex<UserRating, Long, Long> byUser = addIndex(UserRating::getUserId);
+    private final SecondaryIndex<UserRating, Long, Long> byMovie = addIndex(UserRating::getMovieId);
+
+    public UserRatingInMemoryDAO() {
+        super(UserRating.class);
+    }
+
+    @Override
+    public List<UserRating> findByUser(Long userId) {
+        return rowsFor(byUser.get(userId));
+    }
+
+    @Override
+    public List<UserRating> findByMovie(Long movieId) {
+        return rowsFor(byMovie.get(movieId));
+    }
+
+    @Override
+    public UserRating findByUserAndMovie(Long userId, Long movieId) {
+        UserRating row = rows().get(pack(userId, movieId));
+        return row == null ? null : copy(row);
+    }
+
+    @Override
+    public List<MovieRatingAggregate> getMovieRatingAggregates() {
+        return getMovieRatingAggregates(byMovie.keys());
+    }
+
+    @Override
+    public List<MovieRatingAggregate> getMovieRatingAggregates(Collection<Long> movieIds) {
+        List<MovieRatingAggregate> result = new ArrayList<>();
+        for (Long movieId : new HashSet<>(movieIds)) {
+            long count = 0;
+            BigDecimal sum = BigDecimal.ZERO;
+            for (Long key : byMovie.get(movieId)) {
+                UserRating row = rows().get(key);
+                if (row != null) {
+                    count++;
+                    sum = sum.add(row.getRatingValue());
+                }
+            }
+            if (count > 0) {
+                result.add(new MovieRatingAggregate(movieId, count, sum));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<UserRating> findByUsersAndMovies(Collection<Long> userIds, Collection<Long> movieIds) {
+        List<UserRating> result = new ArrayList<>();
+        if (userIds.isEmpty() || movieIds.isEmpty()) {
+            return result;
+        }
+
+        Set<Long> movies = new HashSet<>(movieIds);
+        for (Long userId : new HashSet<>(userIds)) {
+            for (Long key : byUser.get(userId)) {
+                UserRating row = rows().get(key);
+                if (row != null && movies.contains(row.getMovieId())) {
+                    result.add(copy(row));
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public synchronized void upsert(UserRating rating) {
+        if (getWriteThrough() instanceof IUserRatingDAO target) {
+            target.upsert(rating);
+        }
+        store(rating);
+    }
+
+    @Override
+    public synchronized void upsertAll(Collection<UserRating> ratings, Consumer<List<UserRating>> chunkListener) {
+        if (getWriteThrough() instanceof IUserRatingDAO target) {
+            target.upsertAll(ratings, chunk -> {
+                chunk.forEach(this::store);
+                chunkListener.accept(chunk);
+            });
+            return;
+        }
+        if (ratings.isEmpty()) return;
+
+        List<UserRating> chunk = new ArrayList<>(ratings);
+        chunk.forEach(this::store);
+        chunkListener.accept(chunk);
+    }
+
+    // ON DELETE CASCADE of the User foreign key
+    void evictByUser(Long userId) {
+        evict(byUser, userId);
+    }
+
+    // ON DELETE CASCADE of the Movie foreign key
+    void evictByMovie(Long movieId) {
+        evict(byMovie, movieId);
+    }
+
+    @Override
+    protected Long firstKey(UserRating entity) {
+        return entity.getUserId();
+    }
+
+    @Override
+    protected Long secondKey(UserRating entity) {
+        return entity.getMovieId();
+    }
+
+    @Override
+    protected UserRating copy(UserRating entity) {
+        return UserRating.builder()
+                .userId(entity.getUserId())
+                .movieId(entity.getMovieId())
+                .ratingValue(entity.getRatingValue())
+                .build();
+    }
+}
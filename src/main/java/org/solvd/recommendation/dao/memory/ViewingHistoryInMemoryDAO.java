@@ -0,0 +1,56 @@
+package org.solvd.recommendation.dao.memory;
+
+import org.solvd.recommendation.dao.IViewingHistoryDAO;
+import org.solvd.recommendation.model.ViewingHistory;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+public class ViewingHistoryInMemoryDAO extends AbstractPairKeyInMemoryDAO<ViewingHistory> implements IViewingHistoryDAO {
+    private final SecondaryIndex<ViewingHistory, Long, Long> byUser = addIndex(ViewingHistory::getUserId);
+    private final SecondaryIndex<ViewingHistory, Long, Long> byMovie = addIndex(ViewingHistory::getMovieId);
+
+    public ViewingHistoryInMemoryDAO() {
+        super(ViewingHistory.class);
+    }
+
+    @Override
+    public List<ViewingHistory> findByUser(Long userId) {
+        return rowsFor(byUser.get(userId));
+    }
+
+    @Override
+    public List<ViewingHistory> findByMovie(Long movieId) {
+        return rowsFor(byMovie.get(movieId));
+    }
+
+    // ON DELETE CASCADE of the User foreign key
+    void evictByUser(Long userId) {
+        evict(byUser, userId);
+    }
+
+    // ON DELETE CASCADE of the Movie foreign key
+    void evictByMovie(Long movieId) {
+        evict(byMovie, movieId);
+    }
+
+    @Override
+    protected Long firstKey(ViewingHistory entity) {
+        return entity.getUserId();
+    }
+
+    @Override
+    protected Long secondKey(ViewingHistory entity) {
+        return entity.getMovieId();
+    }
+
+    @Override
+    protected ViewingHistory copy(ViewingHistory entity) {
+        Timestamp watchDate = entity.getWatchDate();
+        return ViewingHistory.builder()
+                .userId(entity.getUserId())
+                .movieId(entity.getMovieId())
+                .watchDate(watchDate == null ? null : new Timestamp(watchDate.getTime()))
+                .build();
+    }
+}
@@ -1,6 +1,8 @@
 package org.solvd.recommendation.dao.mybatis;
 
 
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.session.ExecutorType;
 import org.apache.ibatis.session.SqlSession;
 import org.solvd.recommendation.dao.IDAO;
 import org.solvd.recommendation.exeption.DataAccessException;
@@ -8,9 +10,18 @@ import org.solvd.recommendation.exeption.DatabaseConnectionException;
 import org.solvd.recommendation.exeption.EntityNotFoundException;
 import org.solvd.recommendation.mapper.IMapper;
 
+import java.io.IOException;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 import org.apache.ibatis.session.SqlSessionFactory;
+import org.solvd.recommendation.util.AppConfig;
 import org.solvd.recommendation.util.MyBatisUtil;
 
 /**
@@ -22,19 +33,25 @@ import org.solvd.recommendation.util.MyBatisUtil;
  * @param <M> Mapper interface type
  */
 public abstract class AbstractMyBatisDAO<T, ID, M extends IMapper<T>> implements IDAO<T, ID> {
+    private static final int DEFAULT_BATCH_SIZE = 500;
+    // Upper bound for the number of IDs bound into a single IN clause
+    protected static final int IN_CLAUSE_CHUNK_SIZE = 1000;
+
     protected final SqlSessionFactory sqlSessionFactory;
     protected final Class<T> entityClass;
+    protected final int batchSize;
 
     protected AbstractMyBatisDAO(Class<T> entityClass) {
         this.sqlSessionFactory = MyBatisUtil.getSqlSessionFactory();
         this.entityClass = entityClass;
+        this.batchSize = Math.max(1, AppConfig.getInt("db.batch.size", DEFAULT_BATCH_SIZE));
     }
 
     protected abstract Class<M> getMapperClass();
 
     @Override
     public T get(ID id) {
-        try (SqlSession session = sqlSessionFactory.openSession()) {
+        try (SqlSession session = openSession()) {
             M mapper = session.getMapper(getMapperClass());
             T entity = mapper.get((Long) id);
 
@@ -52,7 +69,7 @@ public abstract class AbstractMyBatisDAO<T, ID, M extends IMapper<T>> implements
 
     @Override
     public ID save(T entity) {
-        try (SqlSession session = sqlSessionFactory.openSession()) {
+        try (SqlSession session = openSession()) {
             try {
                 M mapper = session.getMapper(getMapperClass());
                 long id = mapper.save(entity);
@@ -69,7 +86,7 @@ public abstract class AbstractMyBatisDAO<T, ID, M extends IMapper<T>> implements
 
     @Override
     public void update(T entity) {
-        try (SqlSession session = sqlSessionFactory.openSession()) {
+        try (SqlSession session = openSession()) {
             try {
                 M mapper = session.getMapper(getMapperClass());
                 mapper.update(entity);
@@ -85,7 +102,7 @@ public abstract class AbstractMyBatisDAO<T, ID, M extends IMapper<T>> implements
 
     @Override
     public void delete(T entity) {
-        try (SqlSession session = sqlSessionFactory.openSession()) {
+        try (SqlSession session = openSession()) {
             try {
                 M mapper = session.getMapper(getMapperClass());
                 Long id = getEntityId(entity);
@@ -102,7 +119,7 @@ public abstract class AbstractMyBatisDAO<T, ID, M extends IMapper<T>> implements
 
     @Override
     public List<T> getAll() {
-        try (SqlSession session = sqlSessionFactory.openSession()) {
+        try (SqlSession session = openSession()) {
             M mapper = session.getMapper(getMapperClass());
             return mapper.getAll();
         } catch (Exception e) {
@@ -110,13 +127,191 @@ public abstract class AbstractMyBatisDAO<T, ID, M extends IMapper<T>> implements
         }
     }
 
+    /**
+     * Always uses a dedicated session: while a streaming result set is open, its connection
+     * cannot run other statements, so the scan never joins the current unit of work.
+     */
+    @Override
+    public Stream<T> stream() {
+        SqlSession session;
+        try {
+            session = sqlSessionFactory.openSession();
+        } catch (Exception e) {
+            throw new DatabaseConnectionException("Error opening database session", e);
+        }
+
+        try {
+            Cursor<T> cursor = session.getMapper(getMapperClass()).scanAll();
+            return StreamSupport.stream(cursor.spliterator(), false)
+                    .onClose(() -> {
+                        try {
+                            cursor.close();
+                        } catch (IOException e) {
+                            throw new DataAccessException("Error closing " + entityClass.getSimpleName() + " cursor", e);
+                        } finally {
+                            session.close();
+                        }
+                    });
+        } catch (Exception e) {
+            session.close();
+            throw new DataAccessException("Error scanning " + entityClass.getSimpleName() + " entities", e);
+        }
+    }
+
+    @Override
+    public void saveAll(Collection<T> entities, Consumer<List<T>> chunkListener) {
+        executeBatch("saving", entities, this::saveRow, chunkListener);
+    }
+
+    @Override
+    public void updateAll(Collection<T> entities, Consumer<List<T>> chunkListener) {
+        executeBatch("updating", entities, this::updateRow, chunkListener);
+    }
+
+    @Override
+    public void deleteAll(Collection<T> entities, Consumer<List<T>> chunkListener) {
+        executeBatch("deleting", entities, this::deleteRow, chunkListener);
+    }
+
+    /**
+     * Single-row statements queued by the bulk operations.
+     * Row counts are not available in batch mode, so implementations must not check them.
+     */
+    protected void saveRow(M mapper, T entity) throws SQLException {
+        mapper.save(entity);
+    }
+
+    protected void updateRow(M mapper, T entity) throws SQLException {
+        mapper.update(entity);
+    }
+
+    protected void deleteRow(M mapper, T entity) throws SQLException {
+        mapper.delete(getEntityId(entity));
+    }
+
+    /**
+     * Applies the row operation to the entities in chunks of {@code batchSize}; each chunk is
+     * one JDBC batch in its own transaction, and the listener is called after its commit.
+     * Inside a unit of work the rows instead run on its session, which never uses the BATCH
+     * executor, and are committed with it; the listener is then called once the chunk's
+     * statements have been sent.
+     */
+    protected void executeBatch(String operation, Collection<T> entities,
+                              RowOperation<M, T> rowOperation, Consumer<List<T>> chunkListener) {
+        if (entities == null || entities.isEmpty()) {
+            return;
+        }
+
+        List<T> pending = new ArrayList<>(entities);
+        for (int from = 0; from < pending.size(); from += batchSize) {
+            List<T> chunk = pending.subList(from, Math.min(from + batchSize, pending.size()));
+            try (SqlSession session = openSession(ExecutorType.BATCH)) {
+                try {
+                    M mapper = session.getMapper(getMapperClass());
+                    for (T entity : chunk) {
+                        rowOperation.apply(mapper, entity);
+                    }
+                    session.flushStatements();
+                    session.commit();
+                } catch (Exception e) {
+                    session.rollback();
+                    throw e;
+                }
+            } catch (Exception e) {
+                throw new DataAccessException("Error " + operation + " batch of " + chunk.size() + " "
+                        + entityClass.getSimpleName() + " entities", e);
+            }
+            chunkListener.accept(chunk);
+        }
+    }
+
     protected abstract Long getEntityId(T entity);
 
+    /**
+     * Runs a read-only mapper call in its own session.
+     * Any failure is wrapped into a {@link DataAccessException} with the given message.
+     */
+    protected <R> R select(String errorMessage, MapperCall<M, R> call) {
+        try (SqlSession session = openSession()) {
+            return call.apply(session.getMapper(getMapperClass()));
+        } catch (DataAccessException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new DataAccessException(errorMessage, e);
+        }
+    }
+
+    /**
+     * Runs an IN-clause query once per chunk of distinct IDs on a single session
+     * and concatenates the results.
+     */
+    protected <R> List<R> selectByIds(String errorMessage, Collection<Long> ids, ChunkCall<M, R> call) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<List<Long>> idChunks = chunkIds(ids);
+        return select(errorMessage, mapper -> {
+            List<R> result = new ArrayList<>();
+            for (List<Long> idChunk : idChunks) {
+                result.addAll(call.apply(mapper, idChunk));
+            }
+            return result;
+        });
+    }
+
+    protected static List<List<Long>> chunkIds(Collection<Long> ids) {
+        List<Long> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < distinct.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            chunks.add(distinct.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, distinct.size())));
+        }
+        return chunks;
+    }
+
+    /**
+     * Opens a new session, or joins the current thread's unit of work when one is active
+     * (see {@link MyBatisUtil#withSession}).
+     */
     protected SqlSession openSession() {
+        SqlSession boundSession = MyBatisUtil.getBoundSession();
+        if (boundSession != null) {
+            return boundSession;
+        }
         try {
             return sqlSessionFactory.openSession();
         } catch (Exception e) {
             throw new DatabaseConnectionException("Error opening database session", e);
         }
     }
+
+    protected SqlSession openSession(ExecutorType executorType) {
+        SqlSession boundSession = MyBatisUtil.getBoundSession();
+        if (boundSession != null) {
+            return boundSession;
+        }
+        try {
+            return sqlSessionFactory.openSession(executorType);
+        } catch (Exception e) {
+            throw new DatabaseConnectionException("Error opening database session", e);
+        }
+    }
+
+    /**
+     * Mapper operation executed inside a DAO-managed session.
+     */
+    @FunctionalInterface
+    protected interface MapperCall<M, R> {
+        R apply(M mapper) throws SQLException;
+    }
+
+    @FunctionalInterface
+    protected interface ChunkCall<M, R> {
+        List<R> apply(M mapper, List<Long> ids) throws SQLException;
+    }
+
+    @FunctionalInterface
+    protected interface RowOperation<M, T> {
+        void apply(M mapper, T entity) throws SQLException;
+    }
 }
\ No newline at end of file
@@ -8,6 +8,9 @@ import org.solvd.recommendation.mapper.IContentContributorMapper;
 import org.solvd.recommendation.model.ContentContributor;
 import org.solvd.recommendation.util.CompositeKey3;
 
+import java.sql.SQLException;
+import java.util.List;
+
 public class ContentContributorsMyBatisDAO
         extends AbstractMyBatisDAO<ContentContributor, CompositeKey3<Long, Long, Long>, IContentContributorMapper>
         implements IContentContributorDAO {
@@ -23,7 +26,7 @@ public class ContentContributorsMyBatisDAO
 
     @Override
     public ContentContributor get(CompositeKey3<Long, Long, Long> id) {
-        try (SqlSession session = sqlSessionFactory.openSession()) {
+        try (SqlSession session = openSession()) {
             IContentContributorMapper mapper = session.getMapper(getMapperClass());
             ContentContributor entity = mapper.get(id.getKey1(), id.getKey2(), id.getKey3());
 
@@ -41,7 +44,7 @@ public class ContentContributorsMyBatisDAO
 
     @Override
     public CompositeKey3<Long, Long, Long> save(ContentContributor entity) {
-        try (SqlSession session = sqlSessionFactory.openSession()) {
+        try (SqlSession session = openSession()) {
             try {
                 IContentContributorMapper mapper = session.getMapper(getMapperClass());
                 mapper.save(entity);
@@ -58,7 +61,7 @@ public class ContentContributorsMyBatisDAO
 
     @Override
     public void update(ContentContributor entity) {
-        try (SqlSession session = sqlSessionFactory.openSession()) {
+        try (SqlSession session = openSession()) {
             try {
                 IContentContributorMapper mapper = session.getMapper(getMapperClass());
                 mapper.update(entity);
@@ -74,7 +77,7 @@ public class ContentContributorsMyBatisDAO
 
     @Override
     public void delete(ContentContributor entity) {
-        try (SqlSession session = sqlSessionFactory.openSession()) {
+        try (SqlSession session = openSession()) {
             try {
                 IContentContributorMapper mapper = session.getMapper(getMapperClass());
                 CompositeKey3<Long, Long, Long> id = createCompositeKey(entity);
@@ -96,6 +99,18 @@ public class ContentContributorsMyBatisDAO
         }
     }
 
+    @Override
+    public List<ContentContributor> findByMovie(Long movieId) {
+        return select("Error retrieving ContentContributor entries for movie " + movieId,
+                mapper -> mapper.findByMovie(movieId));
+    }
+
+    @Override
+    public List<ContentContributor> findByPerson(Long personId) {
+        return select("Error retrieving ContentContributor entries for person " + personId,
+                mapper -> mapper.findByPerson(personId));
+    }
+
     private CompositeKey3<Long, Long, Long> createCompositeKey(ContentContributor entity) {
         if (entity == null || entity.getMovieId() == null || entity.getPersonId() == null || entity.getPersonRoleId() == null) {
             throw new IllegalArgumentException("ContentContributor has incomplete key values");
@@ -103,6 +118,11 @@ public class ContentContributorsMyBatisDAO
         return new CompositeKey3<>(entity.getMovieId(), entity.getPersonId(), entity.getPersonRoleId());
     }
 
+    @Override
+    protected void deleteRow(IContentContributorMapper mapper, ContentContributor entity) throws SQLException {
+        mapper.delete(entity.getMovieId(), entity.getPersonId(), entity.getPersonRoleId());
+    }
+
     @Override
     protected Long getEntityId(ContentContributor entity) {
         throw new UnsupportedOperationException("ContentContributor uses composite key");
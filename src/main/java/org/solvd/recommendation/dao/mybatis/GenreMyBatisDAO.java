@@ -5,6 +5,9 @@ import org.solvd.recommendation.dao.IGenreDAO;
 import org.solvd.recommendation.mapper.IGenreMapper;
 import org.solvd.recommendation.model.Genre;
 
+import java.util.Collection;
+import java.util.List;
+
 public class GenreMyBatisDAO extends AbstractMyBatisDAO<Genre, Long, IGenreMapper> implements IGenreDAO {
 
     public GenreMyBatisDAO() {
@@ -16,6 +19,16 @@ public class GenreMyBatisDAO extends AbstractMyBatisDAO<Genre, Long, IGenreMappe
         return IGenreMapper.class;
     }
 
+    @Override
+    public List<Genre> getByIds(Collection<Long> ids) {
+        return selectByIds("Error retrieving " + ids.size() + " Genres by ID", ids, IGenreMapper::getByIds);
+    }
+
+    @Override
+    public List<Genre> findByMovie(Long movieId) {
+        return select("Error retrieving Genres of movie " + movieId, mapper -> mapper.findByMovie(movieId));
+    }
+
     @Override
     protected Long getEntityId(Genre entity) {
         return entity.getGenreId();
@@ -7,6 +7,9 @@ import org.solvd.recommendation.mapper.IMovieGenresMapper;
 import org.solvd.recommendation.model.MovieGenres;
 import org.solvd.recommendation.util.CompositeKey2;
 
+import java.sql.SQLException;
+import java.util.List;
+
 
 public class MovieGenresMyBatisDAO extends AbstractMyBatisDAO<MovieGenres, CompositeKey2<Long, Long>, IMovieGenresMapper> implements IMovieGenresDAO {
 
@@ -21,7 +24,7 @@ public class MovieGenresMyBatisDAO extends AbstractMyBatisDAO<MovieGenres, Compo
 
     @Override
     public MovieGenres get(CompositeKey2<Long, Long> id) {
-        try (SqlSession session = sqlSessionFactory.openSession()) {
+        try (SqlSession session = openSession()) {
             IMovieGenresMapper mapper = session.getMapper(getMapperClass());
             MovieGenres entity = mapper.get(id.getKey1(), id.getKey2());
 
@@ -39,7 +42,7 @@ public class MovieGenresMyBatisDAO extends AbstractMyBatisDAO<MovieGenres, Compo
 
     @Override
     public CompositeKey2<Long, Long> save(MovieGenres entity) {
-        try (SqlSession session = sqlSessionFactory.openSession()) {
+        try (SqlSession session = openSession()) {
             try {
                 IMovieGenresMapper mapper = session.getMapper(getMapperClass());
                 mapper.save(entity);
@@ -56,7 +59,7 @@ public class MovieGenresMyBatisDAO extends AbstractMyBatisDAO<MovieGenres, Compo
 
     @Override
     public void update(MovieGenres entity) {
-        try (SqlSession session = sqlSessionFactory.openSession()) {
+        try (SqlSession session = openSession()) {
             try {
                 IMovieGenresMapper mapper = session.getMapper(getMapperClass());
                 mapper.update(entity);
@@ -72,7 +75,7 @@ public class MovieGenresMyBatisDAO extends AbstractMyBatisDAO<MovieGenres, Compo
 
     @Override
     public void delete(MovieGenres entity) {
-        try (SqlSession session = sqlSessionFactory.openSession()) {
+        try (SqlSession session = openSession()) {
             try {
                 IMovieGenresMapper mapper = session.getMapper(getMapperClass());
                 CompositeKey2<Long, Long> id = createCompositeKey(entity);
@@ -94,6 +97,18 @@ public class MovieGenresMyBatisDAO extends AbstractMyBatisDAO<MovieGenres, Compo
         }
     }
 
+    @Override
+    public List<MovieGenres> findByMovie(Long movieId) {
+        return select("Error retrieving MovieGenre entries for movie " + movieId,
+                mapper -> mapper.findByMovie(movieId));
+    }
+
+    @Override
+    public List<MovieGenres> findByGenre(Long genreId) {
+        return select("Error retrieving MovieGenre entries for genre " + genreId,
+                mapper -> mapper.findByGenre(genreId));
+    }
+
     private CompositeKey2<Long, Long> createCompositeKey(MovieGenres entity) {
         if (entity == null || entity.getMovieId() == null || entity.getGenreId() == null) {
             throw new IllegalArgumentException("MovieGenre has incomplete key values");
@@ -101,6 +116,11 @@ public class MovieGenresMyBatisDAO extends AbstractMyBatisDAO<MovieGenres, Compo
         return new CompositeKey2<>(entity.getMovieId(), entity.getGenreId());
     }
 
+    @Override
+    protected void deleteRow(IMovieGenresMapper mapper, MovieGenres entity) throws SQLException {
+        mapper.delete(entity.getMovieId(), entity.getGenreId());
+    }
+
     @Override
     protected Long getEntityId(MovieGenres entity) {
         throw new UnsupportedOperationException("MovieGenre uses composite key");
@@ -1,14 +1,15 @@
 package org.solvd.recommendation.dao.mybatis;
 
-import org.apache.ibatis.session.SqlSession;
 import org.solvd.recommendation.dao.IMovieDAO;
 import org.solvd.recommendation.mapper.IMovieMapper;
 import org.solvd.recommendation.model.Movie;
+import org.solvd.recommendation.model.MovieDetails;
 
-import java.sql.SQLException;
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
-
-
+import java.util.Map;
 
 public class MovieMyBatisDAO extends AbstractMyBatisDAO<Movie, Long, IMovieMapper> implements IMovieDAO {
 
@@ -21,6 +22,57 @@ public class MovieMyBatisDAO extends AbstractMyBatisDAO<Movie, Long, IMovieMappe
         return IMovieMapper.class;
     }
 
+    @Override
+    public List<Movie> getPage(Long afterId, Long maxId, int pageSize) {
+        return select("Error retrieving Movie page after ID " + afterId,
+                mapper -> mapper.getPage(afterId, maxId, pageSize));
+    }
+
+    @Override
+    public Long getMinId() {
+        return select("Error retrieving minimum Movie ID", IMovieMapper::getMinId);
+    }
+
+    @Override
+    public Long getMaxId() {
+        return select("Error retrieving maximum Movie ID", IMovieMapper::getMaxId);
+    }
+
+    @Override
+    public List<Movie> getByIds(Collection<Long> ids) {
+        return selectByIds("Error retrieving " + ids.size() + " Movies by ID", ids, IMovieMapper::getByIds);
+    }
+
+    @Override
+    public List<Movie> findByGenre(Long genreId) {
+        return select("Error retrieving Movies of genre " + genreId, mapper -> mapper.findByGenre(genreId));
+    }
+
+    @Override
+    public List<Movie> findByPerson(Long personId, Long roleId) {
+        return select("Error retrieving Movies of person " + personId,
+                mapper -> mapper.findByPerson(personId, roleId));
+    }
+
+    @Override
+    public List<MovieDetails> getDetailsByIds(Collection<Long> movieIds) {
+        // The IN-clause chunks are ordered by first occurrence, not by ID
+        List<MovieDetails> details = selectByIds("Error retrieving details of " + movieIds.size() + " Movies",
+                movieIds, IMovieMapper::getDetailsByIds);
+        details.sort(Comparator.comparing(MovieDetails::getMovieId));
+        return details;
+    }
+
+    @Override
+    public void updateAverageRatings(Map<Long, BigDecimal> averageRatings) {
+        List<Movie> movies = averageRatings.entrySet().stream()
+                .map(entry -> Movie.builder().movieId(entry.getKey()).averageRating(entry.getValue()).build())
+                .toList();
+        executeBatch("updating average ratings of", movies,
+                (mapper, movie) -> mapper.updateAverageRating(movie.getMovieId(), movie.getAverageRating()),
+                chunk -> { });
+    }
+
     @Override
     protected Long getEntityId(Movie entity) {
         return entity.getMovieId();
@@ -5,6 +5,9 @@ import org.solvd.recommendation.dao.IPersonDAO;
 import org.solvd.recommendation.mapper.IPersonMapper;
 import org.solvd.recommendation.model.Person;
 
+import java.util.Collection;
+import java.util.List;
+
 public class PersonMyBatisDAO extends AbstractMyBatisDAO<Person, Long, IPersonMapper> implements IPersonDAO {
 
     public PersonMyBatisDAO() {
@@ -16,6 +19,17 @@ public class PersonMyBatisDAO extends AbstractMyBatisDAO<Person, Long, IPersonMa
         return IPersonMapper.class;
     }
 
+    @Override
+    public List<Person> getByIds(Collection<Long> ids) {
+        return selectByIds("Error retrieving " + ids.size() + " Persons by ID", ids, IPersonMapper::getByIds);
+    }
+
+    @Override
+    public List<Person> findByMovie(Long movieId, Long roleId) {
+        return select("Error retrieving contributors of movie " + movieId,
+                mapper -> mapper.findByMovie(movieId, roleId));
+    }
+
     @Override
     protected Long getEntityId(Person entity) {
         return entity.getPersonId();
@@ -8,6 +8,9 @@ import org.solvd.recommendation.mapper.IUserInteractionMapper;
 import org.solvd.recommendation.model.UserInteraction;
 import org.solvd.recommendation.util.CompositeKey3;
 
+import java.sql.SQLException;
+import java.util.List;
+
 public class UserInteractionsMyBatisDAO
         extends AbstractMyBatisDAO<UserInteraction, CompositeKey3<Long, Long, Long>, IUserInteractionMapper>
         implements IUserInteractionDAO {
@@ -23,7 +26,7 @@ public class UserInteractionsMyBatisDAO
 
     @Override
     public UserInteraction get(CompositeKey3<Long, Long, Long> id) {
-        try (SqlSession session = sqlSessionFactory.openSession()) {
+        try (SqlSession session = openSession()) {
             IUserInteractionMapper mapper = session.getMapper(getMapperClass());
             UserInteraction entity = mapper.get(id.getKey1(), id.getKey2(), id.getKey3());
 
@@ -41,7 +44,7 @@ public class UserInteractionsMyBatisDAO
 
     @Override
     public CompositeKey3<Long, Long, Long> save(UserInteraction entity) {
-        try (SqlSession session = sqlSessionFactory.openSession()) {
+        try (SqlSession session = openSession()) {
             try {
                 IUserInteractionMapper mapper = session.getMapper(getMapperClass());
                 mapper.save(entity);
@@ -58,7 +61,7 @@ public class UserInteractionsMyBatisDAO
 
     @Override
     public void update(UserInteraction entity) {
-        try (SqlSession session = sqlSessionFactory.openSession()) {
+        try (SqlSession session = openSession()) {
             try {
                 IUserInteractionMapper mapper = session.getMapper(getMapperClass());
                 mapper.update(entity);
@@ -74,7 +77,7 @@ public class UserInteractionsMyBatisDAO
 
     @Override
     public void delete(UserInteraction entity) {
-        try (SqlSession session = sqlSessionFactory.openSession()) {
+        try (SqlSession session = openSession()) {
             try {
                 IUserInteractionMapper mapper = session.getMapper(getMapperClass());
                 CompositeKey3<Long, Long, Long> id = createCompositeKey(entity);
@@ -96,6 +99,18 @@ public class UserInteractionsMyBatisDAO
         }
     }
 
+    @Override
+    public List<UserInteraction> findByUser(Long userId) {
+        return select("Error retrieving UserInteraction entries for user " + userId,
+                mapper -> mapper.findByUser(userId));
+    }
+
+    @Override
+    public List<UserInteraction> findByMovie(Long movieId) {
+        return select("Error retrieving UserInteraction entries for movie " + movieId,
+                mapper -> mapper.findByMovie(movieId));
+    }
+
     private CompositeKey3<Long, Long, Long> createCompositeKey(UserInteraction entity) {
         if (entity == null || entity.getUserId() == null || entity.getMovieId() == null || entity.getInteractionsId() == null) {
             throw new IllegalArgumentException("UserInteraction has incomplete key values");
@@ -103,6 +118,11 @@ public class UserInteractionsMyBatisDAO
         return new CompositeKey3<>(entity.getUserId(), entity.getMovieId(), entity.getInteractionsId());
     }
 
+    @Override
+    protected void deleteRow(IUserInteractionMapper mapper, UserInteraction entity) throws SQLException {
+        mapper.delete(entity.getMovieId(), entity.getUserId(), entity.getInteractionsId());
+    }
+
     @Override
     protected Long getEntityId(UserInteraction entity) {
         throw new UnsupportedOperationException("UserInteraction uses composite key");
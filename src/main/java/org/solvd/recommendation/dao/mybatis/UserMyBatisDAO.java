@@ -1,9 +1,13 @@
 package org.solvd.recommendation.dao.mybatis;
 
 import org.solvd.recommendation.dao.IUserDAO;
+import org.solvd.recommendation.exeption.EntityNotFoundException;
 import org.solvd.recommendation.mapper.IUserMapper;
 import org.solvd.recommendation.model.User;
 
+import java.util.Collection;
+import java.util.List;
+
 public class UserMyBatisDAO extends AbstractMyBatisDAO<User, Long, IUserMapper> implements IUserDAO {
 
     public UserMyBatisDAO() {
@@ -15,6 +19,43 @@ public class UserMyBatisDAO extends AbstractMyBatisDAO<User, Long, IUserMapper>
         return IUserMapper.class;
     }
 
+    @Override
+    public User getByUsername(String username) {
+        User user = select("Error retrieving User with username: " + username,
+                mapper -> mapper.getByUsername(username));
+        if (user == null) {
+            throw new EntityNotFoundException(User.class, "username " + username);
+        }
+        return user;
+    }
+
+    @Override
+    public List<User> getByIds(Collection<Long> ids) {
+        return selectByIds("Error retrieving " + ids.size() + " Users by ID", ids, IUserMapper::getByIds);
+    }
+
+    @Override
+    public List<User> findByWatchedMovie(Long movieId) {
+        return select("Error retrieving Users who watched movie " + movieId,
+                mapper -> mapper.findByWatchedMovie(movieId));
+    }
+
+    @Override
+    public List<User> getPage(Long afterId, Long maxId, int pageSize) {
+        return select("Error retrieving User page after ID " + afterId,
+                mapper -> mapper.getPage(afterId, maxId, pageSize));
+    }
+
+    @Override
+    public Long getMinId() {
+        return select("Error retrieving minimum User ID", IUserMapper::getMinId);
+    }
+
+    @Override
+    public Long getMaxId() {
+        return select("Error retrieving maximum User ID", IUserMapper::getMaxId);
+    }
+
     @Override
     protected Long getEntityId(User entity) {
         return entity.getUserId();
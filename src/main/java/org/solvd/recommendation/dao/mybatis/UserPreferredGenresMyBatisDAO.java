@@ -8,6 +8,9 @@ import org.solvd.recommendation.mapper.IUserPreferredGenreMapper;
 import org.solvd.recommendation.model.UserPreferredGenre;
 import org.solvd.recommendation.util.CompositeKey2;
 
+import java.sql.SQLException;
+import java.util.List;
+
 public class UserPreferredGenresMyBatisDAO
         extends AbstractMyBatisDAO<UserPreferredGenre, CompositeKey2<Long, Long>, IUserPreferredGenreMapper>
         implements IUserPreferredGenreDAO {
@@ -23,7 +26,7 @@ public class UserPreferredGenresMyBatisDAO
 
     @Override
     public UserPreferredGenre get(CompositeKey2<Long, Long> id) {
-        try (SqlSession session = sqlSessionFactory.openSession()) {
+        try (SqlSession session = openSession()) {
             IUserPreferredGenreMapper mapper = session.getMapper(getMapperClass());
             UserPreferredGenre entity = mapper.get(id.getKey1(), id.getKey2());
 
@@ -41,7 +44,7 @@ public class UserPreferredGenresMyBatisDAO
 
     @Override
     public CompositeKey2<Long, Long> save(UserPreferredGenre entity) {
-        try (SqlSession session = sqlSessionFactory.openSession()) {
+        try (SqlSession session = openSession()) {
             try {
                 IUserPreferredGenreMapper mapper = session.getMapper(getMapperClass());
                 mapper.save(entity);
@@ -58,7 +61,7 @@ public class UserPreferredGenresMyBatisDAO
 
     @Override
     public void update(UserPreferredGenre entity) {
-        try (SqlSession session = sqlSessionFactory.openSession()) {
+        try (SqlSession session = openSession()) {
             try {
                 IUserPreferredGenreMapper mapper = session.getMapper(getMapperClass());
                 mapper.update(entity);
@@ -74,7 +77,7 @@ public class UserPreferredGenresMyBatisDAO
 
     @Override
     public void delete(UserPreferredGenre entity) {
-        try (SqlSession session = sqlSessionFactory.openSession()) {
+        try (SqlSession session = openSession()) {
             try {
                 IUserPreferredGenreMapper mapper = session.getMapper(getMapperClass());
                 CompositeKey2<Long, Long> id = createCompositeKey(entity);
@@ -96,6 +99,12 @@ public class UserPreferredGenresMyBatisDAO
         }
     }
 
+    @Override
+    public List<UserPreferredGenre> findByUser(Long userId) {
+        return select("Error retrieving UserPreferredGenre entries for user " + userId,
+                mapper -> mapper.findByUser(userId));
+    }
+
     private CompositeKey2<Long, Long> createCompositeKey(UserPreferredGenre entity) {
         if (entity == null || entity.getUserId() == null || entity.getGenreId() == null) {
             throw new IllegalArgumentException("UserPreferredGenre has incomplete key values");
@@ -103,6 +112,11 @@ public class UserPreferredGenresMyBatisDAO
         return new CompositeKey2<>(entity.getUserId(), entity.getGenreId());
     }
 
+    @Override
+    protected void deleteRow(IUserPreferredGenreMapper mapper, UserPreferredGenre entity) throws SQLException {
+        mapper.delete(entity.getGenreId(), entity.getUserId());
+    }
+
     @Override
     protected Long getEntityId(UserPreferredGenre entity) {
         throw new UnsupportedOperationException("UserPreferredGenre uses composite key");
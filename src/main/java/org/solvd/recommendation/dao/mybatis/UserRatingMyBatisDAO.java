@@ -7,13 +7,20 @@ import org.solvd.recommendation.exeption.*;
 import org.solvd.recommendation.mapper.IUserPreferredGenreMapper;
 import org.solvd.recommendation.mapper.IUserRatingMapper;
 import org.solvd.recommendation.model.UserPreferredGenre;
+import org.solvd.recommendation.model.MovieRatingAggregate;
 import org.solvd.recommendation.model.UserRating;
 import org.solvd.recommendation.util.CompositeKey2;
 
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
 public class UserRatingMyBatisDAO
         extends AbstractMyBatisDAO<UserRating, CompositeKey2<Long, Long>, IUserRatingMapper>
         implements IUserRatingDAO {
-
     public UserRatingMyBatisDAO() {
         super(UserRating.class);
     }
@@ -25,7 +32,7 @@ public class UserRatingMyBatisDAO
 
     @Override
     public UserRating get(CompositeKey2<Long, Long> id) {
-        try (SqlSession session = sqlSessionFactory.openSession()) {
+        try (SqlSession session = openSession()) {
             IUserRatingMapper mapper = session.getMapper(getMapperClass());
             UserRating entity = mapper.get(id.getKey1(), id.getKey2());
 
@@ -43,7 +50,7 @@ public class UserRatingMyBatisDAO
 
     @Override
     public CompositeKey2<Long, Long> save(UserRating entity) {
-        try (SqlSession session = sqlSessionFactory.openSession()) {
+        try (SqlSession session = openSession()) {
             try {
                 IUserRatingMapper mapper = session.getMapper(getMapperClass());
                 mapper.save(entity);
@@ -60,7 +67,7 @@ public class UserRatingMyBatisDAO
 
     @Override
     public void update(UserRating entity) {
-        try (SqlSession session = sqlSessionFactory.openSession()) {
+        try (SqlSession session = openSession()) {
             try {
                 IUserRatingMapper mapper = session.getMapper(getMapperClass());
                 mapper.update(entity);
@@ -76,7 +83,7 @@ public class UserRatingMyBatisDAO
 
     @Override
     public void delete(UserRating entity) {
-        try (SqlSession session = sqlSessionFactory.openSession()) {
+        try (SqlSession session = openSession()) {
             try {
                 IUserRatingMapper mapper = session.getMapper(getMapperClass());
                 CompositeKey2<Long, Long> id = createCompositeKey(entity);
@@ -98,6 +105,77 @@ public class UserRatingMyBatisDAO
         }
     }
 
+    @Override
+    public void upsert(UserRating entity) {
+        try (SqlSession session = openSession()) {
+            try {
+                session.getMapper(getMapperClass()).upsert(entity);
+                session.commit();
+            } catch (Exception e) {
+                session.rollback();
+                throw e;
+            }
+        } catch (Exception e) {
+            throw new DataAccessException("Error upserting UserRating", e);
+        }
+    }
+
+    @Override
+    public void upsertAll(Collection<UserRating> ratings, Consumer<List<UserRating>> chunkListener) {
+        executeBatch("upserting", ratings, IUserRatingMapper::upsert, chunkListener);
+    }
+
+    @Override
+    public List<UserRating> findByUser(Long userId) {
+        return select("Error retrieving UserRating entries for user " + userId,
+                mapper -> mapper.findByUser(userId));
+    }
+
+    @Override
+    public List<UserRating> findByMovie(Long movieId) {
+        return select("Error retrieving UserRating entries for movie " + movieId,
+                mapper -> mapper.findByMovie(movieId));
+    }
+
+    @Override
+    public UserRating findByUserAndMovie(Long userId, Long movieId) {
+        return select("Error retrieving UserRating of user " + userId + " for movie " + movieId,
+                mapper -> mapper.get(movieId, userId));
+    }
+
+    @Override
+    public List<MovieRatingAggregate> getMovieRatingAggregates() {
+        return select("Error aggregating UserRating entries", mapper -> mapper.getMovieRatingAggregates(null));
+    }
+
+    @Override
+    public List<MovieRatingAggregate> getMovieRatingAggregates(Collection<Long> movieIds) {
+        return selectByIds("Error aggregating UserRating entries for " + movieIds.size() + " movies",
+                movieIds, IUserRatingMapper::getMovieRatingAggregates);
+    }
+
+    @Override
+    public List<UserRating> findByUsersAndMovies(Collection<Long> userIds, Collection<Long> movieIds) {
+        if (userIds.isEmpty() || movieIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<List<Long>> userChunks = chunkIds(userIds);
+        List<List<Long>> movieChunks = chunkIds(movieIds);
+
+        return select("Error retrieving UserRating entries for " + userIds.size() + " users and "
+                        + movieIds.size() + " movies",
+                mapper -> {
+                    List<UserRating> result = new ArrayList<>();
+                    for (List<Long> users : userChunks) {
+                        for (List<Long> movies : movieChunks) {
+                            result.addAll(mapper.findByUsersAndMovies(users, movies));
+                        }
+                    }
+                    return result;
+                });
+    }
+
     private CompositeKey2<Long, Long> createCompositeKey(UserRating entity) {
         if (entity == null || entity.getUserId() == null || entity.getMovieId() == null) {
             throw new IllegalArgumentException("UserRating has incomplete key values");
@@ -105,6 +183,11 @@ public class UserRatingMyBatisDAO
         return new CompositeKey2<>(entity.getUserId(), entity.getMovieId());
     }
 
+    @Override
+    protected void deleteRow(IUserRatingMapper mapper, UserRating entity) throws SQLException {
+        mapper.delete(entity.getMovieId(), entity.getUserId());
+    }
+
     @Override
     protected Long getEntityId(UserRating entity) {
         throw new UnsupportedOperationException("UserRating uses composite key");
@@ -7,6 +7,9 @@ import org.solvd.recommendation.mapper.IViewingHistoryMapper;
 import org.solvd.recommendation.model.ViewingHistory;
 import org.solvd.recommendation.util.CompositeKey2;
 
+import java.sql.SQLException;
+import java.util.List;
+
 public class ViewingHistoryMyBatisDAO
         extends AbstractMyBatisDAO<ViewingHistory, CompositeKey2<Long, Long>, IViewingHistoryMapper>
         implements IViewingHistoryDAO {
@@ -22,7 +25,7 @@ public class ViewingHistoryMyBatisDAO
 
     @Override
     public ViewingHistory get(CompositeKey2<Long, Long> id) {
-        try (SqlSession session = sqlSessionFactory.openSession()) {
+        try (SqlSession session = openSession()) {
             IViewingHistoryMapper mapper = session.getMapper(getMapperClass());
             ViewingHistory entity = mapper.get(id.getKey1(), id.getKey2());
 
@@ -40,7 +43,7 @@ public class ViewingHistoryMyBatisDAO
 
     @Override
     public CompositeKey2<Long, Long> save(ViewingHistory entity) {
-        try (SqlSession session = sqlSessionFactory.openSession()) {
+        try (SqlSession session = openSession()) {
             try {
                 IViewingHistoryMapper mapper = session.getMapper(getMapperClass());
                 mapper.save(entity);
@@ -57,7 +60,7 @@ public class ViewingHistoryMyBatisDAO
 
     @Override
     public void update(ViewingHistory entity) {
-        try (SqlSession session = sqlSessionFactory.openSession()) {
+        try (SqlSession session = openSession()) {
             try {
                 IViewingHistoryMapper mapper = session.getMapper(getMapperClass());
                 mapper.update(entity);
@@ -73,7 +76,7 @@ public class ViewingHistoryMyBatisDAO
 
     @Override
     public void delete(ViewingHistory entity) {
-        try (SqlSession session = sqlSessionFactory.openSession()) {
+        try (SqlSession session = openSession()) {
             try {
                 IViewingHistoryMapper mapper = session.getMapper(getMapperClass());
                 CompositeKey2<Long, Long> id = createCompositeKey(entity);
@@ -95,6 +98,18 @@ public class ViewingHistoryMyBatisDAO
         }
     }
 
+    @Override
+    public List<ViewingHistory> findByUser(Long userId) {
+        return select("Error retrieving ViewingHistory entries for user " + userId,
+                mapper -> mapper.findByUser(userId));
+    }
+
+    @Override
+    public List<ViewingHistory> findByMovie(Long movieId) {
+        return select("Error retrieving ViewingHistory entries for movie " + movieId,
+                mapper -> mapper.findByMovie(movieId));
+    }
+
     private CompositeKey2<Long, Long> createCompositeKey(ViewingHistory entity) {
         if (entity == null || entity.getUserId() == null || entity.getMovieId() == null) {
             throw new IllegalArgumentException("ViewingHistory has incomplete key values");
@@ -102,6 +117,11 @@ public class ViewingHistoryMyBatisDAO
         return new CompositeKey2<>(entity.getUserId(), entity.getMovieId());
     }
 
+    @Override
+    protected void deleteRow(IViewingHistoryMapper mapper, ViewingHistory entity) throws SQLException {
+        mapper.delete(entity.getMovieId(), entity.getUserId());
+    }
+
     @Override
     protected Long getEntityId(ViewingHistory entity) {
         throw new UnsupportedOperationException("ViewingHistory uses composite key");
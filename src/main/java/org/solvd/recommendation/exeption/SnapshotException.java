@@ -0,0 +1,12 @@
+package org.solvd.recommendation.exeption;
+
+public class SnapshotException extends DataAccessException {
+
+    public SnapshotException(String message) {
+        super(message);
+    }
+
+    public SnapshotException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -5,6 +5,7 @@ import org.apache.ibatis.annotations.Param;
 import org.solvd.recommendation.model.ContentContributor;
 
 import java.sql.SQLException;
+import java.util.List;
 
 @Mapper
 public interface IContentContributorMapper extends IMapper<ContentContributor> {
@@ -12,4 +13,7 @@ public interface IContentContributorMapper extends IMapper<ContentContributor> {
     boolean delete(@Param("movieId") long movieId, @Param("personId") long personId, @Param("personRole") long personRole) throws SQLException;
 
     boolean update(@Param("movieId") long movieId, @Param("personId") long personId, @Param("personRole") long personRole) throws SQLException;
+
+    List<ContentContributor> findByMovie(@Param("movieId") long movieId) throws SQLException;
+    List<ContentContributor> findByPerson(@Param("personId") long personId) throws SQLException;
 }
@@ -1,8 +1,13 @@
 package org.solvd.recommendation.mapper;
 
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 import org.solvd.recommendation.model.Genre;
 
+import java.sql.SQLException;
+import java.util.List;
+
 @Mapper
-public interface IGenreMapper extends IMapper<Genre> {
+public interface IGenreMapper extends IMultiGetMapper<Genre> {
+    List<Genre> findByMovie(@Param("movieId") long movieId) throws SQLException;
 }
@@ -1,6 +1,7 @@
 package org.solvd.recommendation.mapper;
 
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
 
 import java.sql.SQLException;
 import java.util.List;
@@ -11,4 +12,6 @@ public interface IMapper<T> {
     void update(T entity) throws SQLException;
     void delete(@Param("id") long id) throws SQLException;
     List<T> getAll() throws SQLException;
+    // Full-table scan over a streaming result set, rows are fetched as the cursor advances
+    Cursor<T> scanAll() throws SQLException;
 }
@@ -5,10 +5,13 @@ import org.apache.ibatis.annotations.Param;
 import org.solvd.recommendation.model.MovieGenres;
 
 import java.sql.SQLException;
+import java.util.List;
 
 @Mapper
 public interface IMovieGenresMapper extends IMapper<MovieGenres> {
     MovieGenres get(@Param("movieId") long movieId, @Param("genreId") long genreId) throws SQLException;
     boolean delete(@Param("movieId") long movieId,@Param("genreId") long genreId) throws SQLException;
 
+    List<MovieGenres> findByMovie(@Param("movieId") long movieId) throws SQLException;
+    List<MovieGenres> findByGenre(@Param("genreId") long genreId) throws SQLException;
 }
@@ -1,8 +1,29 @@
 package org.solvd.recommendation.mapper;
 
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 import org.solvd.recommendation.model.Movie;
+import org.solvd.recommendation.model.MovieDetails;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
 
 @Mapper
-public interface IMovieMapper extends IMapper<Movie> {
+public interface IMovieMapper extends IMultiGetMapper<Movie> {
+    List<Movie> getPage(@Param("afterId") Long afterId, @Param("maxId") Long maxId, @Param("limit") int limit) throws SQLException;
+
+    Long getMinId() throws SQLException;
+
+    Long getMaxId() throws SQLException;
+
+    List<Movie> findByGenre(@Param("genreId") long genreId) throws SQLException;
+
+    // A null roleId matches every role
+    List<Movie> findByPerson(@Param("personId") long personId, @Param("roleId") Long roleId) throws SQLException;
+
+    List<MovieDetails> getDetailsByIds(@Param("ids") Collection<Long> ids) throws SQLException;
+
+    void updateAverageRating(@Param("movieId") long movieId, @Param("averageRating") BigDecimal averageRating) throws SQLException;
 }
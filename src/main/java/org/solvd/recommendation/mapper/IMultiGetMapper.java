@@ -0,0 +1,11 @@
+package org.solvd.recommendation.mapper;
+
+import org.apache.ibatis.annotations.Param;
+
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
+
+public interface IMultiGetMapper<T> extends IMapper<T> {
+    List<T> getByIds(@Param("ids") Collection<Long> ids) throws SQLException;
+}
@@ -1,8 +1,14 @@
 package org.solvd.recommendation.mapper;
 
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 import org.solvd.recommendation.model.Person;
 
+import java.sql.SQLException;
+import java.util.List;
+
 @Mapper
-public interface IPersonMapper extends IMapper<Person> {
+public interface IPersonMapper extends IMultiGetMapper<Person> {
+    // A null roleId matches every role
+    List<Person> findByMovie(@Param("movieId") long movieId, @Param("roleId") Long roleId) throws SQLException;
 }
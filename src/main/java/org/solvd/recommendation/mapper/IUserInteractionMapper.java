@@ -5,10 +5,13 @@ import org.apache.ibatis.annotations.Param;
 import org.solvd.recommendation.model.UserInteraction;
 
 import java.sql.SQLException;
+import java.util.List;
 
 @Mapper
 public interface IUserInteractionMapper extends IMapper<UserInteraction> {
     UserInteraction get(@Param("movieId") long movieId,@Param("userId") long userId, @Param("interactionId") long interactionId) throws SQLException;
     boolean delete(@Param("movieId") long movieId,@Param("userId") long userId, @Param("interactionId") long interactionId) throws SQLException;
 
+    List<UserInteraction> findByUser(@Param("userId") long userId) throws SQLException;
+    List<UserInteraction> findByMovie(@Param("movieId") long movieId) throws SQLException;
 }
@@ -1,8 +1,21 @@
 package org.solvd.recommendation.mapper;
 
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 import org.solvd.recommendation.model.User;
 
+import java.sql.SQLException;
+import java.util.List;
+
 @Mapper
-public interface IUserMapper extends IMapper<User> {
+public interface IUserMapper extends IMultiGetMapper<User> {
+    User getByUsername(@Param("username") String username) throws SQLException;
+
+    List<User> getPage(@Param("afterId") Long afterId, @Param("maxId") Long maxId, @Param("limit") int limit) throws SQLException;
+
+    Long getMinId() throws SQLException;
+
+    Long getMaxId() throws SQLException;
+
+    List<User> findByWatchedMovie(@Param("movieId") long movieId) throws SQLException;
 }
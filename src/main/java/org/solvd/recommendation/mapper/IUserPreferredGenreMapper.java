@@ -5,9 +5,12 @@ import org.apache.ibatis.annotations.Param;
 import org.solvd.recommendation.model.UserPreferredGenre;
 
 import java.sql.SQLException;
+import java.util.List;
 
 @Mapper
 public interface IUserPreferredGenreMapper extends IMapper<UserPreferredGenre> {
     UserPreferredGenre get(@Param("genreId") long genreId,@Param("userId") long userId) throws SQLException;
     boolean delete(@Param("genreId") long genreId,@Param("userId") long userId) throws SQLException;
+
+    List<UserPreferredGenre> findByUser(@Param("userId") long userId) throws SQLException;
 }
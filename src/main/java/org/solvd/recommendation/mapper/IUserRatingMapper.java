@@ -2,12 +2,26 @@ package org.solvd.recommendation.mapper;
 
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.solvd.recommendation.model.MovieRatingAggregate;
 import org.solvd.recommendation.model.UserRating;
 
 import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
 
 @Mapper
 public interface IUserRatingMapper extends IMapper<UserRating> {
     UserRating get(@Param("movieId") long movieId,@Param("userId") long userId) throws SQLException;
     boolean delete(@Param("movieId") long movieId,@Param("userId") long userId) throws SQLException;
+
+    // Inserts the rating, or overwrites the value of an existing one
+    void upsert(UserRating rating) throws SQLException;
+
+    List<UserRating> findByUser(@Param("userId") long userId) throws SQLException;
+    List<UserRating> findByMovie(@Param("movieId") long movieId) throws SQLException;
+    List<UserRating> findByUsersAndMovies(@Param("userIds") Collection<Long> userIds,
+                                          @Param("movieIds") Collection<Long> movieIds) throws SQLException;
+
+    // Aggregates of the given movies, or of all rated movies when movieIds is null
+    List<MovieRatingAggregate> getMovieRatingAggregates(@Param("movieIds") Collection<Long> movieIds) throws SQLException;
 }
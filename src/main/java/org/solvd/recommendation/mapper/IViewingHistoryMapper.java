@@ -5,9 +5,13 @@ import org.apache.ibatis.annotations.Param;
 import org.solvd.recommendation.model.ViewingHistory;
 
 import java.sql.SQLException;
+import java.util.List;
 
 @Mapper
 public interface IViewingHistoryMapper extends IMapper<ViewingHistory> {
     ViewingHistory get(@Param("movieId") long movieId,@Param("userId") long userId) throws SQLException;
     boolean delete(@Param("movieId") long movieId,@Param("userId") long userId) throws SQLException;
+
+    List<ViewingHistory> findByUser(@Param("userId") long userId) throws SQLException;
+    List<ViewingHistory> findByMovie(@Param("movieId") long movieId) throws SQLException;
 }
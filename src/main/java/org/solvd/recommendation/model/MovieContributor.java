@@ -0,0 +1,17 @@
+package org.solvd.recommendation.model;
+
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * Person credited on a movie in one role.
+ */
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+@Data
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MovieContributor extends Person {
+    private Long personRoleId;
+}
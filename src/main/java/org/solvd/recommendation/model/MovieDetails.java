@@ -0,0 +1,19 @@
+package org.solvd.recommendation.model;
+
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Movie hydrated with its genres and contributors, loaded in one JOIN query.
+ */
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MovieDetails extends Movie {
+    private List<Genre> genres = new ArrayList<>();
+    private List<MovieContributor> contributors = new ArrayList<>();
+}
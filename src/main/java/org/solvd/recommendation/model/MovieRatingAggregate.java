@@ -0,0 +1,18 @@
+package org.solvd.recommendation.model;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Number and sum of the ratings of one movie, as computed by a GROUP BY over UserRating.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MovieRatingAggregate {
+    private Long movieId;
+    private Long ratingCount;
+    private BigDecimal ratingSum;
+}
@@ -0,0 +1,194 @@
+package org.solvd.recommendation.observer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.solvd.recommendation.model.UserRating;
+import org.solvd.recommendation.util.datasource.LatencyRecorder;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Delivers rating changes to another observer on background threads, so rating writes do not
+ * wait for the observer's work.
+ * <p>
+ * Changes are grouped per movie: the first change of a movie opens a batch that is delivered
+ * one coalescing window later, and every change of that movie arriving in the meantime joins it.
+ * A batch is always delivered as a single reload of the movie, never as the individual changes:
+ * a change committed while a reload is running also opens the next batch, so replaying it as a
+ * delta could count it twice, while a second reload is harmless. Each movie always maps to the
+ * same single-threaded lane, so its batches are delivered in order.
+ * <p>
+ * At most {@code capacity} changes are pending; further writers block until batches are
+ * delivered. {@link #close()} delivers everything still pending; on JVM shutdown
+ * {@link org.solvd.recommendation.service.ServiceFactory} closes the dispatcher before the
+ * aggregates it feeds are persisted for the last time.
+ */
+public class AsyncRatingChangedObserver implements IRatingChangedObserver, AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(AsyncRatingChangedObserver.class);
+    private static final int LAG_SAMPLES = 1024;
+    private static final long CLOSE_TIMEOUT_SECONDS = 30;
+
+    private final IRatingChangedObserver delegate;
+    private final long coalesceWindowNanos;
+    private final ScheduledThreadPoolExecutor[] lanes;
+    private final ConcurrentMap<Long, PendingBatch> pending = new ConcurrentHashMap<>();
+    private final Semaphore capacity;
+    private final LatencyRecorder dispatchLag = new LatencyRecorder(LAG_SAMPLES);
+    private final AtomicLong submittedChanges = new AtomicLong();
+    private final AtomicLong deliveredBatches = new AtomicLong();
+    private volatile boolean closed;
+
+    public AsyncRatingChangedObserver(IRatingChangedObserver delegate, int laneCount, int capacity,
+                                      long coalesceWindowMillis) {
+        if (laneCount <= 0 || capacity <= 0 || coalesceWindowMillis < 0) {
+            throw new IllegalArgumentException("Lane count and capacity must be positive, the window not negative");
+        }
+        this.delegate = delegate;
+        this.coalesceWindowNanos = TimeUnit.MILLISECONDS.toNanos(coalesceWindowMillis);
+        this.capacity = new Semaphore(capacity);
+
+        this.lanes = new ScheduledThreadPoolExecutor[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            String name = "rating-observer-" + i;
+            lanes[i] = new ScheduledThreadPoolExecutor(1, runnable -> {
+                Thread thread = new Thread(runnable, name);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    @Override
+    public void onRatingChanged(UserRating rating) {
+        if (rating == null) return;
+        submit(rating.getMovieId(), batch -> batch.reload(rating));
+    }
+
+    @Override
+    public void onRatingChanged(UserRating previous, UserRating current) {
+        onRatingChanged(current != null ? current : previous);
+    }
+
+    @Override
+    public void onRatingsChanged(List<UserRating> ratings) {
+        for (UserRating rating : ratings) {
+            onRatingChanged(rating);
+        }
+    }
+
+    @Override
+    public void onRatingsAdded(List<UserRating> ratings) {
+        onRatingsChanged(ratings);
+    }
+
+    @Override
+    public void onRatingChanges(List<RatingChange> changes) {
+        for (RatingChange change : changes) {
+            onRatingChanged(change.getPrevious(), change.getCurrent());
+        }
+    }
+
+    public RatingDispatchMetrics getMetrics() {
+        return new RatingDispatchMetrics(pending.size(), submittedChanges.get(), deliveredBatches.get(),
+                dispatchLag.percentiles(50, 95, 99, 100));
+    }
+
+    /**
+     * Delivers all pending batches and stops the lanes; later changes are delivered synchronously.
+     */
+    @Override
+    public void close() {
+        if (closed) return;
+        closed = true;
+
+        for (ScheduledThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+        try {
+            for (ScheduledThreadPoolExecutor lane : lanes) {
+                lane.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (Long movieId : pending.keySet()) {
+            dispatch(movieId);
+        }
+        logger.info("Rating observer dispatch stopped: {}", getMetrics());
+    }
+
+    private void submit(Long movieId, Consumer<PendingBatch> change) {
+        submittedChanges.incrementAndGet();
+        if (closed) {
+            PendingBatch batch = new PendingBatch();
+            change.accept(batch);
+            deliver(batch);
+            return;
+        }
+
+        capacity.acquireUninterruptibly();
+        boolean[] opened = new boolean[1];
+        pending.compute(movieId, (id, batch) -> {
+            if (batch == null) {
+                batch = new PendingBatch();
+                opened[0] = true;
+            }
+            change.accept(batch);
+            return batch;
+        });
+
+        // Exactly one delivery task per batch: the next batch of a movie opens only after its task took this one
+        if (opened[0]) {
+            try {
+                lanes[Math.floorMod(movieId.hashCode(), lanes.length)]
+                        .schedule(() -> dispatch(movieId), coalesceWindowNanos, TimeUnit.NANOSECONDS);
+            } catch (RejectedExecutionException e) {
+                dispatch(movieId);
+            }
+        }
+    }
+
+    private void dispatch(Long movieId) {
+        PendingBatch batch = pending.remove(movieId);
+        if (batch == null) return;
+
+        dispatchLag.record(System.nanoTime() - batch.openedNanos);
+        try {
+            deliver(batch);
+        } finally {
+            capacity.release(batch.changeCount);
+            deliveredBatches.incrementAndGet();
+        }
+    }
+
+    private void deliver(PendingBatch batch) {
+        try {
+            delegate.onRatingsChanged(List.of(batch.reload));
+        } catch (RuntimeException e) {
+            logger.error("Rating observer failed on a batch of {} changes", batch.changeCount, e);
+        }
+    }
+
+    /**
+     * Changes of one movie waiting for delivery; only mutated inside {@code pending.compute}.
+     */
+    private static final class PendingBatch {
+        private final long openedNanos = System.nanoTime();
+        // Latest changed rating of the movie, delivered as the reload
+        private UserRating reload;
+        private int changeCount;
+
+        private void reload(UserRating rating) {
+            changeCount++;
+            reload = rating;
+        }
+    }
+}
@@ -2,7 +2,33 @@ package org.solvd.recommendation.observer;
 
 import org.solvd.recommendation.model.UserRating;
 
+import java.util.List;
+
 // Observer interface
 public interface IRatingChangedObserver {
     void onRatingChanged(UserRating rating);
-}
\ No newline at end of file
+
+    // previous is null for a new rating, current is null for a deleted one
+    default void onRatingChanged(UserRating previous, UserRating current) {
+        onRatingChanged(current != null ? current : previous);
+    }
+
+    // Called once per committed chunk of a bulk write; the previous values are not known
+    default void onRatingsChanged(List<UserRating> ratings) {
+        for (UserRating rating : ratings) {
+            onRatingChanged(rating);
+        }
+    }
+
+    // Changes of one movie in commit order, delivered in one call by AsyncRatingChangedObserver
+    default void onRatingChanges(List<RatingChange> changes) {
+        for (RatingChange change : changes) {
+            onRatingChanged(change.getPrevious(), change.getCurrent());
+        }
+    }
+
+    // Called once per committed chunk of a bulk insert of new ratings
+    default void onRatingsAdded(List<UserRating> ratings) {
+        onRatingsChanged(ratings);
+    }
+}
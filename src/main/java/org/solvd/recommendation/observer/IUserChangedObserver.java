@@ -0,0 +1,8 @@
+package org.solvd.recommendation.observer;
+
+import org.solvd.recommendation.model.User;
+
+// Observer interface for user updates and deletions
+public interface IUserChangedObserver {
+    void onUserChanged(User user);
+}
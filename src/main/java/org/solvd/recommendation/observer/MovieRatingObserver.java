@@ -1,37 +1,32 @@
 package org.solvd.recommendation.observer;
 
-import org.solvd.recommendation.model.Movie;
 import org.solvd.recommendation.model.UserRating;
-import org.solvd.recommendation.service.IMovieService;
-import org.solvd.recommendation.service.IUserRatingService;
-import org.solvd.recommendation.service.ServiceFactory;
+import org.solvd.recommendation.service.MovieRatingAggregates;
 
-import java.math.BigDecimal;
+import java.util.List;
 
-// Implementation of observer that updates movie average ratings
+// Implementation of observer that keeps movie average ratings up to date by reloading the changed movies
 public class MovieRatingObserver implements IRatingChangedObserver {
-    private final IMovieService movieService;
+    private final MovieRatingAggregates ratingAggregates;
 
-    public MovieRatingObserver(IMovieService movieService) {
-        this.movieService = movieService;
+    public MovieRatingObserver(MovieRatingAggregates ratingAggregates) {
+        this.ratingAggregates = ratingAggregates;
     }
 
     @Override
     public void onRatingChanged(UserRating rating) {
         if (rating == null) return;
+        ratingAggregates.recompute(List.of(rating.getMovieId()));
+    }
 
-        // Get the movie
-        Long movieId = rating.getMovieId();
-        Movie movie = movieService.getById(movieId);
-        if (movie == null) return;
-
-        // Get new average rating
-        ServiceFactory serviceFactory = ServiceFactory.getInstance();
-        IUserRatingService ratingService = serviceFactory.getUserRatingService();
-        double avgRating = ratingService.getAverageRating(movieId);
+    @Override
+    public void onRatingsChanged(List<UserRating> ratings) {
+        // A chunk usually holds many ratings per movie, reload each movie once
+        ratingAggregates.recompute(ratings.stream().map(UserRating::getMovieId).toList());
+    }
 
-        // Update movie's average rating
-        movie.setAverageRating(BigDecimal.valueOf(avgRating));
-        movieService.update(movie);
+    @Override
+    public void onRatingChanges(List<RatingChange> changes) {
+        ratingAggregates.recompute(changes.stream().map(RatingChange::getMovieId).toList());
     }
 }
@@ -0,0 +1,36 @@
+package org.solvd.recommendation.observer;
+
+import org.solvd.recommendation.model.UserRating;
+
+/**
+ * One user's rating of a movie before and after a write.
+ * {@code previous} is null for a new rating, {@code current} is null for a deleted one.
+ */
+public final class RatingChange {
+    private final UserRating previous;
+    private final UserRating current;
+
+    public RatingChange(UserRating previous, UserRating current) {
+        if (previous == null && current == null) {
+            throw new IllegalArgumentException("A rating change needs a previous or a current rating");
+        }
+        this.previous = previous;
+        this.current = current;
+    }
+
+    public UserRating getPrevious() {
+        return previous;
+    }
+
+    public UserRating getCurrent() {
+        return current;
+    }
+
+    public Long getMovieId() {
+        return current != null ? current.getMovieId() : previous.getMovieId();
+    }
+
+    public Long getUserId() {
+        return current != null ? current.getUserId() : previous.getUserId();
+    }
+}
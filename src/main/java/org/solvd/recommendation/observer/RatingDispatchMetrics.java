@@ -0,0 +1,69 @@
+package org.solvd.recommendation.observer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point-in-time view of an asynchronous rating observer.
+ * Lag is the time from the first change of a batch to its delivery, in microseconds.
+ */
+public final class RatingDispatchMetrics {
+    private final int pendingMovies;
+    private final long submittedChanges;
+    private final long deliveredBatches;
+    private final long p50LagMicros;
+    private final long p95LagMicros;
+    private final long p99LagMicros;
+    private final long maxLagMicros;
+
+    public RatingDispatchMetrics(int pendingMovies, long submittedChanges, long deliveredBatches,
+                                 long[] lagNanosPercentiles) {
+        this.pendingMovies = pendingMovies;
+        this.submittedChanges = submittedChanges;
+        this.deliveredBatches = deliveredBatches;
+        this.p50LagMicros = TimeUnit.NANOSECONDS.toMicros(lagNanosPercentiles[0]);
+        this.p95LagMicros = TimeUnit.NANOSECONDS.toMicros(lagNanosPercentiles[1]);
+        this.p99LagMicros = TimeUnit.NANOSECONDS.toMicros(lagNanosPercentiles[2]);
+        this.maxLagMicros = TimeUnit.NANOSECONDS.toMicros(lagNanosPercentiles[3]);
+    }
+
+    public int getPendingMovies() {
+        return pendingMovies;
+    }
+
+    public long getSubmittedChanges() {
+        return submittedChanges;
+    }
+
+    public long getDeliveredBatches() {
+        return deliveredBatches;
+    }
+
+    public long getP50LagMicros() {
+        return p50LagMicros;
+    }
+
+    public long getP95LagMicros() {
+        return p95LagMicros;
+    }
+
+    public long getP99LagMicros() {
+        return p99LagMicros;
+    }
+
+    public long getMaxLagMicros() {
+        return maxLagMicros;
+    }
+
+    @Override
+    public String toString() {
+        return "RatingDispatchMetrics{" +
+                "pendingMovies=" + pendingMovies +
+                ", submittedChanges=" + submittedChanges +
+                ", deliveredBatches=" + deliveredBatches +
+                ", p50LagMicros=" + p50LagMicros +
+                ", p95LagMicros=" + p95LagMicros +
+                ", p99LagMicros=" + p99LagMicros +
+                ", maxLagMicros=" + maxLagMicros +
+                '}';
+    }
+}
@@ -3,7 +3,14 @@ package org.solvd.recommendation.service;
 
 import org.solvd.recommendation.model.Genre;
 
+import java.util.Collection;
+import java.util.List;
+
 public interface IGenreService extends IService<Genre, Long> {
+    List<Genre> getByIds(Collection<Long> genreIds);
+
+    List<Genre> getByMovie(Long movieId);
+
     void addGenreToMovie(Long movieId, Long genreId);
 
     void removeGenreFromMovie(Long movieId, Long genreId);
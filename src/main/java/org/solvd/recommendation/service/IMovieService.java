@@ -2,14 +2,25 @@ package org.solvd.recommendation.service;
 
 import org.solvd.recommendation.model.Genre;
 import org.solvd.recommendation.model.Movie;
+import org.solvd.recommendation.model.MovieDetails;
 import org.solvd.recommendation.model.Person;
 
+import java.util.Collection;
 import java.util.List;
 
-public interface IMovieService extends IService<Movie, Long> {
+public interface IMovieService extends IPagedService<Movie> {
+    List<Movie> getByIds(Collection<Long> movieIds);
+
+    // Movie with its genres and contributors, or null for an unknown ID
+    MovieDetails getMovieDetails(Long movieId);
+
+    List<MovieDetails> getMovieDetails(Collection<Long> movieIds);
+
     List<Genre> getMovieGenres(Long movieId);
 
     List<Person> getMovieContributors(Long movieId, Integer roleId);
 
     List<Movie> getMoviesByGenre(Long genreId);
+
+    List<Movie> getMoviesByPerson(Long personId, Integer roleId);
 }
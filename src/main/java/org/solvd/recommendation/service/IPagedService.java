@@ -0,0 +1,19 @@
+package org.solvd.recommendation.service;
+
+import org.solvd.recommendation.util.IdRange;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface IPagedService<T> extends IService<T, Long> {
+    // Next page in ID order after afterId; a null afterId returns the first page
+    List<T> getPage(Long afterId, int pageSize);
+
+    List<T> getPage(Long afterId, Long maxId, int pageSize);
+
+    // Splits the table's current ID span into at most the given number of ranges
+    List<IdRange> splitIdRange(int parts);
+
+    // Walks the whole table in pages on the given number of worker threads
+    void forEachPage(int pageSize, int parallelism, Consumer<List<T>> pageConsumer);
+}
@@ -7,4 +7,6 @@ import java.util.List;
 
 public interface IPersonService extends IService<Person, Long> {
     List<Movie> getMoviesByPerson(Long personId, Integer roleId);
+
+    List<Person> getByMovie(Long movieId, Integer roleId);
 }
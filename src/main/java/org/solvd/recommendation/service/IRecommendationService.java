@@ -11,6 +11,10 @@ public interface IRecommendationService {
 
     List<Movie> getCollaborativeFilteringRecommendations(Long userId, int limit);
 
+    List<Movie> getItemBasedRecommendations(Long userId, int limit);
+
+    List<Movie> getMatrixFactorizationRecommendations(Long userId, int limit);
+
     List<Movie> getContentBasedRecommendations(Long userId, int limit);
 
 }
@@ -1,6 +1,8 @@
 package org.solvd.recommendation.service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface IService<T, ID> {
     T getById(ID id);
@@ -12,4 +14,13 @@ public interface IService<T, ID> {
     void delete(T entity);
 
     List<T> getAll();
+
+    // Must be closed after use, see IDAO#stream()
+    Stream<T> stream();
+
+    void createAll(Collection<T> entities);
+
+    void updateAll(Collection<T> entities);
+
+    void deleteAll(Collection<T> entities);
 }
@@ -4,13 +4,17 @@ import org.solvd.recommendation.model.User;
 import org.solvd.recommendation.model.UserRating;
 import org.solvd.recommendation.util.CompositeKey2;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface IUserRatingService extends IService<UserRating, CompositeKey2<Long, Long>> {
     UserRating getRating(Long userId, Long movieId);
 
+    // Creates the rating or replaces the value of the user's existing rating of the movie
     void saveRating(UserRating rating);
 
+    void saveRatings(Collection<UserRating> ratings);
+
     void updateRating(UserRating rating);
 
     void deleteRating(UserRating rating);
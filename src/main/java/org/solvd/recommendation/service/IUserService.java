@@ -2,9 +2,22 @@ package org.solvd.recommendation.service;
 
 import org.solvd.recommendation.model.Genre;
 import org.solvd.recommendation.model.User;
+import org.solvd.recommendation.observer.IUserChangedObserver;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 
-public interface IUserService extends IService<User, Long> {
+public interface IUserService extends IPagedService<User> {
     Set<Genre> getUserPreferredGenres(Long userId);
+
+    User getByUsername(String username);
+
+    List<User> getByIds(Collection<Long> userIds);
+
+    List<User> getUsersWhoWatched(Long movieId);
+
+    void addObserver(IUserChangedObserver observer);
+
+    void removeObserver(IUserChangedObserver observer);
 }
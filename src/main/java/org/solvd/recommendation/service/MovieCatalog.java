@@ -0,0 +1,122 @@
+package org.solvd.recommendation.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.solvd.recommendation.dao.IMovieDAO;
+import org.solvd.recommendation.model.Movie;
+import org.solvd.recommendation.util.MovieColumns;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * In-memory columnar copy of the Movie table used to enumerate recommendation candidates.
+ * <p>
+ * Readers get the current immutable {@link MovieColumns} with a single volatile read and never
+ * load the table. A background thread loads the table at startup; writes through the movie service
+ * call {@link #invalidate()}, which schedules one reload after the reload delay, so a burst of
+ * inserts costs one reload instead of one per row. Until it has finished, readers keep getting the
+ * previous columns, and the new columns are published atomically. Persisted average ratings are
+ * applied in place by {@link #averageRatingsChanged(Map)}, which copies only the rating column.
+ */
+public class MovieCatalog implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(MovieCatalog.class);
+
+    private final IMovieDAO movieDAO;
+    private final long reloadDelayMillis;
+    private final ScheduledExecutorService refresher;
+    private final AtomicBoolean reloadScheduled = new AtomicBoolean();
+
+    private volatile MovieColumns columns;
+    private volatile boolean stale = true;
+
+    public MovieCatalog(IMovieDAO movieDAO, long reloadDelayMillis) {
+        this.movieDAO = movieDAO;
+        this.reloadDelayMillis = Math.max(0, reloadDelayMillis);
+
+        this.refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "movie-catalog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reloadScheduled.set(true);
+        refresher.execute(this::refreshQuietly);
+    }
+
+    /**
+     * @return the current catalog; may lag movie writes by the time a reload takes.
+     * Before the initial load has finished, waits for it.
+     */
+    public MovieColumns columns() {
+        MovieColumns current = columns;
+        if (current == null) {
+            synchronized (this) {
+                if (columns == null) {
+                    refresh();
+                }
+                return columns;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Reloads the Movie table and replaces the current columns.
+     */
+    public synchronized void refresh() {
+        // Cleared before the load, so a write that lands during it schedules another reload
+        reloadScheduled.set(false);
+        stale = false;
+        List<Movie> movies;
+        try (Stream<Movie> scan = movieDAO.stream()) {
+            movies = scan.toList();
+        } catch (RuntimeException e) {
+            invalidate();
+            throw e;
+        }
+        MovieColumns loaded = MovieColumns.of(movies, columns == null ? MovieColumns.empty() : columns);
+        columns = loaded;
+        logger.debug("Movie catalog loaded: {} movies", loaded.size());
+    }
+
+    /**
+     * Marks the catalog as out of date and schedules a reload, unless one is already pending.
+     */
+    public void invalidate() {
+        stale = true;
+        if (reloadScheduled.compareAndSet(false, true)) {
+            try {
+                refresher.schedule(this::refreshQuietly, reloadDelayMillis, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                reloadScheduled.set(false);
+            }
+        }
+    }
+
+    public synchronized void averageRatingsChanged(Map<Long, BigDecimal> averages) {
+        // A pending reload reads the averages from the table, which already holds them
+        if (columns != null && !stale) {
+            columns = columns.withAverageRatings(averages);
+        }
+    }
+
+    @Override
+    public void close() {
+        refresher.shutdownNow();
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            logger.error("Error loading the movie catalog", e);
+        }
+    }
+}
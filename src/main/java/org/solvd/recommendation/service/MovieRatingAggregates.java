@@ -0,0 +1,193 @@
+package org.solvd.recommendation.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.solvd.recommendation.dao.IMovieDAO;
+import org.solvd.recommendation.dao.IUserRatingDAO;
+import org.solvd.recommendation.model.Movie;
+import org.solvd.recommendation.model.MovieRatingAggregate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Rating count and sum per movie, so a movie's average is read from memory instead of re-reading
+ * its ratings.
+ * <p>
+ * {@link #rebuild()} seeds the counters with one GROUP BY over UserRating and marks every movie
+ * whose stored average disagrees with them, e.g. changes lost in a crash before their averages were
+ * persisted, so the next {@link #persist()} repairs the Movie table. Afterwards every rating change
+ * triggers a {@link #recompute} of its movie from the indexed per-movie GROUP BY, which is the only
+ * way the counters change: a recompute that starts after the change committed always includes it,
+ * and each load is stamped when it starts, so an older load never replaces a newer one. Averages of
+ * changed movies are written to the Movie table by {@link #persist()}, which runs periodically on a
+ * background thread and once more on {@link #close()}, which {@link ServiceFactory} calls on JVM
+ * shutdown after the rating changes still in flight have been delivered. The persist listener
+ * receives every batch of averages after it has been written.
+ */
+public class MovieRatingAggregates implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(MovieRatingAggregates.class);
+    // UserRating.rating_value and Movie.average_rating are DECIMAL(3,2)
+    private static final int RATING_SCALE = 2;
+
+    private final IUserRatingDAO userRatingDAO;
+    private final IMovieDAO movieDAO;
+    private final ConcurrentMap<Long, Aggregate> aggregates = new ConcurrentHashMap<>();
+    // Orders the loads; a load only replaces counters loaded by an earlier one
+    private final AtomicLong loadSequence = new AtomicLong();
+    private final Set<Long> dirtyMovieIds = ConcurrentHashMap.newKeySet();
+    private final Consumer<Map<Long, BigDecimal>> persistListener;
+    private final ScheduledExecutorService persister;
+
+    public MovieRatingAggregates(IUserRatingDAO userRatingDAO, IMovieDAO movieDAO, long persistIntervalMillis,
+                                 Consumer<Map<Long, BigDecimal>> persistListener) {
+        this.userRatingDAO = userRatingDAO;
+        this.movieDAO = movieDAO;
+        this.persistListener = persistListener;
+
+        this.persister = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "movie-rating-aggregates");
+            thread.setDaemon(true);
+            return thread;
+        });
+        persister.scheduleWithFixedDelay(this::persist, persistIntervalMillis, persistIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Replaces all counters with the aggregates of the UserRating table.
+     */
+    public synchronized void rebuild() {
+        long stamp = loadSequence.incrementAndGet();
+        List<MovieRatingAggregate> loaded = userRatingDAO.getMovieRatingAggregates();
+        Set<Long> unrated = new HashSet<>(aggregates.keySet());
+        for (MovieRatingAggregate aggregate : loaded) {
+            store(aggregate.getMovieId(), new Aggregate(stamp, aggregate));
+            unrated.remove(aggregate.getMovieId());
+        }
+        unrated.forEach(movieId -> store(movieId, new Aggregate(stamp)));
+
+        int outdated = 0;
+        try (Stream<Movie> movies = movieDAO.stream()) {
+            for (Movie movie : (Iterable<Movie>) movies::iterator) {
+                Aggregate aggregate = aggregates.get(movie.getMovieId());
+                BigDecimal stored = movie.getAverageRating();
+                // A movie never rated may keep its empty average
+                if ((aggregate == null || aggregate.count == 0) && stored == null) continue;
+
+                BigDecimal average = aggregate == null ? BigDecimal.ZERO.setScale(RATING_SCALE) : aggregate.average();
+                if (stored == null || stored.compareTo(average) != 0) {
+                    dirtyMovieIds.add(movie.getMovieId());
+                    outdated++;
+                }
+            }
+        }
+        logger.info("Rating aggregates loaded for {} movies, {} stored averages out of date", loaded.size(), outdated);
+    }
+
+    /**
+     * Reloads the counters of the given movies after their ratings changed.
+     */
+    public void recompute(Collection<Long> movieIds) {
+        Set<Long> distinct = new HashSet<>(movieIds);
+        if (distinct.isEmpty()) return;
+
+        long stamp = loadSequence.incrementAndGet();
+        Set<Long> unrated = new HashSet<>(distinct);
+        for (MovieRatingAggregate aggregate : userRatingDAO.getMovieRatingAggregates(distinct)) {
+            store(aggregate.getMovieId(), new Aggregate(stamp, aggregate));
+            unrated.remove(aggregate.getMovieId());
+        }
+        unrated.forEach(movieId -> store(movieId, new Aggregate(stamp)));
+        dirtyMovieIds.addAll(distinct);
+    }
+
+    /**
+     * @return the movie's average rating rounded to two decimals, 0.0 if it has no ratings
+     */
+    public double getAverageRating(Long movieId) {
+        Aggregate aggregate = aggregates.get(movieId);
+        return aggregate == null ? 0.0 : aggregate.average().doubleValue();
+    }
+
+    /**
+     * Writes the averages of all movies changed since the last call.
+     */
+    public synchronized void persist() {
+        if (dirtyMovieIds.isEmpty()) return;
+
+        Map<Long, BigDecimal> averages = new HashMap<>();
+        for (Long movieId : dirtyMovieIds) {
+            dirtyMovieIds.remove(movieId);
+            Aggregate aggregate = aggregates.get(movieId);
+            averages.put(movieId, aggregate == null ? BigDecimal.ZERO.setScale(RATING_SCALE) : aggregate.average());
+        }
+
+        try {
+            movieDAO.updateAverageRatings(averages);
+            logger.debug("Persisted average ratings of {} movies", averages.size());
+        } catch (RuntimeException e) {
+            dirtyMovieIds.addAll(averages.keySet());
+            logger.error("Error persisting average ratings of {} movies", averages.size(), e);
+            return;
+        }
+        persistListener.accept(averages);
+    }
+
+    @Override
+    public void close() {
+        persister.shutdown();
+        persist();
+    }
+
+    private void store(Long movieId, Aggregate loaded) {
+        aggregates.merge(movieId, loaded, (current, next) -> next.stamp > current.stamp ? next : current);
+    }
+
+    private static long toUnits(BigDecimal ratingValue) {
+        return ratingValue.setScale(RATING_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Immutable counters of one movie as of the load with the given stamp.
+     */
+    private static final class Aggregate {
+        private final long stamp;
+        private final long count;
+        // Sum of the ratings in units of 0.01
+        private final long sumUnits;
+
+        private Aggregate(long stamp) {
+            this.stamp = stamp;
+            this.count = 0;
+            this.sumUnits = 0;
+        }
+
+        private Aggregate(long stamp, MovieRatingAggregate loaded) {
+            this.stamp = stamp;
+            this.count = loaded.getRatingCount();
+            this.sumUnits = toUnits(loaded.getRatingSum());
+        }
+
+        private BigDecimal average() {
+            if (count <= 0) {
+                return BigDecimal.ZERO.setScale(RATING_SCALE);
+            }
+            return BigDecimal.valueOf(sumUnits, RATING_SCALE)
+                    .divide(BigDecimal.valueOf(count), RATING_SCALE, RoundingMode.HALF_UP);
+        }
+    }
+}
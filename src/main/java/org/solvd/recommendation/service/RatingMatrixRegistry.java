@@ -0,0 +1,169 @@
+package org.solvd.recommendation.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.solvd.recommendation.changefeed.ChangeEvent;
+import org.solvd.recommendation.changefeed.ChangeFeed;
+import org.solvd.recommendation.changefeed.ChangeSet;
+import org.solvd.recommendation.dao.IUserRatingDAO;
+import org.solvd.recommendation.model.UserRating;
+import org.solvd.recommendation.util.RatingMatrix;
+
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Shared {@link RatingMatrix} over the whole UserRating table for the algorithm layer.
+ * <p>
+ * Readers get the current immutable matrix with a single volatile read and never rebuild it.
+ * A background thread loads the matrix at startup and then, every refresh interval, applies the
+ * rating changes recorded in the {@link ChangeFeed} since the last update to a copy of the matrix,
+ * without reading the table again. The table is reloaded in full only when the feed no longer
+ * holds all changes since the last update, on {@link #invalidate()}, and every reload interval to
+ * reconcile changes whose feed order differed from their commit order. The new matrix is
+ * published atomically, so a reader never sees a partly built one.
+ */
+public class RatingMatrixRegistry implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(RatingMatrixRegistry.class);
+    // Upper bound for the number of feed events read per poll
+    private static final int MAX_EVENTS_PER_POLL = 10000;
+
+    private final IUserRatingDAO userRatingDAO;
+    private final ChangeFeed changeFeed;
+    private final long reloadIntervalNanos;
+    private final ScheduledExecutorService refresher;
+
+    private volatile RatingMatrix matrix;
+    private volatile boolean reloadRequested;
+    // Feed version included in the current matrix and time of the last full load, guarded by this
+    private long appliedVersion;
+    private long loadedAtNanos;
+
+    public RatingMatrixRegistry(IUserRatingDAO userRatingDAO, ChangeFeed changeFeed,
+                                long refreshIntervalMillis, long reloadIntervalMillis) {
+        this.userRatingDAO = userRatingDAO;
+        this.changeFeed = changeFeed;
+        this.reloadIntervalNanos = reloadIntervalMillis > 0
+                ? TimeUnit.MILLISECONDS.toNanos(reloadIntervalMillis) : Long.MAX_VALUE;
+
+        this.refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "rating-matrix");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refresher.execute(this::updateQuietly);
+        long interval = Math.max(1, refreshIntervalMillis);
+        refresher.scheduleWithFixedDelay(this::updateQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return the current matrix; may lag rating writes by up to the refresh interval.
+     * Before the initial load has finished, waits for it.
+     */
+    public RatingMatrix matrix() {
+        RatingMatrix current = matrix;
+        if (current == null) {
+            synchronized (this) {
+                if (matrix == null) {
+                    reload();
+                }
+                return matrix;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Brings the matrix up to date with the change feed, or reloads it when required.
+     */
+    public synchronized void update() {
+        if (matrix == null || reloadRequested || System.nanoTime() - loadedAtNanos >= reloadIntervalNanos) {
+            reload();
+            return;
+        }
+
+        while (appliedVersion < changeFeed.getVersion()) {
+            ChangeSet changes = changeFeed.changesSince(appliedVersion, MAX_EVENTS_PER_POLL);
+            if (!changes.isComplete()) {
+                logger.info("Rating matrix fell behind the change feed, reloading");
+                reload();
+                return;
+            }
+            apply(changes);
+        }
+    }
+
+    /**
+     * Reloads the UserRating table and replaces the current matrix.
+     */
+    public synchronized void reload() {
+        // Read before the load: changes committed during it are applied again later, which is harmless
+        long version = changeFeed.getVersion();
+        reloadRequested = false;
+        RatingMatrix loaded;
+        long start = System.nanoTime();
+        try (Stream<UserRating> ratings = userRatingDAO.stream()) {
+            loaded = RatingMatrix.of(ratings.iterator());
+        } catch (RuntimeException e) {
+            reloadRequested = true;
+            throw e;
+        }
+        matrix = loaded;
+        appliedVersion = version;
+        loadedAtNanos = System.nanoTime();
+        logger.debug("Rating matrix loaded: {} users, {} movies, {} ratings in {} ms",
+                loaded.userCount(), loaded.movieCount(), loaded.ratingCount(),
+                TimeUnit.NANOSECONDS.toMillis(loadedAtNanos - start));
+    }
+
+    /**
+     * Requests a full reload on the next update, e.g. after writes that bypassed the change feed.
+     */
+    public void invalidate() {
+        reloadRequested = true;
+    }
+
+    @Override
+    public void close() {
+        refresher.shutdownNow();
+    }
+
+    private void apply(ChangeSet changes) {
+        int size = changes.getEvents().size();
+        long[] users = new long[size];
+        long[] movies = new long[size];
+        float[] values = new float[size];
+        int count = 0;
+        for (ChangeEvent event : changes.getEvents()) {
+            if (event.getEntityType() != ChangeEvent.EntityType.USER_RATING) continue;
+
+            UserRating rating = (UserRating) event.getEntity();
+            users[count] = event.getUserId();
+            movies[count] = event.getMovieId();
+            values[count] = event.getChangeType() == ChangeEvent.ChangeType.DELETE || rating.getRatingValue() == null
+                    ? Float.NaN : rating.getRatingValue().floatValue();
+            count++;
+        }
+
+        if (count > 0) {
+            long start = System.nanoTime();
+            RatingMatrix updated = matrix.withChanges(Arrays.copyOf(users, count), Arrays.copyOf(movies, count),
+                    Arrays.copyOf(values, count), count);
+            matrix = updated;
+            logger.debug("Rating matrix updated with {} rating changes in {} ms",
+                    count, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+        appliedVersion = changes.getVersion();
+    }
+
+    private void updateQuietly() {
+        try {
+            update();
+        } catch (RuntimeException e) {
+            logger.error("Error updating the rating matrix", e);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package org.solvd.recommendation.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.solvd.recommendation.dao.IGenreDAO;
+import org.solvd.recommendation.dao.IInteractionDAO;
+import org.solvd.recommendation.dao.IPersonRoleDAO;
+import org.solvd.recommendation.model.Genre;
+import org.solvd.recommendation.model.Interaction;
+import org.solvd.recommendation.model.InteractionType;
+import org.solvd.recommendation.model.PersonRole;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * In-memory copy of the small, rarely changing reference tables
+ * (Interaction, Genre and PersonRole).
+ * <p>
+ * The tables are loaded into an immutable snapshot of arrays indexed by database ID,
+ * so lookups on the recommendation hot path never touch the database. {@link ServiceFactory}
+ * loads the first snapshot when it creates the registry; if that fails, the first lookup loads it.
+ * Writes through the reference-data services call {@link #refresh()}, which builds
+ * a new snapshot and publishes it atomically; readers always see a consistent snapshot.
+ */
+public class ReferenceDataRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(ReferenceDataRegistry.class);
+
+    private final IInteractionDAO interactionDAO;
+    private final IGenreDAO genreDAO;
+    private final IPersonRoleDAO personRoleDAO;
+
+    private volatile Snapshot snapshot;
+
+    public ReferenceDataRegistry(IInteractionDAO interactionDAO, IGenreDAO genreDAO, IPersonRoleDAO personRoleDAO) {
+        this.interactionDAO = interactionDAO;
+        this.genreDAO = genreDAO;
+        this.personRoleDAO = personRoleDAO;
+    }
+
+    /**
+     * Reloads all reference tables and replaces the current snapshot.
+     */
+    public synchronized void refresh() {
+        Snapshot loaded = new Snapshot(interactionDAO.getAll(), genreDAO.getAll(), personRoleDAO.getAll());
+        snapshot = loaded;
+        logger.debug("Reference data loaded: {} interactions, {} genres, {} person roles",
+                loaded.interactionIds.size(), loaded.genreIds.length, loaded.roleNameCount);
+    }
+
+    /**
+     * @return the ID of the Interaction row for the type, or {@code null} if the type is not stored
+     */
+    public Long getInteractionId(InteractionType type) {
+        return snapshot().interactionIds.get(type);
+    }
+
+    /**
+     * @return the type of the Interaction row, or {@code null} for an unknown ID
+     */
+    public InteractionType getInteractionType(Long interactionId) {
+        InteractionType[] types = snapshot().interactionTypes;
+        return isIndex(interactionId, types.length) ? types[interactionId.intValue()] : null;
+    }
+
+    /**
+     * @return position of the genre in {@code [0, getGenreCount())}, or -1 for an unknown genre
+     */
+    public int getGenreIndex(Long genreId) {
+        int[] indices = snapshot().genreIndices;
+        return isIndex(genreId, indices.length) ? indices[genreId.intValue()] : -1;
+    }
+
+    public Long getGenreId(int genreIndex) {
+        return snapshot().genreIds[genreIndex];
+    }
+
+    public int getGenreCount() {
+        return snapshot().genreIds.length;
+    }
+
+    public String getRoleName(Long personRoleId) {
+        String[] names = snapshot().roleNames;
+        return isIndex(personRoleId, names.length) ? names[personRoleId.intValue()] : null;
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    refresh();
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    private static boolean isIndex(Long id, int length) {
+        return id != null && id >= 0 && id < length;
+    }
+
+    private static final class Snapshot {
+        private final Map<InteractionType, Long> interactionIds = new EnumMap<>(InteractionType.class);
+        private final InteractionType[] interactionTypes;
+        private final long[] genreIds;
+        private final int[] genreIndices;
+        private final String[] roleNames;
+        private final int roleNameCount;
+
+        private Snapshot(List<Interaction> interactions, List<Genre> genres, List<PersonRole> roles) {
+            interactionTypes = new InteractionType[maxId(interactions.stream().map(Interaction::getInteractionId)) + 1];
+            for (Interaction interaction : interactions) {
+                if (interaction.getInteractionId() == null || interaction.getType() == null) continue;
+                interactionTypes[interaction.getInteractionId().intValue()] = interaction.getType();
+                interactionIds.putIfAbsent(interaction.getType(), interaction.getInteractionId());
+            }
+
+            genreIds = genres.stream()
+                    .map(Genre::getGenreId)
+                    .filter(Objects::nonNull)
+                    .mapToLong(Long::longValue)
+                    .sorted()
+                    .distinct()
+                    .toArray();
+            genreIndices = new int[genreIds.length == 0 ? 0 : (int) genreIds[genreIds.length - 1] + 1];
+            Arrays.fill(genreIndices, -1);
+            for (int i = 0; i < genreIds.length; i++) {
+                genreIndices[(int) genreIds[i]] = i;
+            }
+
+            roleNames = new String[maxId(roles.stream().map(PersonRole::getPersonRoleId)) + 1];
+            int count = 0;
+            for (PersonRole role : roles) {
+                if (role.getPersonRoleId() == null) continue;
+                roleNames[role.getPersonRoleId().intValue()] = role.getRoleName();
+                count++;
+            }
+            roleNameCount = count;
+        }
+
+        private static int maxId(Stream<Long> ids) {
+            return ids.filter(Objects::nonNull)
+                    .mapToInt(Math::toIntExact)
+                    .max()
+                    .orElse(-1);
+        }
+    }
+}
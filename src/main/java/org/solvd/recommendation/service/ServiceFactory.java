@@ -1,7 +1,28 @@
 package org.solvd.recommendation.service;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.solvd.recommendation.algorithm.ItemNeighbourhoods;
+import org.solvd.recommendation.algorithm.MatrixFactorization;
+import org.solvd.recommendation.algorithm.UserNeighbourhoods;
+import org.solvd.recommendation.algorithm.similarity.SimilarityMethod;
+import org.solvd.recommendation.changefeed.ChangeFeed;
 import org.solvd.recommendation.dao.DAOFactory;
+import org.solvd.recommendation.model.UserInteraction;
+import org.solvd.recommendation.model.ViewingHistory;
+import org.solvd.recommendation.observer.AsyncRatingChangedObserver;
+import org.solvd.recommendation.observer.IRatingChangedObserver;
+import org.solvd.recommendation.observer.MovieRatingObserver;
+import org.solvd.recommendation.observer.RatingDispatchMetrics;
 import org.solvd.recommendation.service.imlp.*;
+import org.solvd.recommendation.util.AppConfig;
+import org.solvd.recommendation.util.writebehind.WriteBehindBuffer;
+import org.solvd.recommendation.util.writebehind.WriteBehindMetrics;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Factory for creating service instances.
@@ -9,6 +30,7 @@ import org.solvd.recommendation.service.imlp.*;
  * Follows Abstract Factory pattern by providing methods to create related service objects.
  */
 public class ServiceFactory {
+    private static final Logger logger = LoggerFactory.getLogger(ServiceFactory.class);
     private static final ServiceFactory instance = new ServiceFactory();
 
     // Lazily initialized service instances
@@ -25,9 +47,21 @@ public class ServiceFactory {
     private IContentContributorService contentContributorService;
     private IUserInteractionService userInteractionService;
     private IPersonRoleService personRoleService;
+    private ReferenceDataRegistry referenceDataRegistry;
+    private MovieRatingAggregates movieRatingAggregates;
+    private MovieCatalog movieCatalog;
+    private RatingMatrixRegistry ratingMatrixRegistry;
+    private UserNeighbourhoods userNeighbourhoods;
+    private ItemNeighbourhoods itemNeighbourhoods;
+    private MatrixFactorization matrixFactorization;
+    private ChangeFeed changeFeed;
+    private AsyncRatingChangedObserver ratingObserverDispatcher;
+    private WriteBehindBuffer<UserInteraction> userInteractionBuffer;
+    private WriteBehindBuffer<ViewingHistory> viewingHistoryBuffer;
 
     private ServiceFactory() {
         // Private constructor to enforce Singleton pattern
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "service-factory-shutdown"));
     }
 
     public static ServiceFactory getInstance() {
@@ -38,7 +72,8 @@ public class ServiceFactory {
         if (movieService == null) {
             movieService = new MovieService(DAOFactory.getMovieDAO(),
                     getMovieGenreService(),
-                    getContentContributorService());
+                    getContentContributorService(),
+                    getMovieCatalog());
         }
         return movieService;
     }
@@ -54,7 +89,8 @@ public class ServiceFactory {
     public IGenreService getGenreService() {
         if (genreService == null) {
             genreService = new GenreService(DAOFactory.getGenreDAO(),
-                    getMovieGenreService());
+                    getMovieGenreService(),
+                    getReferenceDataRegistry());
         }
         return genreService;
     }
@@ -69,31 +105,51 @@ public class ServiceFactory {
 
     public IPersonRoleService getPersonRoleService() {
         if (personRoleService == null) {
-            personRoleService = new PersonRoleService(DAOFactory.getPersonRoleDAO());
+            personRoleService = new PersonRoleService(DAOFactory.getPersonRoleDAO(),
+                    getReferenceDataRegistry());
         }
         return personRoleService;
     }
 
     public IInteractionService getInteractionService() {
         if (interactionService == null) {
+            IUserInteractionService interactions = getUserInteractionService();
+            userInteractionBuffer = createWriteBehindBuffer("user-interactions", interactions::createAll);
             interactionService = new InteractionService(DAOFactory.getInteractionDAO(),
-                    getUserInteractionService());
+                    interactions,
+                    getReferenceDataRegistry(),
+                    userInteractionBuffer);
         }
         return interactionService;
     }
 
     public IUserRatingService getUserRatingService() {
         if (userRatingService == null) {
+            IRatingChangedObserver averageRatingObserver = new MovieRatingObserver(getMovieRatingAggregates());
+            if (AppConfig.getBoolean("ratings.observer.async", false)) {
+                ratingObserverDispatcher = new AsyncRatingChangedObserver(averageRatingObserver,
+                        AppConfig.getInt("ratings.observer.lanes", 4),
+                        AppConfig.getInt("ratings.observer.capacity", 10000),
+                        AppConfig.getLong("ratings.observer.window.millis", 50));
+                averageRatingObserver = ratingObserverDispatcher;
+            }
             userRatingService = new UserRatingService(DAOFactory.getUserRatingDAO(),
-                   getMovieService());
+                    getChangeFeed(),
+                    getMovieRatingAggregates(),
+                    averageRatingObserver);
         }
         return userRatingService;
     }
 
     public IViewingHistoryService getViewingHistoryService() {
         if (viewingHistoryService == null) {
+            // The buffer writes through the service, which is assigned before the first batch is flushed
+            viewingHistoryBuffer = createWriteBehindBuffer("viewing-history",
+                    batch -> viewingHistoryService.createAll(batch));
             viewingHistoryService = new ViewingHistoryService(DAOFactory.getViewingHistoryDAO(),
-                    (UserService) getUserService());
+                    getChangeFeed(),
+                    (UserService) getUserService(),
+                    viewingHistoryBuffer);
         }
         return viewingHistoryService;
     }
@@ -121,15 +177,181 @@ public class ServiceFactory {
 
     public IUserInteractionService getUserInteractionService() {
         if (userInteractionService == null) {
-            userInteractionService = new UserInteractionService(DAOFactory.getUserInteractionDAO());
+            userInteractionService = new UserInteractionService(DAOFactory.getUserInteractionDAO(),
+                    getChangeFeed());
         }
         return userInteractionService;
     }
 
+    public ReferenceDataRegistry getReferenceDataRegistry() {
+        if (referenceDataRegistry == null) {
+            referenceDataRegistry = new ReferenceDataRegistry(DAOFactory.getInteractionDAO(),
+                    DAOFactory.getGenreDAO(),
+                    DAOFactory.getPersonRoleDAO());
+            // Load now rather than on the first lookup, which may be on a recommendation request
+            try {
+                referenceDataRegistry.refresh();
+            } catch (RuntimeException e) {
+                logger.error("Error loading reference data, retrying on first use", e);
+            }
+        }
+        return referenceDataRegistry;
+    }
+
+    public ChangeFeed getChangeFeed() {
+        if (changeFeed == null) {
+            changeFeed = new ChangeFeed(AppConfig.getInt("changefeed.capacity", 65536));
+        }
+        return changeFeed;
+    }
+
+    public MovieRatingAggregates getMovieRatingAggregates() {
+        if (movieRatingAggregates == null) {
+            movieRatingAggregates = new MovieRatingAggregates(DAOFactory.getUserRatingDAO(),
+                    DAOFactory.getMovieDAO(),
+                    AppConfig.getLong("ratings.average.persist.millis", 5000),
+                    getMovieCatalog()::averageRatingsChanged);
+            movieRatingAggregates.rebuild();
+        }
+        return movieRatingAggregates;
+    }
+
+    public MovieCatalog getMovieCatalog() {
+        if (movieCatalog == null) {
+            movieCatalog = new MovieCatalog(DAOFactory.getMovieDAO(),
+                    AppConfig.getLong("movies.catalog.reload.delay.millis", 200));
+        }
+        return movieCatalog;
+    }
+
+    public RatingMatrixRegistry getRatingMatrixRegistry() {
+        if (ratingMatrixRegistry == null) {
+            ratingMatrixRegistry = new RatingMatrixRegistry(DAOFactory.getUserRatingDAO(),
+                    getChangeFeed(),
+                    AppConfig.getLong("ratings.matrix.refresh.millis", 1000),
+                    AppConfig.getLong("ratings.matrix.reload.millis", 3600000));
+        }
+        return ratingMatrixRegistry;
+    }
+
+    /**
+     * @return the precomputed user neighbour tables, or {@code null} when they are disabled
+     */
+    public UserNeighbourhoods getUserNeighbourhoods() {
+        if (userNeighbourhoods == null && AppConfig.getBoolean("cf.neighbours.enabled", false)) {
+            String path = AppConfig.getString("cf.neighbours.path", null);
+            userNeighbourhoods = new UserNeighbourhoods(getRatingMatrixRegistry(),
+                    getUserInteractionService(),
+                    getReferenceDataRegistry(),
+                    SimilarityMethod.valueOf(AppConfig.getString("cf.neighbours.similarity", "PEARSON")),
+                    AppConfig.getInt("cf.neighbours.k", 20),
+                    AppConfig.getInt("cf.neighbours.parallelism", 4),
+                    AppConfig.getLong("cf.neighbours.refresh.millis", 600000),
+                    path == null ? null : Path.of(path));
+        }
+        return userNeighbourhoods;
+    }
+
+    public ItemNeighbourhoods getItemNeighbourhoods() {
+        if (itemNeighbourhoods == null) {
+            itemNeighbourhoods = new ItemNeighbourhoods(getRatingMatrixRegistry(),
+                    SimilarityMethod.valueOf(AppConfig.getString("cf.items.similarity", "COSINE")),
+                    AppConfig.getInt("cf.items.neighbours", 30),
+                    AppConfig.getInt("cf.items.parallelism", 4),
+                    AppConfig.getLong("cf.items.refresh.millis", 600000));
+        }
+        return itemNeighbourhoods;
+    }
+
+    public MatrixFactorization getMatrixFactorization() {
+        if (matrixFactorization == null) {
+            matrixFactorization = new MatrixFactorization(getRatingMatrixRegistry(),
+                    AppConfig.getInt("mf.factors", 20),
+                    AppConfig.getInt("mf.iterations", 10),
+                    AppConfig.getDouble("mf.regularization", 0.05),
+                    AppConfig.getInt("mf.parallelism", 4),
+                    AppConfig.getLong("mf.refresh.millis", 3600000));
+        }
+        return matrixFactorization;
+    }
+
     public IRecommendationService getRecommendationService() {
         if (recommendationService == null) {
             recommendationService = new RecommendationService();
         }
         return recommendationService;
     }
-}
\ No newline at end of file
+
+    /**
+     * @return queue metrics of the active write-behind buffers; empty when write-behind is disabled
+     */
+    public List<WriteBehindMetrics> getWriteBehindMetrics() {
+        List<WriteBehindMetrics> metrics = new ArrayList<>();
+        if (userInteractionBuffer != null) {
+            metrics.add(userInteractionBuffer.getMetrics());
+        }
+        if (viewingHistoryBuffer != null) {
+            metrics.add(viewingHistoryBuffer.getMetrics());
+        }
+        return metrics;
+    }
+
+    /**
+     * Writes all queued interaction and viewing events now, e.g. before reading them back.
+     */
+    public void flushWriteBehind() {
+        if (userInteractionBuffer != null) {
+            userInteractionBuffer.flush();
+        }
+        if (viewingHistoryBuffer != null) {
+            viewingHistoryBuffer.flush();
+        }
+    }
+
+    /**
+     * Flushes the background writers in dependency order; runs on JVM shutdown.
+     * Buffered events are written first, since writes may produce rating changes; then the rating
+     * dispatcher delivers the changes still pending; finally the aggregates persist the averages
+     * including them. Independent shutdown hooks would run concurrently and could lose the last changes.
+     */
+    public synchronized void shutdown() {
+        closeQuietly(userInteractionBuffer);
+        closeQuietly(viewingHistoryBuffer);
+        closeQuietly(ratingObserverDispatcher);
+        closeQuietly(movieRatingAggregates);
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
+        if (closeable == null) return;
+        try {
+            closeable.close();
+        } catch (Exception e) {
+            logger.error("Error closing {} on shutdown", closeable.getClass().getSimpleName(), e);
+        }
+    }
+
+    /**
+     * @return dispatch metrics of the asynchronous rating observers, or {@code null} when they run synchronously
+     */
+    public RatingDispatchMetrics getRatingDispatchMetrics() {
+        return ratingObserverDispatcher == null ? null : ratingObserverDispatcher.getMetrics();
+    }
+
+    private <T> WriteBehindBuffer<T> createWriteBehindBuffer(String name, Consumer<List<T>> writer) {
+        if (!AppConfig.getBoolean("writebehind.enabled", false)) {
+            return null;
+        }
+        // A failed batch is retried event by event, which is only safe if it was one DAO transaction
+        int batchSize = AppConfig.getInt("writebehind.batch.size", 500);
+        int dbBatchSize = Math.max(1, AppConfig.getInt("db.batch.size", 500));
+        if (batchSize > dbBatchSize) {
+            logger.warn("writebehind.batch.size {} exceeds db.batch.size {}, using {}",
+                    batchSize, dbBatchSize, dbBatchSize);
+            batchSize = dbBatchSize;
+        }
+        return new WriteBehindBuffer<>(name, writer,
+                AppConfig.getInt("writebehind.capacity", 10000),
+                batchSize,
+                AppConfig.getLong("writebehind.flush.millis", 200));
+    }
+}
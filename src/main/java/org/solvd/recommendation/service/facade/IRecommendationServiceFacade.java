@@ -8,9 +8,14 @@ import java.util.List;
  * Facade interface for recommendation services.
  * Simplifies interaction with the recommendation system.
  */
-public interface IRecommendationServiceFacade {
+public interface IRecommendationServiceFacade extends AutoCloseable {
     List<Movie> getHybridRecommendations(String username, int limit);
     List<Movie> getCollaborativeRecommendations(String username, int limit);
+    List<Movie> getItemBasedRecommendations(String username, int limit);
+    List<Movie> getMatrixFactorizationRecommendations(String username, int limit);
     List<Movie> getContentBasedRecommendations(String username, int limit);
 
+    @Override
+    void close();
+
 }
\ No newline at end of file
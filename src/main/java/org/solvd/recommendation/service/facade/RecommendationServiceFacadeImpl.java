@@ -2,8 +2,10 @@ package org.solvd.recommendation.service.facade;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.solvd.recommendation.exeption.EntityNotFoundException;
 import org.solvd.recommendation.model.*;
 import org.solvd.recommendation.service.*;
+import org.solvd.recommendation.util.AppConfig;
 
 import java.util.*;
 
@@ -13,10 +15,12 @@ import java.util.*;
  */
 public class RecommendationServiceFacadeImpl implements IRecommendationServiceFacade {
     private static final Logger logger = LoggerFactory.getLogger(RecommendationServiceFacadeImpl.class);
+    private static final int DEFAULT_USER_ID_CACHE_SIZE = 10_000;
 
     private final IRecommendationService recommendationService;
     private final IUserService userService;
     private final IMovieService movieService;
+    private final UserIdCache userIdCache;
 
     /**
      * Constructor with service factory injection.
@@ -25,6 +29,8 @@ public class RecommendationServiceFacadeImpl implements IRecommendationServiceFa
         this.recommendationService = serviceFactory.getRecommendationService();
         this.userService = serviceFactory.getUserService();
         this.movieService = serviceFactory.getMovieService();
+        this.userIdCache = new UserIdCache(AppConfig.getInt("cache.userid.size", DEFAULT_USER_ID_CACHE_SIZE));
+        this.userService.addObserver(userIdCache);
     }
 
     @Override
@@ -55,6 +61,34 @@ public class RecommendationServiceFacadeImpl implements IRecommendationServiceFa
         return recommendations;
     }
 
+    @Override
+    public List<Movie> getItemBasedRecommendations(String username, int limit) {
+        Long userId = getUserId(username);
+        if (userId == null) {
+            logger.warn("User not found: {}", username);
+            return Collections.emptyList();
+        }
+
+        logger.info("Getting item-based recommendations for user {}", username);
+        List<Movie> recommendations = recommendationService.getItemBasedRecommendations(userId, limit);
+        logger.info("Found {} item-based recommendations for user {}", recommendations.size(), username);
+        return recommendations;
+    }
+
+    @Override
+    public List<Movie> getMatrixFactorizationRecommendations(String username, int limit) {
+        Long userId = getUserId(username);
+        if (userId == null) {
+            logger.warn("User not found: {}", username);
+            return Collections.emptyList();
+        }
+
+        logger.info("Getting matrix factorization recommendations for user {}", username);
+        List<Movie> recommendations = recommendationService.getMatrixFactorizationRecommendations(userId, limit);
+        logger.info("Found {} matrix factorization recommendations for user {}", recommendations.size(), username);
+        return recommendations;
+    }
+
     @Override
     public List<Movie> getContentBasedRecommendations(String username, int limit) {
         Long userId = getUserId(username);
@@ -73,18 +107,29 @@ public class RecommendationServiceFacadeImpl implements IRecommendationServiceFa
      * Get user ID from username.
      */
     private Long getUserId(String username) {
-        // Direct search in the database
-        List<User> users = userService.getAll().stream()
-                .filter(u -> username.equals(u.getUsername()))
-                .toList();
-
-        if (!users.isEmpty()) {
-            Long userId = users.get(0).getUserId();
-            logger.debug("Found user ID {} for username: {}", userId, username);
+        Long userId = userIdCache.get(username);
+        if (userId != null) {
             return userId;
         }
 
-        logger.warn("User not found: {}", username);
-        return null;
+        long generation = userIdCache.generation();
+        try {
+            userId = userService.getByUsername(username).getUserId();
+        } catch (EntityNotFoundException e) {
+            logger.warn("User not found: {}", username);
+            return null;
+        }
+
+        userIdCache.put(username, userId, generation);
+        logger.debug("Found user ID {} for username: {}", userId, username);
+        return userId;
+    }
+
+    /**
+     * Stops the user ID cache from observing user changes.
+     */
+    @Override
+    public void close() {
+        userService.removeObserver(userIdCache);
     }
-}
\ No newline at end of file
+}
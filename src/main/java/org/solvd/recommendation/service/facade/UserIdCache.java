@@ -0,0 +1,62 @@
+package org.solvd.recommendation.service.facade;
+
+import org.solvd.recommendation.model.User;
+import org.solvd.recommendation.observer.IUserChangedObserver;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache of username to user ID.
+ * Registered as a user observer: any update or delete of a user drops its entries,
+ * including the old username when the user was renamed.
+ * Lookups that started before such a change are not cached: every change bumps a generation,
+ * and {@link #put} only stores an ID read under the current one.
+ */
+class UserIdCache implements IUserChangedObserver {
+    private final Map<String, Long> userIds;
+    private long generation;
+
+    UserIdCache(int maxSize) {
+        this.userIds = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    synchronized Long get(String username) {
+        return userIds.get(username);
+    }
+
+    /**
+     * @return the generation to pass to {@link #put} for a user ID read from now on
+     */
+    synchronized long generation() {
+        return generation;
+    }
+
+    /**
+     * Caches the user ID unless a user changed since the given generation was taken,
+     * in which case the ID may already be stale.
+     */
+    synchronized void put(String username, Long userId, long readGeneration) {
+        if (readGeneration == generation) {
+            userIds.put(username, userId);
+        }
+    }
+
+    @Override
+    public synchronized void onUserChanged(User user) {
+        if (user == null) return;
+
+        generation++;
+        if (user.getUsername() != null) {
+            userIds.remove(user.getUsername());
+        }
+        if (user.getUserId() != null) {
+            userIds.values().removeIf(user.getUserId()::equals);
+        }
+    }
+}
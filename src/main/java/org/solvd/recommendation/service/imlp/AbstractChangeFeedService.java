@@ -0,0 +1,78 @@
+package org.solvd.recommendation.service.imlp;
+
+import org.solvd.recommendation.changefeed.ChangeEvent;
+import org.solvd.recommendation.changefeed.ChangeFeed;
+import org.solvd.recommendation.dao.IDAO;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Service whose writes are recorded in the {@link ChangeFeed} once committed.
+ * Bulk writes are recorded chunk by chunk, as each chunk commits.
+ *
+ * @param <T> Entity type
+ * @param <ID> Entity identifier type
+ * @param <D> DAO type
+ */
+public abstract class AbstractChangeFeedService<T, ID, D extends IDAO<T, ID>> extends AbstractService<T, ID, D> {
+    protected final ChangeFeed changeFeed;
+
+    protected AbstractChangeFeedService(D dao, ChangeFeed changeFeed) {
+        super(dao);
+        this.changeFeed = changeFeed;
+    }
+
+    protected abstract ChangeEvent.EntityType getEntityType();
+
+    protected abstract Long getUserId(T entity);
+
+    protected abstract Long getMovieId(T entity);
+
+    @Override
+    public ID create(T entity) {
+        ID id = super.create(entity);
+        publish(ChangeEvent.ChangeType.UPSERT, List.of(entity));
+        return id;
+    }
+
+    @Override
+    public void update(T entity) {
+        super.update(entity);
+        publish(ChangeEvent.ChangeType.UPSERT, List.of(entity));
+    }
+
+    @Override
+    public void delete(T entity) {
+        super.delete(entity);
+        publish(ChangeEvent.ChangeType.DELETE, List.of(entity));
+    }
+
+    @Override
+    public void createAll(Collection<T> entities) {
+        dao.saveAll(entities, chunk -> publish(ChangeEvent.ChangeType.UPSERT, chunk));
+    }
+
+    @Override
+    public void updateAll(Collection<T> entities) {
+        dao.updateAll(entities, chunk -> publish(ChangeEvent.ChangeType.UPSERT, chunk));
+    }
+
+    @Override
+    public void deleteAll(Collection<T> entities) {
+        dao.deleteAll(entities, chunk -> publish(ChangeEvent.ChangeType.DELETE, chunk));
+    }
+
+    /**
+     * Records rows the database deleted through ON DELETE CASCADE of their user or movie.
+     */
+    public void cascadeDeleted(List<T> entities) {
+        if (!entities.isEmpty()) {
+            publish(ChangeEvent.ChangeType.DELETE, entities);
+        }
+    }
+
+    protected void publish(ChangeEvent.ChangeType changeType, Collection<T> entities) {
+        changeFeed.append(getEntityType(), changeType, entities, this::getUserId, this::getMovieId);
+    }
+}
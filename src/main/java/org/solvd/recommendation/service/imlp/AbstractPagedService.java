@@ -0,0 +1,49 @@
+package org.solvd.recommendation.service.imlp;
+
+import org.solvd.recommendation.dao.IKeysetPagedDAO;
+import org.solvd.recommendation.service.IPagedService;
+import org.solvd.recommendation.util.IdRange;
+import org.solvd.recommendation.util.KeysetPagination;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Base service for entities that can be enumerated with keyset pagination.
+ *
+ * @param <T> Entity type
+ * @param <D> DAO type
+ */
+public abstract class AbstractPagedService<T, D extends IKeysetPagedDAO<T>> extends AbstractService<T, Long, D>
+        implements IPagedService<T> {
+
+    protected AbstractPagedService(D dao) {
+        super(dao);
+    }
+
+    protected abstract Long getEntityId(T entity);
+
+    @Override
+    public List<T> getPage(Long afterId, int pageSize) {
+        return getPage(afterId, null, pageSize);
+    }
+
+    @Override
+    public List<T> getPage(Long afterId, Long maxId, int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        return dao.getPage(afterId, maxId, pageSize);
+    }
+
+    @Override
+    public List<IdRange> splitIdRange(int parts) {
+        return KeysetPagination.split(dao.getMinId(), dao.getMaxId(), parts);
+    }
+
+    @Override
+    public void forEachPage(int pageSize, int parallelism, Consumer<List<T>> pageConsumer) {
+        KeysetPagination.forEachPageParallel(dao::getPage, splitIdRange(parallelism), pageSize,
+                this::getEntityId, parallelism, pageConsumer);
+    }
+}
@@ -0,0 +1,59 @@
+package org.solvd.recommendation.service.imlp;
+
+import org.solvd.recommendation.dao.IDAO;
+import org.solvd.recommendation.service.ReferenceDataRegistry;
+
+import java.util.Collection;
+
+/**
+ * Base service for the reference tables cached by {@link ReferenceDataRegistry}.
+ * Every write refreshes the registry so that readers see the new data.
+ *
+ * @param <T> Entity type
+ * @param <D> DAO type
+ */
+public abstract class AbstractReferenceDataService<T, D extends IDAO<T, Long>> extends AbstractService<T, Long, D> {
+    protected final ReferenceDataRegistry referenceDataRegistry;
+
+    protected AbstractReferenceDataService(D dao, ReferenceDataRegistry referenceDataRegistry) {
+        super(dao);
+        this.referenceDataRegistry = referenceDataRegistry;
+    }
+
+    @Override
+    public Long create(T entity) {
+        Long id = super.create(entity);
+        referenceDataRegistry.refresh();
+        return id;
+    }
+
+    @Override
+    public void update(T entity) {
+        super.update(entity);
+        referenceDataRegistry.refresh();
+    }
+
+    @Override
+    public void delete(T entity) {
+        super.delete(entity);
+        referenceDataRegistry.refresh();
+    }
+
+    @Override
+    public void createAll(Collection<T> entities) {
+        super.createAll(entities);
+        referenceDataRegistry.refresh();
+    }
+
+    @Override
+    public void updateAll(Collection<T> entities) {
+        super.updateAll(entities);
+        referenceDataRegistry.refresh();
+    }
+
+    @Override
+    public void deleteAll(Collection<T> entities) {
+        super.deleteAll(entities);
+        referenceDataRegistry.refresh();
+    }
+}
@@ -5,7 +5,9 @@ import org.slf4j.LoggerFactory;
 import org.solvd.recommendation.dao.IDAO;
 import org.solvd.recommendation.service.IService;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Abstract implementation of the service interface that delegates operations to the DAO layer.
@@ -54,4 +56,28 @@ public abstract class AbstractService<T, ID, D extends IDAO<T, ID>> implements I
         LOGGER.debug("Getting all entities");
         return dao.getAll();
     }
+
+    @Override
+    public Stream<T> stream() {
+        LOGGER.debug("Streaming all entities");
+        return dao.stream();
+    }
+
+    @Override
+    public void createAll(Collection<T> entities) {
+        LOGGER.debug("Creating {} entities", entities.size());
+        dao.saveAll(entities);
+    }
+
+    @Override
+    public void updateAll(Collection<T> entities) {
+        LOGGER.debug("Updating {} entities", entities.size());
+        dao.updateAll(entities);
+    }
+
+    @Override
+    public void deleteAll(Collection<T> entities) {
+        LOGGER.debug("Deleting {} entities", entities.size());
+        dao.deleteAll(entities);
+    }
 }
\ No newline at end of file
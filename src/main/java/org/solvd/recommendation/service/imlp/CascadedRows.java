@@ -0,0 +1,68 @@
+package org.solvd.recommendation.service.imlp;
+
+import org.solvd.recommendation.dao.DAOFactory;
+import org.solvd.recommendation.dao.IUserInteractionDAO;
+import org.solvd.recommendation.dao.IUserRatingDAO;
+import org.solvd.recommendation.dao.IViewingHistoryDAO;
+import org.solvd.recommendation.model.UserInteraction;
+import org.solvd.recommendation.model.UserRating;
+import org.solvd.recommendation.model.ViewingHistory;
+import org.solvd.recommendation.service.ServiceFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Rating, interaction and viewing-history rows that the database deletes through ON DELETE CASCADE
+ * when their user or movie is deleted.
+ * <p>
+ * The rows are read before the parent is deleted and published as DELETE events once the delete
+ * has committed, so change feed consumers and the rating aggregates see them like any other delete.
+ */
+final class CascadedRows {
+    private final List<UserRating> ratings = new ArrayList<>();
+    private final List<UserInteraction> interactions = new ArrayList<>();
+    private final List<ViewingHistory> viewingHistory = new ArrayList<>();
+
+    private CascadedRows() {
+    }
+
+    static CascadedRows ofUsers(Collection<Long> userIds) {
+        IUserRatingDAO userRatingDAO = DAOFactory.getUserRatingDAO();
+        IUserInteractionDAO userInteractionDAO = DAOFactory.getUserInteractionDAO();
+        IViewingHistoryDAO viewingHistoryDAO = DAOFactory.getViewingHistoryDAO();
+
+        CascadedRows rows = new CascadedRows();
+        for (Long userId : userIds) {
+            rows.ratings.addAll(userRatingDAO.findByUser(userId));
+            rows.interactions.addAll(userInteractionDAO.findByUser(userId));
+            rows.viewingHistory.addAll(viewingHistoryDAO.findByUser(userId));
+        }
+        return rows;
+    }
+
+    static CascadedRows ofMovies(Collection<Long> movieIds) {
+        IUserRatingDAO userRatingDAO = DAOFactory.getUserRatingDAO();
+        IUserInteractionDAO userInteractionDAO = DAOFactory.getUserInteractionDAO();
+        IViewingHistoryDAO viewingHistoryDAO = DAOFactory.getViewingHistoryDAO();
+
+        CascadedRows rows = new CascadedRows();
+        for (Long movieId : movieIds) {
+            rows.ratings.addAll(userRatingDAO.findByMovie(movieId));
+            rows.interactions.addAll(userInteractionDAO.findByMovie(movieId));
+            rows.viewingHistory.addAll(viewingHistoryDAO.findByMovie(movieId));
+        }
+        return rows;
+    }
+
+    /**
+     * Publishes the rows as deleted; call after the parent delete has committed.
+     */
+    void publish() {
+        ServiceFactory serviceFactory = ServiceFactory.getInstance();
+        ((UserRatingService) serviceFactory.getUserRatingService()).cascadeDeleted(ratings);
+        ((UserInteractionService) serviceFactory.getUserInteractionService()).cascadeDeleted(interactions);
+        ((ViewingHistoryService) serviceFactory.getViewingHistoryService()).cascadeDeleted(viewingHistory);
+    }
+}
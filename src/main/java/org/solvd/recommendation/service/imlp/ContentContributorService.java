@@ -6,7 +6,6 @@ import org.solvd.recommendation.service.IContentContributorService;
 import org.solvd.recommendation.util.CompositeKey3;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * ContentContributor service implementation.
@@ -21,15 +20,11 @@ public class ContentContributorService
 
     @Override
     public List<ContentContributor> getByMovie(Long movieId) {
-        return dao.getAll().stream()
-                .filter(cc -> cc.getMovieId().equals(movieId))
-                .collect(Collectors.toList());
+        return dao.findByMovie(movieId);
     }
 
     @Override
     public List<ContentContributor> getByPerson(Long personId) {
-        return dao.getAll().stream()
-                .filter(cc -> cc.getPersonId().equals(personId))
-                .collect(Collectors.toList());
+        return dao.findByPerson(personId);
     }
 }
\ No newline at end of file
@@ -5,19 +5,34 @@ import org.solvd.recommendation.model.Genre;
 import org.solvd.recommendation.model.MovieGenres;
 import org.solvd.recommendation.service.IGenreService;
 import org.solvd.recommendation.service.IMovieGenreService;
+import org.solvd.recommendation.service.ReferenceDataRegistry;
+
+import java.util.Collection;
+import java.util.List;
 
 /**
  * Genre service implementation.
  */
 
-public class GenreService extends AbstractService<Genre, Long, IGenreDAO> implements IGenreService {
+public class GenreService extends AbstractReferenceDataService<Genre, IGenreDAO> implements IGenreService {
     private final IMovieGenreService movieGenreService;
 
-    public GenreService(IGenreDAO dao, IMovieGenreService movieGenreService) {
-        super(dao);
+    public GenreService(IGenreDAO dao, IMovieGenreService movieGenreService,
+                        ReferenceDataRegistry referenceDataRegistry) {
+        super(dao, referenceDataRegistry);
         this.movieGenreService = movieGenreService;
     }
 
+    @Override
+    public List<Genre> getByIds(Collection<Long> genreIds) {
+        return dao.getByIds(genreIds);
+    }
+
+    @Override
+    public List<Genre> getByMovie(Long movieId) {
+        return dao.findByMovie(movieId);
+    }
+
     @Override
     public void addGenreToMovie(Long movieId, Long genreId) {
         MovieGenres movieGenres = new MovieGenres();
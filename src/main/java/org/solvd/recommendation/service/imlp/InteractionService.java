@@ -5,23 +5,39 @@ import org.solvd.recommendation.model.Interaction;
 import org.solvd.recommendation.model.UserInteraction;
 import org.solvd.recommendation.service.IInteractionService;
 import org.solvd.recommendation.service.IUserInteractionService;
+import org.solvd.recommendation.service.ReferenceDataRegistry;
+import org.solvd.recommendation.util.writebehind.WriteBehindBuffer;
 
 import java.util.List;
 
 /**
  * Interaction service implementation.
  */
-public class InteractionService extends AbstractService<Interaction, Long, IInteractionDAO> implements IInteractionService {
+public class InteractionService extends AbstractReferenceDataService<Interaction, IInteractionDAO> implements IInteractionService {
     private final IUserInteractionService userInteractionService;
+    // null when user interactions are written synchronously
+    private final WriteBehindBuffer<UserInteraction> writeBehindBuffer;
 
-    public InteractionService(IInteractionDAO dao, IUserInteractionService userInteractionService) {
-        super(dao);
+    public InteractionService(IInteractionDAO dao, IUserInteractionService userInteractionService,
+                              ReferenceDataRegistry referenceDataRegistry) {
+        this(dao, userInteractionService, referenceDataRegistry, null);
+    }
+
+    public InteractionService(IInteractionDAO dao, IUserInteractionService userInteractionService,
+                              ReferenceDataRegistry referenceDataRegistry,
+                              WriteBehindBuffer<UserInteraction> writeBehindBuffer) {
+        super(dao, referenceDataRegistry);
         this.userInteractionService = userInteractionService;
+        this.writeBehindBuffer = writeBehindBuffer;
     }
 
     @Override
     public void addUserInteraction(UserInteraction interaction) {
-        userInteractionService.create(interaction);
+        if (writeBehindBuffer != null) {
+            writeBehindBuffer.add(interaction);
+        } else {
+            userInteractionService.create(interaction);
+        }
     }
 
     @Override
@@ -7,7 +7,6 @@ import org.solvd.recommendation.service.IMovieGenreService;
 import org.solvd.recommendation.util.CompositeKey2;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * MovieGenre service implementation.
@@ -32,15 +31,11 @@ public class MovieGenreService
 
     @Override
     public List<MovieGenres> getByMovie(Long movieId) {
-        return dao.getAll().stream()
-                .filter(mg -> mg.getMovieId().equals(movieId))
-                .collect(Collectors.toList());
+        return dao.findByMovie(movieId);
     }
 
     @Override
     public List<MovieGenres> getByGenre(Long genreId) {
-        return dao.getAll().stream()
-                .filter(mg -> mg.getGenreId().equals(genreId))
-                .collect(Collectors.toList());
+        return dao.findByGenre(genreId);
     }
 }
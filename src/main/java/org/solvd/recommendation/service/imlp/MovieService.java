@@ -3,25 +3,97 @@ package org.solvd.recommendation.service.imlp;
 import org.solvd.recommendation.dao.IMovieDAO;
 import org.solvd.recommendation.model.Genre;
 import org.solvd.recommendation.model.Movie;
-import org.solvd.recommendation.model.MovieGenres;
+import org.solvd.recommendation.model.MovieDetails;
 import org.solvd.recommendation.model.Person;
 import org.solvd.recommendation.service.*;
+import org.solvd.recommendation.util.MyBatisUtil;
 
+import java.util.Collection;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Movie service implementation.
+ * Every write invalidates the {@link MovieCatalog}, so candidate enumeration sees the change.
+ * Deleting a movie publishes the deletes of its ratings, interactions and viewing history,
+ * which the database removes through ON DELETE CASCADE.
  */
 
-public class MovieService extends AbstractService<Movie, Long, IMovieDAO> implements IMovieService {
+public class MovieService extends AbstractPagedService<Movie, IMovieDAO> implements IMovieService {
     private final IMovieGenreService movieGenreService;
     private final IContentContributorService contentContributorService;
+    private final MovieCatalog movieCatalog;
 
-    public MovieService(IMovieDAO dao, IMovieGenreService movieGenreService, IContentContributorService contentContributorService) {
+    public MovieService(IMovieDAO dao, IMovieGenreService movieGenreService, IContentContributorService contentContributorService,
+                        MovieCatalog movieCatalog) {
         super(dao);
         this.movieGenreService = movieGenreService;
         this.contentContributorService = contentContributorService;
+        this.movieCatalog = movieCatalog;
+    }
+
+    @Override
+    public Long create(Movie entity) {
+        Long id = super.create(entity);
+        movieCatalog.invalidate();
+        return id;
+    }
+
+    @Override
+    public void update(Movie entity) {
+        super.update(entity);
+        movieCatalog.invalidate();
+    }
+
+    @Override
+    public void delete(Movie entity) {
+        CascadedRows cascaded = MyBatisUtil.withSession(() -> {
+            CascadedRows rows = CascadedRows.ofMovies(List.of(entity.getMovieId()));
+            super.delete(entity);
+            return rows;
+        });
+        movieCatalog.invalidate();
+        cascaded.publish();
+    }
+
+    @Override
+    public void createAll(Collection<Movie> entities) {
+        super.createAll(entities);
+        movieCatalog.invalidate();
+    }
+
+    @Override
+    public void updateAll(Collection<Movie> entities) {
+        super.updateAll(entities);
+        movieCatalog.invalidate();
+    }
+
+    @Override
+    public void deleteAll(Collection<Movie> entities) {
+        CascadedRows cascaded = CascadedRows.ofMovies(entities.stream().map(Movie::getMovieId).toList());
+        super.deleteAll(entities);
+        movieCatalog.invalidate();
+        cascaded.publish();
+    }
+
+    @Override
+    protected Long getEntityId(Movie movie) {
+        return movie.getMovieId();
+    }
+
+    @Override
+    public List<Movie> getByIds(Collection<Long> movieIds) {
+        return dao.getByIds(movieIds);
+    }
+
+    @Override
+    public MovieDetails getMovieDetails(Long movieId) {
+        List<MovieDetails> details = dao.getDetailsByIds(List.of(movieId));
+        return details.isEmpty() ? null : details.get(0);
+    }
+
+    @Override
+    public List<MovieDetails> getMovieDetails(Collection<Long> movieIds) {
+        return dao.getDetailsByIds(movieIds);
     }
 
     @Override
@@ -29,9 +101,7 @@ public class MovieService extends AbstractService<Movie, Long, IMovieDAO> implem
         ServiceFactory serviceFactory = ServiceFactory.getInstance();
         IGenreService genreService =  serviceFactory.getGenreService();
 
-        return movieGenreService.getByMovie(movieId).stream()
-                .map(mg -> genreService.getById(mg.getGenreId()))
-                .collect(Collectors.toList());
+        return genreService.getByMovie(movieId);
     }
 
     @Override
@@ -39,18 +109,16 @@ public class MovieService extends AbstractService<Movie, Long, IMovieDAO> implem
         ServiceFactory serviceFactory = ServiceFactory.getInstance();
         IPersonService personService = serviceFactory.getPersonService();
 
-        return contentContributorService.getByMovie(movieId).stream()
-                .filter(cc -> roleId == null || cc.getPersonRoleId().equals(roleId))
-                .map(cc -> personService.getById(cc.getPersonId()))
-                .collect(Collectors.toList());
+        return personService.getByMovie(movieId, roleId);
     }
 
     @Override
     public List<Movie> getMoviesByGenre(Long genreId) {
-        List<MovieGenres> genreMovies = movieGenreService.getByGenre(genreId);
+        return dao.findByGenre(genreId);
+    }
 
-        return genreMovies.stream()
-                .map(mg -> getById(mg.getMovieId()))
-                .collect(Collectors.toList());
+    @Override
+    public List<Movie> getMoviesByPerson(Long personId, Integer roleId) {
+        return dao.findByPerson(personId, roleId == null ? null : roleId.longValue());
     }
 }
\ No newline at end of file
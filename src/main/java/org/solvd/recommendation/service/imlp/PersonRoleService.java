@@ -3,13 +3,14 @@ package org.solvd.recommendation.service.imlp;
 import org.solvd.recommendation.dao.IPersonRoleDAO;
 import org.solvd.recommendation.model.PersonRole;
 import org.solvd.recommendation.service.IPersonRoleService;
+import org.solvd.recommendation.service.ReferenceDataRegistry;
 
 /**
  * PersonRole service implementation.
  */
-public class PersonRoleService extends AbstractService<PersonRole, Long, IPersonRoleDAO> implements IPersonRoleService {
+public class PersonRoleService extends AbstractReferenceDataService<PersonRole, IPersonRoleDAO> implements IPersonRoleService {
 
-    public PersonRoleService(IPersonRoleDAO dao) {
-        super(dao);
+    public PersonRoleService(IPersonRoleDAO dao, ReferenceDataRegistry referenceDataRegistry) {
+        super(dao, referenceDataRegistry);
     }
 }
\ No newline at end of file
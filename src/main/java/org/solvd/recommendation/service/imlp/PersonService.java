@@ -1,7 +1,6 @@
 package org.solvd.recommendation.service.imlp;
 
 import org.solvd.recommendation.dao.IPersonDAO;
-import org.solvd.recommendation.model.ContentContributor;
 import org.solvd.recommendation.model.Movie;
 import org.solvd.recommendation.model.Person;
 import org.solvd.recommendation.service.IContentContributorService;
@@ -9,7 +8,6 @@ import org.solvd.recommendation.service.IPersonService;
 import org.solvd.recommendation.service.ServiceFactory;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Person service implementation.
@@ -25,15 +23,11 @@ public class PersonService extends AbstractService<Person, Long, IPersonDAO> imp
 
     @Override
     public List<Movie> getMoviesByPerson(Long personId, Integer roleId) {
-        ServiceFactory serviceFactory = ServiceFactory.getInstance();
-        MovieService movieService = (MovieService) serviceFactory.getMovieService();
-
-        List<ContentContributor> contributions = contentContributorService.getByPerson(personId).stream()
-                .filter(cc -> roleId == null || cc.getPersonRoleId().equals(roleId))
-                .toList();
+        return ServiceFactory.getInstance().getMovieService().getMoviesByPerson(personId, roleId);
+    }
 
-        return contributions.stream()
-                .map(cc -> movieService.getById(cc.getMovieId()))
-                .collect(Collectors.toList());
+    @Override
+    public List<Person> getByMovie(Long movieId, Integer roleId) {
+        return dao.findByMovie(movieId, roleId == null ? null : roleId.longValue());
     }
 }
\ No newline at end of file
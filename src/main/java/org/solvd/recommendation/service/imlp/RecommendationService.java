@@ -8,6 +8,7 @@ import org.solvd.recommendation.model.Movie;
 import org.solvd.recommendation.model.UserRating;
 import org.solvd.recommendation.model.ViewingHistory;
 import org.solvd.recommendation.service.*;
+import org.solvd.recommendation.util.MyBatisUtil;
 
 import java.sql.Timestamp;
 import java.time.Instant;
@@ -18,6 +19,7 @@ import java.util.stream.Collectors;
 /**
  * Implementation of the recommendation service interface.
  * Provides methods for generating movie recommendations using different algorithms.
+ * Each recommendation runs as one unit of work on a single SqlSession.
  */
 
 public class RecommendationService implements IRecommendationService {
@@ -38,7 +40,7 @@ public class RecommendationService implements IRecommendationService {
         IRecommendationAlgorithm algorithm = algorithmFactory.createAlgorithm(
                 RecommendationAlgorithmFactory.AlgorithmType.HYBRID_RECOMMENDATION);
 
-        return algorithm.recommendMovies(userId, limit);
+        return MyBatisUtil.withSession(() -> algorithm.recommendMovies(userId, limit));
     }
 
     @Override
@@ -48,7 +50,27 @@ public class RecommendationService implements IRecommendationService {
         IRecommendationAlgorithm algorithm = algorithmFactory.createAlgorithm(
                 RecommendationAlgorithmFactory.AlgorithmType.COLLABORATIVE_FILTERING);
 
-        return algorithm.recommendMovies(userId, limit);
+        return MyBatisUtil.withSession(() -> algorithm.recommendMovies(userId, limit));
+    }
+
+    @Override
+    public List<Movie> getItemBasedRecommendations(Long userId, int limit) {
+        logger.info("Generating {} item-based recommendations for user {}", limit, userId);
+
+        IRecommendationAlgorithm algorithm = algorithmFactory.createAlgorithm(
+                RecommendationAlgorithmFactory.AlgorithmType.ITEM_BASED_COLLABORATIVE);
+
+        return MyBatisUtil.withSession(() -> algorithm.recommendMovies(userId, limit));
+    }
+
+    @Override
+    public List<Movie> getMatrixFactorizationRecommendations(Long userId, int limit) {
+        logger.info("Generating {} matrix factorization recommendations for user {}", limit, userId);
+
+        IRecommendationAlgorithm algorithm = algorithmFactory.createAlgorithm(
+                RecommendationAlgorithmFactory.AlgorithmType.MATRIX_FACTORIZATION);
+
+        return MyBatisUtil.withSession(() -> algorithm.recommendMovies(userId, limit));
     }
 
     @Override
@@ -58,7 +80,7 @@ public class RecommendationService implements IRecommendationService {
         IRecommendationAlgorithm algorithm = algorithmFactory.createAlgorithm(
                 RecommendationAlgorithmFactory.AlgorithmType.CONTENT_BASED_FILTERING);
 
-        return algorithm.recommendMovies(userId, limit);
+        return MyBatisUtil.withSession(() -> algorithm.recommendMovies(userId, limit));
     }
 
 }
\ No newline at end of file
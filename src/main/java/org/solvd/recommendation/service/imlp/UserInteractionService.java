@@ -1,33 +1,45 @@
 package org.solvd.recommendation.service.imlp;
 
+import org.solvd.recommendation.changefeed.ChangeEvent;
+import org.solvd.recommendation.changefeed.ChangeFeed;
 import org.solvd.recommendation.dao.IUserInteractionDAO;
 import org.solvd.recommendation.model.UserInteraction;
 import org.solvd.recommendation.service.IUserInteractionService;
 import org.solvd.recommendation.util.CompositeKey3;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * UserInteraction service implementation.
  */
 public class UserInteractionService
-        extends AbstractService<UserInteraction, CompositeKey3<Long, Long, Long>, IUserInteractionDAO>
+        extends AbstractChangeFeedService<UserInteraction, CompositeKey3<Long, Long, Long>, IUserInteractionDAO>
         implements IUserInteractionService {
 
-    public UserInteractionService(IUserInteractionDAO dao) {
-        super(dao);
+    public UserInteractionService(IUserInteractionDAO dao, ChangeFeed changeFeed) {
+        super(dao, changeFeed);
     }
 
     public List<UserInteraction> getByUser(Long userId) {
-        return dao.getAll().stream()
-                .filter(ui -> ui.getUserId().equals(userId))
-                .collect(Collectors.toList());
+        return dao.findByUser(userId);
     }
 
     public List<UserInteraction> getByMovie(Long movieId) {
-        return dao.getAll().stream()
-                .filter(ui -> ui.getMovieId().equals(movieId))
-                .collect(Collectors.toList());
+        return dao.findByMovie(movieId);
     }
-}
\ No newline at end of file
+
+    @Override
+    protected ChangeEvent.EntityType getEntityType() {
+        return ChangeEvent.EntityType.USER_INTERACTION;
+    }
+
+    @Override
+    protected Long getUserId(UserInteraction interaction) {
+        return interaction.getUserId();
+    }
+
+    @Override
+    protected Long getMovieId(UserInteraction interaction) {
+        return interaction.getMovieId();
+    }
+}
@@ -6,7 +6,6 @@ import org.solvd.recommendation.service.IUserPreferredGenreService;
 import org.solvd.recommendation.util.CompositeKey2;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * UserPreferredGenre service implementation.
@@ -31,8 +30,6 @@ public class UserPreferredGenreService
 
     @Override
     public List<UserPreferredGenre> getByUser(Long userId) {
-        return dao.getAll().stream()
-                .filter(upg -> upg.getUserId().equals(userId))
-                .collect(Collectors.toList());
+        return dao.findByUser(userId);
     }
 }
\ No newline at end of file
@@ -1,38 +1,42 @@
 package org.solvd.recommendation.service.imlp;
 
-import org.solvd.recommendation.dao.IContentContributorDAO;
+import org.solvd.recommendation.changefeed.ChangeEvent;
+import org.solvd.recommendation.changefeed.ChangeFeed;
 import org.solvd.recommendation.dao.IUserRatingDAO;
-import org.solvd.recommendation.model.ContentContributor;
 import org.solvd.recommendation.model.UserRating;
 import org.solvd.recommendation.observer.MovieRatingObserver;
 import org.solvd.recommendation.observer.IRatingChangedObserver;
-import org.solvd.recommendation.service.IContentContributorService;
-import org.solvd.recommendation.service.IMovieService;
 import org.solvd.recommendation.service.IUserRatingService;
+import org.solvd.recommendation.service.MovieRatingAggregates;
 import org.solvd.recommendation.util.CompositeKey2;
-import org.solvd.recommendation.util.CompositeKey3;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * UserRating service implementation.
  */
 
 public class UserRatingService
-        extends AbstractService<UserRating, CompositeKey2<Long, Long>, IUserRatingDAO>
+        extends AbstractChangeFeedService<UserRating, CompositeKey2<Long, Long>, IUserRatingDAO>
         implements IUserRatingService {
-    private final List<IRatingChangedObserver> observers = new ArrayList<>();
-    private final IMovieService movieService;
+    private final List<IRatingChangedObserver> observers = new CopyOnWriteArrayList<>();
+    private final MovieRatingAggregates ratingAggregates;
 
-    public UserRatingService(IUserRatingDAO dao, IMovieService movieService) {
-        super(dao);
-        this.movieService = movieService;
+    public UserRatingService(IUserRatingDAO dao, ChangeFeed changeFeed, MovieRatingAggregates ratingAggregates) {
+        this(dao, changeFeed, ratingAggregates, new MovieRatingObserver(ratingAggregates));
+    }
+
+    /**
+     * @param movieRatingObserver keeps the aggregates current, possibly through an asynchronous dispatcher
+     */
+    public UserRatingService(IUserRatingDAO dao, ChangeFeed changeFeed, MovieRatingAggregates ratingAggregates,
+                             IRatingChangedObserver movieRatingObserver) {
+        super(dao, changeFeed);
+        this.ratingAggregates = ratingAggregates;
         // Add the movie rating observer to update average ratings
-        addObserver(new MovieRatingObserver(movieService));
+        addObserver(movieRatingObserver);
     }
 
     @Override
@@ -42,27 +46,62 @@ public class UserRatingService
 
     @Override
     public void saveRating(UserRating rating) {
-        UserRating existingRating = getByUserAndMovie(rating.getUserId(), rating.getMovieId());
-        if (existingRating == null) {
-            dao.save(rating);
-            notifyRatingChanged(rating);
-        } else {
-            existingRating.setRatingValue(rating.getRatingValue());
-            dao.update(existingRating);
-            notifyRatingChanged(existingRating);
-        }
+        dao.upsert(rating);
+        publish(ChangeEvent.ChangeType.UPSERT, List.of(rating));
+        notifyRatingChanged(rating);
+    }
+
+    @Override
+    public void saveRatings(Collection<UserRating> ratings) {
+        dao.upsertAll(ratings, chunk -> {
+            publish(ChangeEvent.ChangeType.UPSERT, chunk);
+            notifyRatingsChanged(chunk);
+        });
     }
 
     @Override
     public void updateRating(UserRating rating) {
         dao.update(rating);
+        publish(ChangeEvent.ChangeType.UPSERT, List.of(rating));
         notifyRatingChanged(rating);
     }
 
     @Override
     public void deleteRating(UserRating rating) {
         dao.delete(rating);
-        notifyRatingChanged(null);
+        publish(ChangeEvent.ChangeType.DELETE, List.of(rating));
+        notifyRatingChanged(rating);
+    }
+
+    @Override
+    public void createAll(Collection<UserRating> ratings) {
+        dao.saveAll(ratings, chunk -> {
+            publish(ChangeEvent.ChangeType.UPSERT, chunk);
+            notifyRatingsAdded(chunk);
+        });
+    }
+
+    @Override
+    public void updateAll(Collection<UserRating> ratings) {
+        dao.updateAll(ratings, chunk -> {
+            publish(ChangeEvent.ChangeType.UPSERT, chunk);
+            notifyRatingsChanged(chunk);
+        });
+    }
+
+    @Override
+    public void deleteAll(Collection<UserRating> ratings) {
+        dao.deleteAll(ratings, chunk -> {
+            publish(ChangeEvent.ChangeType.DELETE, chunk);
+            notifyRatingsChanged(chunk);
+        });
+    }
+
+    @Override
+    public void cascadeDeleted(List<UserRating> ratings) {
+        if (ratings.isEmpty()) return;
+        super.cascadeDeleted(ratings);
+        notifyRatingsChanged(ratings);
     }
 
     @Override
@@ -77,41 +116,22 @@ public class UserRatingService
 
     @Override
     public double getAverageRating(Long movieId) {
-        List<UserRating> ratings = getAllMovieRatings(movieId);
-        if (ratings.isEmpty()) {
-            return 0.0;
-        }
-
-        double sum = ratings.stream()
-                .mapToDouble(r -> r.getRatingValue().doubleValue())
-                .sum();
-
-        return BigDecimal.valueOf(sum / ratings.size())
-                .setScale(2, RoundingMode.HALF_UP)
-                .doubleValue();
+        return ratingAggregates.getAverageRating(movieId);
     }
 
     @Override
     public UserRating getByUserAndMovie(Long userId, Long movieId) {
-        try {
-            return dao.get(new CompositeKey2<>(userId, movieId));
-        } catch (Exception e) {
-            return null;
-        }
+        return dao.findByUserAndMovie(userId, movieId);
     }
 
     @Override
     public List<UserRating> getAllUserRatings(Long userId) {
-        return dao.getAll().stream()
-                .filter(rating -> rating.getUserId().equals(userId))
-                .collect(Collectors.toList());
+        return dao.findByUser(userId);
     }
 
     @Override
     public List<UserRating> getAllMovieRatings(Long movieId) {
-        return dao.getAll().stream()
-                .filter(rating -> rating.getMovieId().equals(movieId))
-                .collect(Collectors.toList());
+        return dao.findByMovie(movieId);
     }
 
     // Observer pattern methods
@@ -129,8 +149,30 @@ public class UserRatingService
         }
     }
 
+    private void notifyRatingsAdded(List<UserRating> ratings) {
+        for (IRatingChangedObserver observer : observers) {
+            observer.onRatingsAdded(ratings);
+        }
+    }
 
+    private void notifyRatingsChanged(List<UserRating> ratings) {
+        for (IRatingChangedObserver observer : observers) {
+            observer.onRatingsChanged(ratings);
+        }
+    }
 
+    @Override
+    protected ChangeEvent.EntityType getEntityType() {
+        return ChangeEvent.EntityType.USER_RATING;
+    }
 
-}
+    @Override
+    protected Long getUserId(UserRating rating) {
+        return rating.getUserId();
+    }
 
+    @Override
+    protected Long getMovieId(UserRating rating) {
+        return rating.getMovieId();
+    }
+}
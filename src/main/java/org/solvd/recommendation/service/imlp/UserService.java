@@ -3,18 +3,26 @@ package org.solvd.recommendation.service.imlp;
 import org.solvd.recommendation.dao.IUserDAO;
 import org.solvd.recommendation.model.Genre;
 import org.solvd.recommendation.model.User;
+import org.solvd.recommendation.observer.IUserChangedObserver;
 import org.solvd.recommendation.service.IUserPreferredGenreService;
 import org.solvd.recommendation.service.IUserService;
 import org.solvd.recommendation.service.ServiceFactory;
+import org.solvd.recommendation.util.MyBatisUtil;
 
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * User service implementation.
+ * Deleting a user publishes the deletes of the user's ratings, interactions and viewing history,
+ * which the database removes through ON DELETE CASCADE.
  */
 
-public class UserService extends AbstractService<User, Long, IUserDAO> implements IUserService {
+public class UserService extends AbstractPagedService<User, IUserDAO> implements IUserService {
+    private final List<IUserChangedObserver> observers = new CopyOnWriteArrayList<>();
     private final IUserPreferredGenreService userPreferredGenreService;
 
     public UserService(IUserDAO dao, IUserPreferredGenreService userPreferredGenreService) {
@@ -22,13 +30,80 @@ public class UserService extends AbstractService<User, Long, IUserDAO> implement
         this.userPreferredGenreService = userPreferredGenreService;
     }
 
+    @Override
+    protected Long getEntityId(User user) {
+        return user.getUserId();
+    }
+
     @Override
     public Set<Genre> getUserPreferredGenres(Long userId) {
         ServiceFactory serviceFactory = ServiceFactory.getInstance();
         GenreService genreService = (GenreService) serviceFactory.getGenreService();
 
-        return userPreferredGenreService.getByUser(userId).stream()
-                .map(upg -> genreService.getById(upg.getGenreId()))
-                .collect(Collectors.toSet());
+        List<Long> genreIds = userPreferredGenreService.getByUser(userId).stream()
+                .map(upg -> upg.getGenreId())
+                .toList();
+        return new HashSet<>(genreService.getByIds(genreIds));
+    }
+
+    @Override
+    public User getByUsername(String username) {
+        return dao.getByUsername(username);
+    }
+
+    @Override
+    public List<User> getByIds(Collection<Long> userIds) {
+        return dao.getByIds(userIds);
+    }
+
+    @Override
+    public List<User> getUsersWhoWatched(Long movieId) {
+        return dao.findByWatchedMovie(movieId);
+    }
+
+    @Override
+    public void update(User user) {
+        super.update(user);
+        notifyUserChanged(user);
+    }
+
+    @Override
+    public void delete(User user) {
+        CascadedRows cascaded = MyBatisUtil.withSession(() -> {
+            CascadedRows rows = CascadedRows.ofUsers(List.of(user.getUserId()));
+            super.delete(user);
+            return rows;
+        });
+        cascaded.publish();
+        notifyUserChanged(user);
+    }
+
+    @Override
+    public void updateAll(Collection<User> users) {
+        dao.updateAll(users, chunk -> chunk.forEach(this::notifyUserChanged));
+    }
+
+    @Override
+    public void deleteAll(Collection<User> users) {
+        CascadedRows cascaded = CascadedRows.ofUsers(users.stream().map(User::getUserId).toList());
+        dao.deleteAll(users, chunk -> chunk.forEach(this::notifyUserChanged));
+        cascaded.publish();
+    }
+
+    // Observer pattern methods
+    @Override
+    public void addObserver(IUserChangedObserver observer) {
+        observers.add(observer);
+    }
+
+    @Override
+    public void removeObserver(IUserChangedObserver observer) {
+        observers.remove(observer);
+    }
+
+    private void notifyUserChanged(User user) {
+        for (IUserChangedObserver observer : observers) {
+            observer.onUserChanged(user);
+        }
     }
-}
\ No newline at end of file
+}
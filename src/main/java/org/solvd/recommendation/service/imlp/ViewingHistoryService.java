@@ -1,6 +1,7 @@
 package org.solvd.recommendation.service.imlp;
 
-import org.solvd.recommendation.dao.IUserRatingDAO;
+import org.solvd.recommendation.changefeed.ChangeEvent;
+import org.solvd.recommendation.changefeed.ChangeFeed;
 import org.solvd.recommendation.dao.IViewingHistoryDAO;
 import org.solvd.recommendation.model.User;
 import org.solvd.recommendation.model.UserRating;
@@ -8,22 +9,33 @@ import org.solvd.recommendation.model.ViewingHistory;
 import org.solvd.recommendation.service.IUserService;
 import org.solvd.recommendation.service.IViewingHistoryService;
 import org.solvd.recommendation.util.CompositeKey2;
+import org.solvd.recommendation.util.writebehind.WriteBehindBuffer;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * ViewingHistory service implementation.
  */
 
 public class ViewingHistoryService
-        extends AbstractService<ViewingHistory, CompositeKey2<Long, Long>, IViewingHistoryDAO>
+        extends AbstractChangeFeedService<ViewingHistory, CompositeKey2<Long, Long>, IViewingHistoryDAO>
         implements IViewingHistoryService {
     private final IUserService userService;
+    // null when viewing history is written synchronously
+    private final WriteBehindBuffer<ViewingHistory> writeBehindBuffer;
 
-    public ViewingHistoryService(IViewingHistoryDAO dao, IUserService userService) {
-        super(dao);
+    public ViewingHistoryService(IViewingHistoryDAO dao, ChangeFeed changeFeed, IUserService userService) {
+        this(dao, changeFeed, userService, null);
+    }
+
+    /**
+     * @param writeBehindBuffer must write its batches through {@link #createAll}, so they reach the change feed
+     */
+    public ViewingHistoryService(IViewingHistoryDAO dao, ChangeFeed changeFeed, IUserService userService,
+                                 WriteBehindBuffer<ViewingHistory> writeBehindBuffer) {
+        super(dao, changeFeed);
         this.userService = userService;
+        this.writeBehindBuffer = writeBehindBuffer;
     }
 
     @Override
@@ -37,17 +49,21 @@ public class ViewingHistoryService
 
     @Override
     public void addViewingHistory(ViewingHistory viewingHistory) {
-        dao.save(viewingHistory);
+        if (writeBehindBuffer != null) {
+            writeBehindBuffer.add(viewingHistory);
+        } else {
+            create(viewingHistory);
+        }
     }
 
     @Override
     public void updateViewingHistory(ViewingHistory viewingHistory) {
-        dao.update(viewingHistory);
+        update(viewingHistory);
     }
 
     @Override
     public void deleteViewingHistory(ViewingHistory viewingHistory) {
-        dao.delete(viewingHistory);
+        delete(viewingHistory);
     }
 
     @Override
@@ -55,20 +71,26 @@ public class ViewingHistoryService
         if (userId == null) {
             return dao.getAll();
         }
-        return dao.getAll().stream()
-                .filter(history -> history.getUserId().equals(userId))
-                .collect(Collectors.toList());
+        return dao.findByUser(userId);
     }
 
     @Override
     public List<User> getUsersWhoWatched(Long movieId) {
-        List<ViewingHistory> history = dao.getAll().stream()
-                .filter(vh -> vh.getMovieId().equals(movieId))
-                .toList();
+        return userService.getUsersWhoWatched(movieId);
+    }
+
+    @Override
+    protected ChangeEvent.EntityType getEntityType() {
+        return ChangeEvent.EntityType.VIEWING_HISTORY;
+    }
 
-        return history.stream()
-                .map(vh -> userService.getById(vh.getUserId()))
-                .collect(Collectors.toList());
+    @Override
+    protected Long getUserId(ViewingHistory viewingHistory) {
+        return viewingHistory.getUserId();
     }
 
-}
\ No newline at end of file
+    @Override
+    protected Long getMovieId(ViewingHistory viewingHistory) {
+        return viewingHistory.getMovieId();
+    }
+}
@@ -0,0 +1,33 @@
+package org.solvd.recommendation.snapshot;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.solvd.recommendation.dao.DAOFactory;
+import org.solvd.recommendation.dao.DAOFactory.DAOType;
+import org.solvd.recommendation.util.AppConfig;
+
+import java.nio.file.Path;
+
+/**
+ * Export job: writes a snapshot of the MySQL tables to the path given as the first argument,
+ * or to {@code dao.memory.snapshot.path} when no argument is given.
+ */
+public class SnapshotExporter {
+    private static final Logger logger = LoggerFactory.getLogger(SnapshotExporter.class);
+
+    public static void main(String[] args) {
+        String target = args.length > 0 ? args[0] : AppConfig.getString("dao.memory.snapshot.path", null);
+        if (target == null) {
+            logger.error("No snapshot path given and dao.memory.snapshot.path is not set");
+            System.exit(1);
+        }
+
+        SnapshotWriter writer = new SnapshotWriter(
+                DAOFactory.getMovieDAO(DAOType.MYBATIS),
+                DAOFactory.getUserRatingDAO(DAOType.MYBATIS),
+                DAOFactory.getUserInteractionDAO(DAOType.MYBATIS),
+                DAOFactory.getViewingHistoryDAO(DAOType.MYBATIS),
+                DAOFactory.getMovieGenreDAO(DAOType.MYBATIS));
+        writer.write(Path.of(target));
+    }
+}
@@ -0,0 +1,51 @@
+package org.solvd.recommendation.snapshot;
+
+import java.nio.ByteOrder;
+
+/**
+ * Layout of the binary table snapshot.
+ * <p>
+ * <pre>
+ * header:    magic (int) | version (int) | createdAt epoch millis (long) | sectionCount (int)
+ * directory: per section: sectionId (int) | rowCount (int) | offset (long) | length (long) | crc32 (long)
+ * sections:  one column after another, each column holding rowCount values;
+ *            the movie section ends with the UTF-8 bytes of all titles
+ * </pre>
+ * All values are little-endian. Missing values are stored as the sentinels below.
+ */
+final class SnapshotFormat {
+    static final int MAGIC = 0x4D525353; // "MRSS"
+    static final int VERSION = 1;
+    static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    static final int HEADER_BYTES = Integer.BYTES * 3 + Long.BYTES;
+    static final int DIRECTORY_ENTRY_BYTES = Integer.BYTES * 2 + Long.BYTES * 3;
+
+    // Scale of the DECIMAL(3,2) rating columns, stored as doubles and rescaled on read
+    static final int DECIMAL_SCALE = 2;
+
+    static final long NULL_LONG = Long.MIN_VALUE;
+    static final int NULL_INT = Integer.MIN_VALUE;
+
+    // Section IDs, never reuse a retired value
+    static final int MOVIE = 1;
+    static final int USER_RATING = 2;
+    static final int USER_INTERACTION = 3;
+    static final int VIEWING_HISTORY = 4;
+    static final int MOVIE_GENRES = 5;
+
+    /**
+     * @return the widths of the fixed-size columns of a section, in file order,
+     * or {@code null} for a section ID this version does not know
+     */
+    static int[] columnBytes(int sectionId) {
+        return switch (sectionId) {
+            case MOVIE -> new int[]{Long.BYTES, Integer.BYTES, Long.BYTES, Long.BYTES, Integer.BYTES};
+            case USER_RATING, USER_INTERACTION, VIEWING_HISTORY -> new int[]{Long.BYTES, Long.BYTES, Long.BYTES};
+            case MOVIE_GENRES -> new int[]{Long.BYTES, Long.BYTES};
+            default -> null;
+        };
+    }
+
+    private SnapshotFormat() {}
+}
@@ -0,0 +1,232 @@
+package org.solvd.recommendation.snapshot;
+
+import org.solvd.recommendation.exeption.SnapshotException;
+import org.solvd.recommendation.model.Movie;
+import org.solvd.recommendation.model.MovieGenres;
+import org.solvd.recommendation.model.UserInteraction;
+import org.solvd.recommendation.model.UserRating;
+import org.solvd.recommendation.model.ViewingHistory;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Memory-maps a snapshot written by {@link SnapshotWriter}.
+ * <p>
+ * Each column is mapped read-only on its own, so sections are not limited to the 2 GB a single
+ * mapping can hold, and every section is checked against its CRC32 when the file is opened;
+ * rows are decoded lazily, straight from the mapped columns, as the returned streams are consumed.
+ */
+public class SnapshotReader {
+    private final long createdAt;
+    private final Map<Integer, SectionView> sections;
+
+    private SnapshotReader(long createdAt, Map<Integer, SectionView> sections) {
+        this.createdAt = createdAt;
+        this.sections = sections;
+    }
+
+    public static SnapshotReader open(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < SnapshotFormat.HEADER_BYTES) {
+                throw new SnapshotException("Snapshot " + path + " is truncated");
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, SnapshotFormat.HEADER_BYTES)
+                    .order(SnapshotFormat.BYTE_ORDER);
+            if (header.getInt() != SnapshotFormat.MAGIC) {
+                throw new SnapshotException(path + " is not a snapshot file");
+            }
+            int version = header.getInt();
+            if (version != SnapshotFormat.VERSION) {
+                throw new SnapshotException("Unsupported snapshot version " + version + " in " + path);
+            }
+            long createdAt = header.getLong();
+            int sectionCount = header.getInt();
+
+            long directoryBytes = (long) sectionCount * SnapshotFormat.DIRECTORY_ENTRY_BYTES;
+            if (sectionCount < 0 || channel.size() < SnapshotFormat.HEADER_BYTES + directoryBytes) {
+                throw new SnapshotException("Snapshot " + path + " has a corrupt section directory");
+            }
+            ByteBuffer directory = channel.map(FileChannel.MapMode.READ_ONLY, SnapshotFormat.HEADER_BYTES, directoryBytes)
+                    .order(SnapshotFormat.BYTE_ORDER);
+
+            Map<Integer, SectionView> sections = new HashMap<>();
+            for (int i = 0; i < sectionCount; i++) {
+                int id = directory.getInt();
+                int rowCount = directory.getInt();
+                long offset = directory.getLong();
+                long length = directory.getLong();
+                long checksum = directory.getLong();
+                if (offset < 0 || length < 0 || offset + length > channel.size()) {
+                    throw new SnapshotException("Section " + id + " of snapshot " + path + " is out of bounds");
+                }
+
+                int[] columnBytes = SnapshotFormat.columnBytes(id);
+                if (columnBytes == null) {
+                    continue; // written by a newer version, not read by this one
+                }
+                SectionView section = SectionView.map(channel, rowCount, offset, length, columnBytes);
+                if (section.checksum() != checksum) {
+                    throw new SnapshotException("Checksum mismatch in section " + id + " of snapshot " + path);
+                }
+                sections.put(id, section);
+            }
+            return new SnapshotReader(createdAt, sections);
+        } catch (IOException e) {
+            throw new SnapshotException("Error reading snapshot " + path, e);
+        }
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public Stream<Movie> movies() {
+        SectionView section = section(SnapshotFormat.MOVIE);
+        return IntStream.range(0, section.rowCount).mapToObj(i -> {
+            int duration = section.intAt(1, i);
+            double averageRating = Double.longBitsToDouble(section.longAt(2, i));
+            int titleLength = section.intAt(4, i);
+            String title = null;
+            if (titleLength != SnapshotFormat.NULL_INT) {
+                byte[] bytes = new byte[titleLength];
+                section.tail.get((int) section.longAt(3, i), bytes);
+                title = new String(bytes, StandardCharsets.UTF_8);
+            }
+            return Movie.builder()
+                    .movieId(nullable(section.longAt(0, i)))
+                    .title(title)
+                    .duration(duration == SnapshotFormat.NULL_INT ? null : duration)
+                    .averageRating(decimal(averageRating))
+                    .build();
+        });
+    }
+
+    public Stream<UserRating> userRatings() {
+        SectionView section = section(SnapshotFormat.USER_RATING);
+        return IntStream.range(0, section.rowCount).mapToObj(i -> {
+            double value = Double.longBitsToDouble(section.longAt(2, i));
+            return UserRating.builder()
+                    .userId(nullable(section.longAt(0, i)))
+                    .movieId(nullable(section.longAt(1, i)))
+                    .ratingValue(decimal(value))
+                    .build();
+        });
+    }
+
+    public Stream<UserInteraction> userInteractions() {
+        SectionView section = section(SnapshotFormat.USER_INTERACTION);
+        return IntStream.range(0, section.rowCount).mapToObj(i -> UserInteraction.builder()
+                .userId(nullable(section.longAt(0, i)))
+                .movieId(nullable(section.longAt(1, i)))
+                .interactionsId(nullable(section.longAt(2, i)))
+                .build());
+    }
+
+    public Stream<ViewingHistory> viewingHistory() {
+        SectionView section = section(SnapshotFormat.VIEWING_HISTORY);
+        return IntStream.range(0, section.rowCount).mapToObj(i -> {
+            long watchDate = section.longAt(2, i);
+            return ViewingHistory.builder()
+                    .userId(nullable(section.longAt(0, i)))
+                    .movieId(nullable(section.longAt(1, i)))
+                    .watchDate(watchDate == SnapshotFormat.NULL_LONG ? null : new Timestamp(watchDate))
+                    .build();
+        });
+    }
+
+    public Stream<MovieGenres> movieGenres() {
+        SectionView section = section(SnapshotFormat.MOVIE_GENRES);
+        return IntStream.range(0, section.rowCount).mapToObj(i -> MovieGenres.builder()
+                .movieId(nullable(section.longAt(0, i)))
+                .genreId(nullable(section.longAt(1, i)))
+                .build());
+    }
+
+    private SectionView section(int id) {
+        SectionView section = sections.get(id);
+        if (section == null) {
+            throw new SnapshotException("Snapshot has no section " + id);
+        }
+        return section;
+    }
+
+    private static Long nullable(long value) {
+        return value == SnapshotFormat.NULL_LONG ? null : value;
+    }
+
+    // Restores the column scale, so 4.50 reads back as 4.50 rather than 4.5
+    private static BigDecimal decimal(double value) {
+        if (Double.isNaN(value)) {
+            return null;
+        }
+        return BigDecimal.valueOf(value).setScale(SnapshotFormat.DECIMAL_SCALE, RoundingMode.HALF_UP);
+    }
+
+    private static final class SectionView {
+        private final int rowCount;
+        private final ByteBuffer[] columns;
+        // Variable-length data after the fixed-size columns, e.g. the movie titles
+        private final ByteBuffer tail;
+
+        private SectionView(int rowCount, ByteBuffer[] columns, ByteBuffer tail) {
+            this.rowCount = rowCount;
+            this.columns = columns;
+            this.tail = tail;
+        }
+
+        static SectionView map(FileChannel channel, int rowCount, long offset, long length,
+                               int[] columnBytes) throws IOException {
+            ByteBuffer[] columns = new ByteBuffer[columnBytes.length];
+            long position = offset;
+            for (int n = 0; n < columnBytes.length; n++) {
+                long size = (long) rowCount * columnBytes[n];
+                if (position + size > offset + length) {
+                    throw new SnapshotException("Section column " + n + " is out of bounds");
+                }
+                columns[n] = mapRegion(channel, position, size);
+                position += size;
+            }
+            ByteBuffer tail = mapRegion(channel, position, offset + length - position);
+            return new SectionView(rowCount, columns, tail);
+        }
+
+        private static ByteBuffer mapRegion(FileChannel channel, long position, long size) throws IOException {
+            if (size > Integer.MAX_VALUE) {
+                throw new SnapshotException("Snapshot column of " + size + " bytes is too large to map");
+            }
+            MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+            return region.order(SnapshotFormat.BYTE_ORDER);
+        }
+
+        long checksum() {
+            CRC32 crc = new CRC32();
+            for (ByteBuffer column : columns) {
+                crc.update(column.duplicate());
+            }
+            crc.update(tail.duplicate());
+            return crc.getValue();
+        }
+
+        long longAt(int column, int i) {
+            return columns[column].getLong(i * Long.BYTES);
+        }
+
+        int intAt(int column, int i) {
+            return columns[column].getInt(i * Integer.BYTES);
+        }
+    }
+}
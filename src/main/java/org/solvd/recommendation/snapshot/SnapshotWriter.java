@@ -0,0 +1,302 @@
+package org.solvd.recommendation.snapshot;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.solvd.recommendation.dao.IMovieDAO;
+import org.solvd.recommendation.dao.IMovieGenresDAO;
+import org.solvd.recommendation.dao.IUserInteractionDAO;
+import org.solvd.recommendation.dao.IUserRatingDAO;
+import org.solvd.recommendation.dao.IViewingHistoryDAO;
+import org.solvd.recommendation.exeption.SnapshotException;
+import org.solvd.recommendation.model.Movie;
+import org.solvd.recommendation.model.MovieGenres;
+import org.solvd.recommendation.model.UserInteraction;
+import org.solvd.recommendation.model.UserRating;
+import org.solvd.recommendation.model.ViewingHistory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Exports the catalog, rating and interaction tables into a columnar snapshot file
+ * (see {@link SnapshotFormat}). Tables are scanned with {@code stream()} one at a time into
+ * primitive columns, which are streamed to the file through a small buffer while their checksum
+ * is computed, so only the table being written is held in memory. The file is written next to the
+ * target and moved into place, so readers never see a partial snapshot.
+ */
+public class SnapshotWriter {
+    private static final Logger logger = LoggerFactory.getLogger(SnapshotWriter.class);
+    private static final int SECTION_COUNT = 5;
+    private static final int CHUNK_BYTES = 64 * 1024;
+
+    private final IMovieDAO movieDAO;
+    private final IUserRatingDAO userRatingDAO;
+    private final IUserInteractionDAO userInteractionDAO;
+    private final IViewingHistoryDAO viewingHistoryDAO;
+    private final IMovieGenresDAO movieGenresDAO;
+
+    public SnapshotWriter(IMovieDAO movieDAO, IUserRatingDAO userRatingDAO, IUserInteractionDAO userInteractionDAO,
+                          IViewingHistoryDAO viewingHistoryDAO, IMovieGenresDAO movieGenresDAO) {
+        this.movieDAO = movieDAO;
+        this.userRatingDAO = userRatingDAO;
+        this.userInteractionDAO = userInteractionDAO;
+        this.viewingHistoryDAO = viewingHistoryDAO;
+        this.movieGenresDAO = movieGenresDAO;
+    }
+
+    public void write(Path target) {
+        long start = System.currentTimeMillis();
+        Path absoluteTarget = target.toAbsolutePath();
+        Path temp = absoluteTarget.resolveSibling(absoluteTarget.getFileName() + ".tmp");
+        try {
+            if (absoluteTarget.getParent() != null) {
+                Files.createDirectories(absoluteTarget.getParent());
+            }
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                SectionWriter out = new SectionWriter(channel, SECTION_COUNT);
+                try (Stream<Movie> movies = movieDAO.stream()) {
+                    writeMovies(out, movies);
+                }
+                try (Stream<UserRating> ratings = userRatingDAO.stream()) {
+                    writeUserRatings(out, ratings);
+                }
+                try (Stream<UserInteraction> interactions = userInteractionDAO.stream()) {
+                    writeUserInteractions(out, interactions);
+                }
+                try (Stream<ViewingHistory> history = viewingHistoryDAO.stream()) {
+                    writeViewingHistory(out, history);
+                }
+                try (Stream<MovieGenres> movieGenres = movieGenresDAO.stream()) {
+                    writeMovieGenres(out, movieGenres);
+                }
+                out.finish();
+                channel.force(true);
+            }
+            Files.move(temp, absoluteTarget, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            deleteQuietly(temp);
+            throw new SnapshotException("Error writing snapshot " + target, e);
+        } catch (RuntimeException e) {
+            deleteQuietly(temp);
+            throw e;
+        }
+        logger.info("Snapshot {} written in {} ms", target, System.currentTimeMillis() - start);
+    }
+
+    private static void writeMovies(SectionWriter out, Stream<Movie> movies) throws IOException {
+        LongColumn ids = new LongColumn();
+        LongColumn durations = new LongColumn();
+        LongColumn averageRatings = new LongColumn();
+        LongColumn titleOffsets = new LongColumn();
+        LongColumn titleLengths = new LongColumn();
+        ByteArrayOutputStream titles = new ByteArrayOutputStream();
+        movies.forEach(movie -> {
+            ids.add(movie.getMovieId());
+            durations.add(movie.getDuration() == null ? SnapshotFormat.NULL_INT : movie.getDuration());
+            averageRatings.add(Double.doubleToRawLongBits(movie.getAverageRating() == null
+                    ? Double.NaN : movie.getAverageRating().doubleValue()));
+            titleOffsets.add(titles.size());
+            if (movie.getTitle() == null) {
+                titleLengths.add(SnapshotFormat.NULL_INT);
+            } else {
+                byte[] title = movie.getTitle().getBytes(StandardCharsets.UTF_8);
+                titles.writeBytes(title);
+                titleLengths.add(title.length);
+            }
+        });
+
+        out.putLongs(ids);
+        out.putInts(durations);
+        out.putLongs(averageRatings);
+        out.putLongs(titleOffsets);
+        out.putInts(titleLengths);
+        out.putBytes(titles.toByteArray());
+        out.endSection(SnapshotFormat.MOVIE, ids.size());
+    }
+
+    private static void writeUserRatings(SectionWriter out, Stream<UserRating> ratings) throws IOException {
+        LongColumn userIds = new LongColumn();
+        LongColumn movieIds = new LongColumn();
+        LongColumn values = new LongColumn();
+        ratings.forEach(rating -> {
+            userIds.add(rating.getUserId());
+            movieIds.add(rating.getMovieId());
+            values.add(Double.doubleToRawLongBits(rating.getRatingValue() == null
+                    ? Double.NaN : rating.getRatingValue().doubleValue()));
+        });
+        out.putLongColumns(SnapshotFormat.USER_RATING, userIds, movieIds, values);
+    }
+
+    private static void writeUserInteractions(SectionWriter out, Stream<UserInteraction> interactions) throws IOException {
+        LongColumn userIds = new LongColumn();
+        LongColumn movieIds = new LongColumn();
+        LongColumn interactionIds = new LongColumn();
+        interactions.forEach(interaction -> {
+            userIds.add(interaction.getUserId());
+            movieIds.add(interaction.getMovieId());
+            interactionIds.add(interaction.getInteractionsId());
+        });
+        out.putLongColumns(SnapshotFormat.USER_INTERACTION, userIds, movieIds, interactionIds);
+    }
+
+    private static void writeViewingHistory(SectionWriter out, Stream<ViewingHistory> history) throws IOException {
+        LongColumn userIds = new LongColumn();
+        LongColumn movieIds = new LongColumn();
+        LongColumn watchDates = new LongColumn();
+        history.forEach(entry -> {
+            userIds.add(entry.getUserId());
+            movieIds.add(entry.getMovieId());
+            watchDates.add(entry.getWatchDate() == null ? SnapshotFormat.NULL_LONG : entry.getWatchDate().getTime());
+        });
+        out.putLongColumns(SnapshotFormat.VIEWING_HISTORY, userIds, movieIds, watchDates);
+    }
+
+    private static void writeMovieGenres(SectionWriter out, Stream<MovieGenres> movieGenres) throws IOException {
+        LongColumn movieIds = new LongColumn();
+        LongColumn genreIds = new LongColumn();
+        movieGenres.forEach(movieGenre -> {
+            movieIds.add(movieGenre.getMovieId());
+            genreIds.add(movieGenre.getGenreId());
+        });
+        out.putLongColumns(SnapshotFormat.MOVIE_GENRES, movieIds, genreIds);
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.warn("Could not delete {}", path, e);
+        }
+    }
+
+    /**
+     * Writes the sections one after another behind the space reserved for the header and the
+     * section directory, through a fixed-size buffer, and fills in the header and the directory
+     * at the start of the file last.
+     */
+    private static final class SectionWriter {
+        private final FileChannel channel;
+        private final ByteBuffer chunk = ByteBuffer.allocate(CHUNK_BYTES).order(SnapshotFormat.BYTE_ORDER);
+        private final ByteBuffer directory;
+        private final CRC32 crc = new CRC32();
+        private int sectionCount;
+        private long position;
+        private long sectionStart;
+
+        private SectionWriter(FileChannel channel, int maxSections) {
+            this.channel = channel;
+            this.directory = ByteBuffer.allocate(maxSections * SnapshotFormat.DIRECTORY_ENTRY_BYTES)
+                    .order(SnapshotFormat.BYTE_ORDER);
+            this.position = SnapshotFormat.HEADER_BYTES + directory.capacity();
+            this.sectionStart = position;
+        }
+
+        void putLongColumns(int sectionId, LongColumn... columns) throws IOException {
+            for (LongColumn column : columns) {
+                putLongs(column);
+            }
+            endSection(sectionId, columns[0].size());
+        }
+
+        void putLongs(LongColumn column) throws IOException {
+            for (int i = 0; i < column.size(); i++) {
+                if (chunk.remaining() < Long.BYTES) {
+                    flush();
+                }
+                chunk.putLong(column.get(i));
+            }
+        }
+
+        void putInts(LongColumn column) throws IOException {
+            for (int i = 0; i < column.size(); i++) {
+                if (chunk.remaining() < Integer.BYTES) {
+                    flush();
+                }
+                chunk.putInt((int) column.get(i));
+            }
+        }
+
+        void putBytes(byte[] bytes) throws IOException {
+            flush();
+            write(ByteBuffer.wrap(bytes));
+        }
+
+        void endSection(int sectionId, int rowCount) throws IOException {
+            flush();
+            directory.putInt(sectionId)
+                    .putInt(rowCount)
+                    .putLong(sectionStart)
+                    .putLong(position - sectionStart)
+                    .putLong(crc.getValue());
+            sectionCount++;
+            sectionStart = position;
+            crc.reset();
+        }
+
+        void finish() throws IOException {
+            ByteBuffer header = ByteBuffer.allocate(SnapshotFormat.HEADER_BYTES).order(SnapshotFormat.BYTE_ORDER);
+            header.putInt(SnapshotFormat.MAGIC)
+                    .putInt(SnapshotFormat.VERSION)
+                    .putLong(System.currentTimeMillis())
+                    .putInt(sectionCount)
+                    .flip();
+            writeAt(header, 0);
+            writeAt(directory.flip(), SnapshotFormat.HEADER_BYTES);
+        }
+
+        private void flush() throws IOException {
+            write(chunk.flip());
+            chunk.clear();
+        }
+
+        private void write(ByteBuffer buffer) throws IOException {
+            crc.update(buffer.duplicate());
+            int bytes = buffer.remaining();
+            writeAt(buffer, position);
+            position += bytes;
+        }
+
+        private void writeAt(ByteBuffer buffer, long at) throws IOException {
+            long offset = at;
+            while (buffer.hasRemaining()) {
+                offset += channel.write(buffer, offset);
+            }
+        }
+    }
+
+    // Growable primitive column, avoids boxing while the table is scanned
+    private static final class LongColumn {
+        private long[] values = new long[1024];
+        private int size;
+
+        void add(Long value) {
+            add(value == null ? SnapshotFormat.NULL_LONG : value.longValue());
+        }
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int size() {
+            return size;
+        }
+
+        long get(int index) {
+            return values[index];
+        }
+    }
+}
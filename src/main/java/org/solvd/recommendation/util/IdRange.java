@@ -0,0 +1,45 @@
+package org.solvd.recommendation.util;
+
+import java.util.Objects;
+
+/**
+ * Inclusive range of primary key values, {@code [fromId, toId]}.
+ */
+public final class IdRange {
+    private final long fromId;
+    private final long toId;
+
+    public IdRange(long fromId, long toId) {
+        if (fromId > toId) {
+            throw new IllegalArgumentException("Invalid ID range: " + fromId + " > " + toId);
+        }
+        this.fromId = fromId;
+        this.toId = toId;
+    }
+
+    public long getFromId() {
+        return fromId;
+    }
+
+    public long getToId() {
+        return toId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        IdRange that = (IdRange) o;
+        return fromId == that.fromId && toId == that.toId;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(fromId, toId);
+    }
+
+    @Override
+    public String toString() {
+        return "[" + fromId + ", " + toId + "]";
+    }
+}
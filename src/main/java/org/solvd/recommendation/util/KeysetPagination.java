@@ -0,0 +1,98 @@
+package org.solvd.recommendation.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Helpers for walking a table in primary key order without OFFSET scans.
+ * <p>
+ * A table's ID span is split into disjoint ranges; each range is walked page by page with
+ * {@code WHERE id > lastSeenId AND id <= range.toId ORDER BY id LIMIT pageSize},
+ * so every page is an index range read regardless of how deep into the table it is.
+ */
+public class KeysetPagination {
+
+    // Private constructor to prevent instantiation
+    private KeysetPagination() {}
+
+    /**
+     * Source of keyset pages: entities with {@code afterId < id <= maxId} in ID order.
+     * A {@code null} afterId starts at the first row, a {@code null} maxId has no upper bound.
+     */
+    @FunctionalInterface
+    public interface PageSource<T> {
+        List<T> getPage(Long afterId, Long maxId, int pageSize);
+    }
+
+    /**
+     * Splits {@code [minId, maxId]} into at most {@code parts} contiguous ranges of equal width.
+     * Returns no ranges when either bound is {@code null} (an empty table).
+     */
+    public static List<IdRange> split(Long minId, Long maxId, int parts) {
+        if (parts <= 0) {
+            throw new IllegalArgumentException("Number of parts must be positive");
+        }
+        List<IdRange> ranges = new ArrayList<>();
+        if (minId == null || maxId == null) {
+            return ranges;
+        }
+
+        long span = maxId - minId + 1;
+        long width = Math.max(1, (span + parts - 1) / parts);
+        for (long from = minId; from <= maxId; from += width) {
+            long to = Math.min(maxId, from + width - 1);
+            ranges.add(new IdRange(from, to));
+            if (to == maxId) break;
+        }
+        return ranges;
+    }
+
+    /**
+     * Walks one range page by page, passing every non-empty page to the consumer.
+     */
+    public static <T> void forEachPage(PageSource<T> source, IdRange range, int pageSize,
+                                       Function<T, Long> idExtractor, Consumer<List<T>> pageConsumer) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+
+        Long afterId = range.getFromId() - 1;
+        while (true) {
+            List<T> page = source.getPage(afterId, range.getToId(), pageSize);
+            if (page.isEmpty()) return;
+
+            pageConsumer.accept(page);
+            if (page.size() < pageSize) return;
+            afterId = idExtractor.apply(page.get(page.size() - 1));
+        }
+    }
+
+    /**
+     * Walks all ranges concurrently on {@code parallelism} worker threads.
+     * The consumer is called from several threads and must be thread-safe.
+     */
+    public static <T> void forEachPageParallel(PageSource<T> source, List<IdRange> ranges, int pageSize,
+                                               Function<T, Long> idExtractor, int parallelism,
+                                               Consumer<List<T>> pageConsumer) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.submit(() -> ranges.parallelStream()
+                            .forEach(range -> forEachPage(source, range, pageSize, idExtractor, pageConsumer)))
+                    .get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while walking ID ranges", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Error walking ID ranges", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
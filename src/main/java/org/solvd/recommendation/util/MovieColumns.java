@@ -0,0 +1,140 @@
+package org.solvd.recommendation.util;
+
+import org.solvd.recommendation.model.Movie;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable column-per-attribute copy of the Movie table.
+ * Movies are sorted by ID and addressed by their dense index in {@code [0, size())},
+ * so enumerating the catalog touches only primitive arrays and allocates nothing per movie.
+ */
+public final class MovieColumns {
+    private static final MovieColumns EMPTY = new MovieColumns(new long[0], new int[0], new float[0], new String[0]);
+    // Marks a NULL duration; a NULL average rating is stored as NaN
+    private static final int NULL_DURATION = Integer.MIN_VALUE;
+    // Movie.average_rating is DECIMAL(3,2)
+    private static final int RATING_SCALE = 2;
+
+    private final long[] movieIds;
+    private final int[] durations;
+    private final float[] averageRatings;
+    private final String[] titles;
+
+    private MovieColumns(long[] movieIds, int[] durations, float[] averageRatings, String[] titles) {
+        this.movieIds = movieIds;
+        this.durations = durations;
+        this.averageRatings = averageRatings;
+        this.titles = titles;
+    }
+
+    public static MovieColumns empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Builds the columns from the given movies. Titles equal to one another or to a title
+     * of {@code previous} share one String instance, so unchanged titles survive a reload
+     * without being copied.
+     */
+    public static MovieColumns of(Collection<Movie> movies, MovieColumns previous) {
+        if (movies.isEmpty()) {
+            return EMPTY;
+        }
+
+        List<Movie> sorted = new ArrayList<>(movies);
+        sorted.sort(Comparator.comparing(Movie::getMovieId));
+
+        Map<String, String> titlePool = new HashMap<>();
+        for (String title : previous.titles) {
+            titlePool.putIfAbsent(title, title);
+        }
+
+        int size = sorted.size();
+        long[] movieIds = new long[size];
+        int[] durations = new int[size];
+        float[] averageRatings = new float[size];
+        String[] titles = new String[size];
+        for (int i = 0; i < size; i++) {
+            Movie movie = sorted.get(i);
+            movieIds[i] = movie.getMovieId();
+            durations[i] = movie.getDuration() == null ? NULL_DURATION : movie.getDuration();
+            averageRatings[i] = movie.getAverageRating() == null ? Float.NaN : movie.getAverageRating().floatValue();
+            titles[i] = movie.getTitle() == null ? null : titlePool.computeIfAbsent(movie.getTitle(), title -> title);
+        }
+        return new MovieColumns(movieIds, durations, averageRatings, titles);
+    }
+
+    /**
+     * @return a copy with the given average ratings replaced; only the rating column is copied
+     */
+    public MovieColumns withAverageRatings(Map<Long, BigDecimal> averages) {
+        float[] updated = averageRatings.clone();
+        boolean changed = false;
+        for (Map.Entry<Long, BigDecimal> entry : averages.entrySet()) {
+            int index = indexOf(entry.getKey());
+            if (index >= 0) {
+                updated[index] = entry.getValue() == null ? Float.NaN : entry.getValue().floatValue();
+                changed = true;
+            }
+        }
+        return changed ? new MovieColumns(movieIds, durations, updated, titles) : this;
+    }
+
+    public int size() {
+        return movieIds.length;
+    }
+
+    /**
+     * @return the dense index of the movie, or -1 if it is not in the catalog
+     */
+    public int indexOf(long movieId) {
+        int index = Arrays.binarySearch(movieIds, movieId);
+        return index < 0 ? -1 : index;
+    }
+
+    public long getMovieId(int index) {
+        return movieIds[index];
+    }
+
+    /**
+     * @return the duration in minutes, or {@code null} if it is not set
+     */
+    public Integer getDuration(int index) {
+        return durations[index] == NULL_DURATION ? null : durations[index];
+    }
+
+    /**
+     * @return the average rating, or NaN if it is not set
+     */
+    public float getAverageRating(int index) {
+        return averageRatings[index];
+    }
+
+    public String getTitle(int index) {
+        return titles[index];
+    }
+
+    /**
+     * @return a new Movie with the values stored at the index
+     */
+    public Movie toMovie(int index) {
+        float averageRating = averageRatings[index];
+        return Movie.builder()
+                .movieId(movieIds[index])
+                .title(titles[index])
+                .duration(getDuration(index))
+                // Float.toString gives the shortest decimal form, which restores the stored decimal value
+                .averageRating(Float.isNaN(averageRating) ? null
+                        : new BigDecimal(Float.toString(averageRating)).setScale(RATING_SCALE, RoundingMode.HALF_UP))
+                .build();
+    }
+}
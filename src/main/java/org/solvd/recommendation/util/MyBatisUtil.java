@@ -1,27 +1,44 @@
 package org.solvd.recommendation.util;
 
+import org.apache.ibatis.builder.xml.XMLConfigBuilder;
 import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
 import org.apache.ibatis.session.SqlSessionFactory;
 import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.solvd.recommendation.util.datasource.ConnectionPoolMetrics;
+import org.solvd.recommendation.util.datasource.IDataSourceProvider;
+import org.solvd.recommendation.util.datasource.InstrumentedDataSource;
+import org.solvd.recommendation.util.datasource.PooledDataSourceProvider;
 
 import java.io.IOException;
 import java.io.Reader;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.function.Supplier;
 
 public class MyBatisUtil {
     private static final Logger logger = LoggerFactory.getLogger(MyBatisUtil.class);
+    private static final ThreadLocal<SqlSession> boundSession = new ThreadLocal<>();
+    private static final String ENVIRONMENT_ID = "dev";
     private static SqlSessionFactory sqlSessionFactory;
+    private static InstrumentedDataSource dataSource;
 
     // Private constructor to prevent instantiation
     private MyBatisUtil() {}
 
     public static synchronized SqlSessionFactory getSqlSessionFactory() {
         if (sqlSessionFactory == null) {
-            try {
-                Reader reader = Resources.getResourceAsReader("mybatis-config.xml");
-                sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
-                reader.close();
+            try (Reader reader = Resources.getResourceAsReader("mybatis-config.xml")) {
+                Configuration configuration = new XMLConfigBuilder(reader, null, AppConfig.getProperties()).parse();
+                dataSource = createDataSource();
+                configuration.setEnvironment(new Environment(ENVIRONMENT_ID, new JdbcTransactionFactory(), dataSource));
+                sqlSessionFactory = new SqlSessionFactoryBuilder().build(configuration);
                 logger.info("SqlSessionFactory initialized successfully");
             } catch (IOException e) {
                 logger.error("Error initializing SqlSessionFactory", e);
@@ -30,4 +47,105 @@ public class MyBatisUtil {
         }
         return sqlSessionFactory;
     }
-}
\ No newline at end of file
+
+    /**
+     * @return current connection pool state and connection acquisition latencies
+     */
+    public static ConnectionPoolMetrics getConnectionPoolMetrics() {
+        getSqlSessionFactory();
+        return dataSource.getMetrics();
+    }
+
+    private static InstrumentedDataSource createDataSource() {
+        String providerClass = AppConfig.getString("db.datasource.provider", PooledDataSourceProvider.class.getName());
+        IDataSourceProvider provider;
+        try {
+            provider = (IDataSourceProvider) Class.forName(providerClass).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            throw new IllegalStateException("Cannot create DataSource provider " + providerClass, e);
+        }
+        logger.info("Using DataSource provider {}", providerClass);
+        return new InstrumentedDataSource(provider.createDataSource(AppConfig.getProperties()), provider);
+    }
+
+    /**
+     * Runs the work as one unit of work with the executor type from {@code mybatis.executor.type}.
+     *
+     * @see #withSession(ExecutorType, Supplier)
+     */
+    public static <R> R withSession(Supplier<R> work) {
+        return withSession(getDefaultExecutorType(), work);
+    }
+
+    /**
+     * Runs the work as one unit of work: every DAO call made by the current thread
+     * shares a single SqlSession, so the work uses one connection and benefits from the
+     * session cache and, with REUSE, from reused prepared statements.
+     * The session is committed when the work completes and rolled back if it throws.
+     * A nested call joins the outer unit of work and ignores its own executor type.
+     * The BATCH executor is not supported: it defers statements and reports placeholder row
+     * counts, which breaks the DAOs' row count checks.
+     */
+    public static <R> R withSession(ExecutorType executorType, Supplier<R> work) {
+        if (executorType == ExecutorType.BATCH) {
+            throw new IllegalArgumentException("BATCH executor is not supported for units of work");
+        }
+        if (boundSession.get() != null) {
+            return work.get();
+        }
+
+        try (SqlSession session = getSqlSessionFactory().openSession(executorType)) {
+            boundSession.set(joinedView(session));
+            try {
+                R result = work.get();
+                session.commit();
+                return result;
+            } catch (RuntimeException | Error e) {
+                session.rollback();
+                throw e;
+            } finally {
+                boundSession.remove();
+            }
+        }
+    }
+
+    /**
+     * @return the session of the current thread's unit of work, or {@code null} outside of one.
+     * Closing, committing or rolling back the returned session has no effect; the unit of work
+     * owns its transaction.
+     */
+    public static SqlSession getBoundSession() {
+        return boundSession.get();
+    }
+
+    private static ExecutorType getDefaultExecutorType() {
+        String value = AppConfig.getString("mybatis.executor.type", ExecutorType.REUSE.name());
+        ExecutorType executorType;
+        try {
+            executorType = ExecutorType.valueOf(value.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            logger.warn("Unknown executor type '{}', using {}", value, ExecutorType.REUSE);
+            return ExecutorType.REUSE;
+        }
+        if (executorType == ExecutorType.BATCH) {
+            logger.warn("Executor type {} is not supported for units of work, using {}", executorType, ExecutorType.REUSE);
+            return ExecutorType.REUSE;
+        }
+        return executorType;
+    }
+
+    private static SqlSession joinedView(SqlSession session) {
+        return (SqlSession) Proxy.newProxyInstance(SqlSession.class.getClassLoader(),
+                new Class<?>[]{SqlSession.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "close", "commit", "rollback" -> null;
+                    default -> {
+                        try {
+                            yield method.invoke(session, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    }
+                });
+    }
+}
@@ -0,0 +1,448 @@
+package org.solvd.recommendation.util;
+
+import org.solvd.recommendation.algorithm.similarity.ISimilarityCalculator;
+import org.solvd.recommendation.model.UserRating;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * Immutable sparse user x movie rating matrix.
+ * <p>
+ * User and movie IDs are mapped to dense indices by sorted ID dictionaries. The ratings are
+ * stored twice: by user in compressed sparse row (CSR) layout and by movie in compressed sparse
+ * column (CSC) layout. Row {@code u} holds the entries {@code [rowStart(u), rowEnd(u))} sorted by
+ * movie index, column {@code m} the entries {@code [columnStart(m), columnEnd(m))} sorted by user
+ * index, so both a user's and a movie's ratings are contiguous slices of primitive arrays.
+ */
+public final class RatingMatrix {
+    private static final RatingMatrix EMPTY = new RatingMatrix(new long[0], new long[0],
+            new int[1], new int[0], new float[0], new int[1], new int[0], new float[0]);
+
+    private final long[] userIds;
+    private final long[] movieIds;
+
+    private final int[] rowOffsets;
+    private final int[] rowMovies;
+    private final float[] rowRatings;
+
+    private final int[] columnOffsets;
+    private final int[] columnUsers;
+    private final float[] columnRatings;
+
+    // Sum of squared ratings of every row and column, e.g. for cosine magnitudes
+    private final double[] rowSquaredNorms;
+    private final double[] columnSquaredNorms;
+
+    private RatingMatrix(long[] userIds, long[] movieIds,
+                         int[] rowOffsets, int[] rowMovies, float[] rowRatings,
+                         int[] columnOffsets, int[] columnUsers, float[] columnRatings) {
+        this.userIds = userIds;
+        this.movieIds = movieIds;
+        this.rowOffsets = rowOffsets;
+        this.rowMovies = rowMovies;
+        this.rowRatings = rowRatings;
+        this.columnOffsets = columnOffsets;
+        this.columnUsers = columnUsers;
+        this.columnRatings = columnRatings;
+        this.rowSquaredNorms = squaredNorms(rowOffsets, rowRatings);
+        this.columnSquaredNorms = squaredNorms(columnOffsets, columnRatings);
+    }
+
+    public static RatingMatrix empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Builds the matrix in a single pass over the ratings; only primitive copies of the
+     * ratings are kept while the iterator is consumed. Each (user, movie) pair must occur once.
+     */
+    public static RatingMatrix of(Iterator<UserRating> ratings) {
+        long[] users = new long[1024];
+        long[] movies = new long[1024];
+        float[] values = new float[1024];
+        int count = 0;
+        while (ratings.hasNext()) {
+            UserRating rating = ratings.next();
+            if (count == values.length) {
+                users = Arrays.copyOf(users, count * 2);
+                movies = Arrays.copyOf(movies, count * 2);
+                values = Arrays.copyOf(values, count * 2);
+            }
+            users[count] = rating.getUserId();
+            movies[count] = rating.getMovieId();
+            values[count] = rating.getRatingValue().floatValue();
+            count++;
+        }
+        return build(users, movies, values, count);
+    }
+
+    /**
+     * Returns a copy of this matrix with the changes applied, without reading the ratings again:
+     * a NaN value deletes the user's rating of the movie, any other value inserts or overwrites it.
+     * For the same (user, movie) pair the last change wins.
+     * <p>
+     * The sorted changes are merged into the existing rows, and the columns are refilled from the
+     * merged rows, so the cost is linear in the number of ratings plus sorting the changes. The ID
+     * dictionaries are shared with this matrix unless a change adds or removes a user or movie.
+     */
+    public RatingMatrix withChanges(long[] changedUsers, long[] changedMovies, float[] changedValues, int changeCount) {
+        if (changeCount == 0) {
+            return this;
+        }
+
+        // Sort the changes by user and movie; the sort is stable, so the last change of a pair is last
+        Integer[] order = new Integer[changeCount];
+        for (int i = 0; i < changeCount; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (i, j) -> changedUsers[i] != changedUsers[j]
+                ? Long.compare(changedUsers[i], changedUsers[j])
+                : Long.compare(changedMovies[i], changedMovies[j]));
+
+        long[] users = new long[changeCount];
+        long[] movies = new long[changeCount];
+        float[] values = new float[changeCount];
+        int count = 0;
+        for (int k = 0; k < changeCount; k++) {
+            int i = order[k];
+            if (count > 0 && users[count - 1] == changedUsers[i] && movies[count - 1] == changedMovies[i]) {
+                count--;
+            }
+            users[count] = changedUsers[i];
+            movies[count] = changedMovies[i];
+            values[count] = changedValues[i];
+            count++;
+        }
+
+        // Rating count change of every existing movie, and movies rated for the first time
+        int[] movieDeltas = new int[movieIds.length];
+        long[] addedMovies = new long[count];
+        int addedMovieCount = 0;
+        int total = ratingCount();
+        for (int i = 0; i < count; i++) {
+            int userIndex = userIndex(users[i]);
+            int movieIndex = movieIndex(movies[i]);
+            boolean existed = userIndex >= 0 && movieIndex >= 0
+                    && Arrays.binarySearch(rowMovies, rowOffsets[userIndex], rowOffsets[userIndex + 1], movieIndex) >= 0;
+            boolean exists = !Float.isNaN(values[i]);
+            if (existed == exists) continue;
+
+            int delta = exists ? 1 : -1;
+            total += delta;
+            if (movieIndex >= 0) {
+                movieDeltas[movieIndex] += delta;
+            } else {
+                addedMovies[addedMovieCount++] = movies[i];
+            }
+        }
+        if (total == 0) {
+            return EMPTY;
+        }
+
+        int[] movieMapping = new int[movieIds.length];
+        long[] newMovieIds = updatedIds(movieIds, columnOffsets, movieDeltas,
+                distinctSorted(addedMovies, addedMovieCount), movieMapping);
+        boolean sameMovies = newMovieIds == movieIds;
+
+        // Merge the changes into the rows in user ID order; users left without ratings are dropped
+        long[] newUserIds = new long[userIds.length + count];
+        int[] newRowOffsets = new int[userIds.length + count + 1];
+        int[] newRowMovies = new int[total];
+        float[] newRowRatings = new float[total];
+        int rowCount = 0;
+        int position = 0;
+        boolean sameUsers = true;
+        int user = 0;
+        int change = 0;
+        while (user < userIds.length || change < count) {
+            long userId = change == count || (user < userIds.length && userIds[user] < users[change])
+                    ? userIds[user] : users[change];
+            int from = 0;
+            int to = 0;
+            if (user < userIds.length && userIds[user] == userId) {
+                from = rowOffsets[user];
+                to = rowOffsets[user + 1];
+                user++;
+            }
+            int changeEnd = change;
+            while (changeEnd < count && users[changeEnd] == userId) {
+                changeEnd++;
+            }
+
+            if (change == changeEnd && sameMovies) {
+                System.arraycopy(rowMovies, from, newRowMovies, position, to - from);
+                System.arraycopy(rowRatings, from, newRowRatings, position, to - from);
+                position += to - from;
+            } else {
+                int k = from;
+                while (k < to || change < changeEnd) {
+                    if (change == changeEnd || (k < to && movieIds[rowMovies[k]] < movies[change])) {
+                        newRowMovies[position] = movieMapping[rowMovies[k]];
+                        newRowRatings[position++] = rowRatings[k++];
+                        continue;
+                    }
+                    if (k < to && movieIds[rowMovies[k]] == movies[change]) {
+                        k++;
+                    }
+                    if (!Float.isNaN(values[change])) {
+                        newRowMovies[position] = Arrays.binarySearch(newMovieIds, movies[change]);
+                        newRowRatings[position++] = values[change];
+                    }
+                    change++;
+                }
+            }
+            change = changeEnd;
+
+            if (position > newRowOffsets[rowCount]) {
+                sameUsers &= rowCount < userIds.length && userIds[rowCount] == userId;
+                newUserIds[rowCount++] = userId;
+                newRowOffsets[rowCount] = position;
+            }
+        }
+        sameUsers &= rowCount == userIds.length;
+
+        // Refill the columns by walking the rows in user order, so every column is sorted by user
+        int[] newColumnOffsets = offsets(newRowMovies, total, newMovieIds.length);
+        int[] newColumnUsers = new int[total];
+        float[] newColumnRatings = new float[total];
+        int[] next = Arrays.copyOf(newColumnOffsets, newMovieIds.length);
+        for (int row = 0; row < rowCount; row++) {
+            for (int k = newRowOffsets[row]; k < newRowOffsets[row + 1]; k++) {
+                int columnPosition = next[newRowMovies[k]]++;
+                newColumnUsers[columnPosition] = row;
+                newColumnRatings[columnPosition] = newRowRatings[k];
+            }
+        }
+
+        return new RatingMatrix(sameUsers ? userIds : Arrays.copyOf(newUserIds, rowCount), newMovieIds,
+                Arrays.copyOf(newRowOffsets, rowCount + 1), newRowMovies, newRowRatings,
+                newColumnOffsets, newColumnUsers, newColumnRatings);
+    }
+
+    private static RatingMatrix build(long[] users, long[] movies, float[] values, int count) {
+        if (count == 0) {
+            return EMPTY;
+        }
+
+        long[] userIds = distinctSorted(users, count);
+        long[] movieIds = distinctSorted(movies, count);
+        int[] userIndices = new int[count];
+        int[] movieIndices = new int[count];
+        for (int i = 0; i < count; i++) {
+            userIndices[i] = Arrays.binarySearch(userIds, users[i]);
+            movieIndices[i] = Arrays.binarySearch(movieIds, movies[i]);
+        }
+
+        // Bucket the ratings by movie in input order, then transpose twice: walking the columns
+        // in movie order fills every row sorted by movie, and walking those rows in user order
+        // refills every column sorted by user
+        int[] columnOffsets = offsets(movieIndices, count, movieIds.length);
+        int[] unsortedUsers = new int[count];
+        float[] unsortedRatings = new float[count];
+        int[] next = Arrays.copyOf(columnOffsets, movieIds.length);
+        for (int i = 0; i < count; i++) {
+            int position = next[movieIndices[i]]++;
+            unsortedUsers[position] = userIndices[i];
+            unsortedRatings[position] = values[i];
+        }
+
+        int[] rowOffsets = offsets(userIndices, count, userIds.length);
+        int[] rowMovies = new int[count];
+        float[] rowRatings = new float[count];
+        next = Arrays.copyOf(rowOffsets, userIds.length);
+        for (int movie = 0; movie < movieIds.length; movie++) {
+            for (int k = columnOffsets[movie]; k < columnOffsets[movie + 1]; k++) {
+                int position = next[unsortedUsers[k]]++;
+                rowMovies[position] = movie;
+                rowRatings[position] = unsortedRatings[k];
+            }
+        }
+
+        int[] columnUsers = unsortedUsers;
+        float[] columnRatings = unsortedRatings;
+        next = Arrays.copyOf(columnOffsets, movieIds.length);
+        for (int user = 0; user < userIds.length; user++) {
+            for (int k = rowOffsets[user]; k < rowOffsets[user + 1]; k++) {
+                int position = next[rowMovies[k]]++;
+                columnUsers[position] = user;
+                columnRatings[position] = rowRatings[k];
+            }
+        }
+
+        return new RatingMatrix(userIds, movieIds, rowOffsets, rowMovies, rowRatings,
+                columnOffsets, columnUsers, columnRatings);
+    }
+
+    public int userCount() {
+        return userIds.length;
+    }
+
+    public int movieCount() {
+        return movieIds.length;
+    }
+
+    public int ratingCount() {
+        return rowRatings.length;
+    }
+
+    /**
+     * @return the dense index of the user, or -1 if the user has no ratings
+     */
+    public int userIndex(long userId) {
+        int index = Arrays.binarySearch(userIds, userId);
+        return index < 0 ? -1 : index;
+    }
+
+    /**
+     * @return the dense index of the movie, or -1 if the movie has no ratings
+     */
+    public int movieIndex(long movieId) {
+        int index = Arrays.binarySearch(movieIds, movieId);
+        return index < 0 ? -1 : index;
+    }
+
+    public long userId(int userIndex) {
+        return userIds[userIndex];
+    }
+
+    public long movieId(int movieIndex) {
+        return movieIds[movieIndex];
+    }
+
+    public int rowStart(int userIndex) {
+        return rowOffsets[userIndex];
+    }
+
+    public int rowEnd(int userIndex) {
+        return rowOffsets[userIndex + 1];
+    }
+
+    public int rowMovie(int entry) {
+        return rowMovies[entry];
+    }
+
+    public float rowRating(int entry) {
+        return rowRatings[entry];
+    }
+
+    public int columnStart(int movieIndex) {
+        return columnOffsets[movieIndex];
+    }
+
+    public int columnEnd(int movieIndex) {
+        return columnOffsets[movieIndex + 1];
+    }
+
+    public int columnUser(int entry) {
+        return columnUsers[entry];
+    }
+
+    public float columnRating(int entry) {
+        return columnRatings[entry];
+    }
+
+    public double rowSquaredNorm(int userIndex) {
+        return rowSquaredNorms[userIndex];
+    }
+
+    public double columnSquaredNorm(int movieIndex) {
+        return columnSquaredNorms[movieIndex];
+    }
+
+    /**
+     * @return the rating of the movie by the user, or NaN if there is none
+     */
+    public float getRating(int userIndex, int movieIndex) {
+        int from = rowOffsets[userIndex];
+        int to = rowOffsets[userIndex + 1];
+        int entry = Arrays.binarySearch(rowMovies, from, to, movieIndex);
+        return entry < 0 ? Float.NaN : rowRatings[entry];
+    }
+
+    /**
+     * @return the similarity of two users' rating rows, compared on the matrix arrays in place
+     */
+    public double rowSimilarity(ISimilarityCalculator calculator, int userIndex1, int userIndex2) {
+        return calculator.calculateSimilarity(rowMovies, rowRatings, rowOffsets[userIndex1], rowOffsets[userIndex1 + 1],
+                rowMovies, rowRatings, rowOffsets[userIndex2], rowOffsets[userIndex2 + 1]);
+    }
+
+    /**
+     * @return the similarity of two movies' rating columns, compared on the matrix arrays in place
+     */
+    public double columnSimilarity(ISimilarityCalculator calculator, int movieIndex1, int movieIndex2) {
+        return calculator.calculateSimilarity(columnUsers, columnRatings, columnOffsets[movieIndex1], columnOffsets[movieIndex1 + 1],
+                columnUsers, columnRatings, columnOffsets[movieIndex2], columnOffsets[movieIndex2 + 1]);
+    }
+
+    private static long[] distinctSorted(long[] ids, int count) {
+        long[] sorted = Arrays.copyOf(ids, count);
+        Arrays.sort(sorted);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                sorted[distinct++] = sorted[i];
+            }
+        }
+        return Arrays.copyOf(sorted, distinct);
+    }
+
+    /**
+     * Dictionary after a change: the IDs whose entry count stays positive plus the added IDs,
+     * or the same array if none is added or removed. Fills the old index to new index mapping,
+     * -1 for removed IDs.
+     */
+    private static long[] updatedIds(long[] ids, int[] offsets, int[] deltas, long[] added, int[] mapping) {
+        boolean removed = false;
+        for (int i = 0; i < ids.length && !removed; i++) {
+            removed = offsets[i + 1] - offsets[i] + deltas[i] == 0;
+        }
+        if (!removed && added.length == 0) {
+            for (int i = 0; i < ids.length; i++) {
+                mapping[i] = i;
+            }
+            return ids;
+        }
+
+        long[] updated = new long[ids.length + added.length];
+        int count = 0;
+        int next = 0;
+        for (int i = 0; i < ids.length; i++) {
+            while (next < added.length && added[next] < ids[i]) {
+                updated[count++] = added[next++];
+            }
+            if (offsets[i + 1] - offsets[i] + deltas[i] > 0) {
+                mapping[i] = count;
+                updated[count++] = ids[i];
+            } else {
+                mapping[i] = -1;
+            }
+        }
+        while (next < added.length) {
+            updated[count++] = added[next++];
+        }
+        return Arrays.copyOf(updated, count);
+    }
+
+    private static double[] squaredNorms(int[] offsets, float[] ratings) {
+        double[] norms = new double[offsets.length - 1];
+        for (int i = 0; i < norms.length; i++) {
+            for (int k = offsets[i]; k < offsets[i + 1]; k++) {
+                norms[i] += (double) ratings[k] * ratings[k];
+            }
+        }
+        return norms;
+    }
+
+    private static int[] offsets(int[] indices, int count, int size) {
+        int[] offsets = new int[size + 1];
+        for (int i = 0; i < count; i++) {
+            offsets[indices[i] + 1]++;
+        }
+        for (int i = 0; i < size; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+        return offsets;
+    }
+}
@@ -0,0 +1,57 @@
+package org.solvd.recommendation.util.cache;
+
+/**
+ * Point-in-time counters of one mapper cache.
+ */
+public final class CacheStats {
+    private final String namespace;
+    private final int size;
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final long expirations;
+
+    public CacheStats(String namespace, int size, long hits, long misses, long evictions, long expirations) {
+        this.namespace = namespace;
+        this.size = size;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.expirations = expirations;
+    }
+
+    public String getNamespace() {
+        return namespace;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public long getExpirations() {
+        return expirations;
+    }
+
+    public double getHitRatio() {
+        long requests = hits + misses;
+        return requests == 0 ? 0.0 : (double) hits / requests;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CacheStats{namespace=%s, size=%d, hits=%d, misses=%d, hitRatio=%.3f, evictions=%d, expirations=%d}",
+                namespace, size, hits, misses, getHitRatio(), evictions, expirations);
+    }
+}
@@ -0,0 +1,135 @@
+package org.solvd.recommendation.util.cache;
+
+import org.apache.ibatis.cache.Cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * MyBatis second-level cache: LRU bounded by {@code size} entries, with entries expiring
+ * {@code ttlSeconds} after they were stored (0 disables expiry).
+ * <p>
+ * MyBatis applies no synchronizing decorators to custom cache types, so every method is
+ * synchronized here. Entries are flushed by MyBatis whenever the namespace's insert, update or
+ * delete statements commit. Declare the cache {@code readOnly="true"}: cached results are shared
+ * between sessions and must not be modified.
+ */
+public class StatsCache implements Cache {
+    private static final Map<String, StatsCache> instances = new ConcurrentHashMap<>();
+
+    private final String id;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+    private int size = 1024;
+    private long ttlMillis;
+    private final LinkedHashMap<Object, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    public StatsCache(String id) {
+        this.id = id;
+        instances.put(id, this);
+    }
+
+    /**
+     * @return current counters of every StatsCache, one per mapper namespace
+     */
+    public static List<CacheStats> getAllStats() {
+        return instances.values().stream()
+                .map(StatsCache::getStats)
+                .toList();
+    }
+
+    // Set by MyBatis from the <cache> element's properties
+    public synchronized void setSize(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        this.size = size;
+    }
+
+    public synchronized void setTtlSeconds(long ttlSeconds) {
+        this.ttlMillis = ttlSeconds * 1000;
+    }
+
+    public synchronized CacheStats getStats() {
+        return new CacheStats(id, entries.size(), hits.get(), misses.get(), evictions.get(), expirations.get());
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public synchronized void putObject(Object key, Object value) {
+        long expiresAt = ttlMillis > 0 ? System.currentTimeMillis() + ttlMillis : Long.MAX_VALUE;
+        entries.put(key, new Entry(value, expiresAt));
+
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (entries.size() > size && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    @Override
+    public synchronized Object getObject(Object key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        if (entry.expiresAt <= System.currentTimeMillis()) {
+            entries.remove(key);
+            expirations.incrementAndGet();
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return entry.value;
+    }
+
+    @Override
+    public synchronized Object removeObject(Object key) {
+        Entry entry = entries.remove(key);
+        return entry == null ? null : entry.value;
+    }
+
+    @Override
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    @Override
+    public synchronized int getSize() {
+        return entries.size();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Cache)) return false;
+        return id.equals(((Cache) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return id.hashCode();
+    }
+
+    private static final class Entry {
+        private final Object value;
+        private final long expiresAt;
+
+        private Entry(Object value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
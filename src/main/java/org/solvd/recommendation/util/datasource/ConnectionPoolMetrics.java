@@ -0,0 +1,74 @@
+package org.solvd.recommendation.util.datasource;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point-in-time view of the connection pool.
+ * Counts the pool does not report are -1; latencies are in microseconds.
+ */
+public final class ConnectionPoolMetrics {
+    private final int activeConnections;
+    private final int idleConnections;
+    private final int pendingRequests;
+    private final long totalAcquisitions;
+    private final long p50AcquireMicros;
+    private final long p95AcquireMicros;
+    private final long p99AcquireMicros;
+    private final long maxAcquireMicros;
+
+    public ConnectionPoolMetrics(int activeConnections, int idleConnections, int pendingRequests,
+                                 long totalAcquisitions, long[] acquireNanosPercentiles) {
+        this.activeConnections = activeConnections;
+        this.idleConnections = idleConnections;
+        this.pendingRequests = pendingRequests;
+        this.totalAcquisitions = totalAcquisitions;
+        this.p50AcquireMicros = TimeUnit.NANOSECONDS.toMicros(acquireNanosPercentiles[0]);
+        this.p95AcquireMicros = TimeUnit.NANOSECONDS.toMicros(acquireNanosPercentiles[1]);
+        this.p99AcquireMicros = TimeUnit.NANOSECONDS.toMicros(acquireNanosPercentiles[2]);
+        this.maxAcquireMicros = TimeUnit.NANOSECONDS.toMicros(acquireNanosPercentiles[3]);
+    }
+
+    public int getActiveConnections() {
+        return activeConnections;
+    }
+
+    public int getIdleConnections() {
+        return idleConnections;
+    }
+
+    public int getPendingRequests() {
+        return pendingRequests;
+    }
+
+    public long getTotalAcquisitions() {
+        return totalAcquisitions;
+    }
+
+    public long getP50AcquireMicros() {
+        return p50AcquireMicros;
+    }
+
+    public long getP95AcquireMicros() {
+        return p95AcquireMicros;
+    }
+
+    public long getP99AcquireMicros() {
+        return p99AcquireMicros;
+    }
+
+    public long getMaxAcquireMicros() {
+        return maxAcquireMicros;
+    }
+
+    @Override
+    public String toString() {
+        return "ConnectionPoolMetrics{active=" + activeConnections +
+                ", idle=" + idleConnections +
+                ", pending=" + pendingRequests +
+                ", acquisitions=" + totalAcquisitions +
+                ", acquireMicros[p50=" + p50AcquireMicros +
+                ", p95=" + p95AcquireMicros +
+                ", p99=" + p99AcquireMicros +
+                ", max=" + maxAcquireMicros + "]}";
+    }
+}
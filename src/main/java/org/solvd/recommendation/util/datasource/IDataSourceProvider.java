@@ -0,0 +1,24 @@
+package org.solvd.recommendation.util.datasource;
+
+import javax.sql.DataSource;
+import java.util.Properties;
+
+/**
+ * Creates the JDBC DataSource used by MyBatis.
+ * The implementation is selected with {@code db.datasource.provider} in {@code config.properties}
+ * and must have a public no-argument constructor.
+ */
+public interface IDataSourceProvider {
+
+    DataSource createDataSource(Properties properties);
+
+    // Connections currently checked out of the pool, or -1 if the pool does not report it
+    default int getActiveConnectionCount() {
+        return -1;
+    }
+
+    // Connections currently idle in the pool, or -1 if the pool does not report it
+    default int getIdleConnectionCount() {
+        return -1;
+    }
+}
@@ -0,0 +1,91 @@
+package org.solvd.recommendation.util.datasource;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * DataSource decorator that measures how long callers wait for a connection
+ * and how many are waiting right now.
+ */
+public class InstrumentedDataSource implements DataSource {
+    private static final int LATENCY_SAMPLES = 4096;
+
+    private final DataSource delegate;
+    private final IDataSourceProvider provider;
+    private final AtomicInteger pending = new AtomicInteger();
+    private final LatencyRecorder acquireLatency = new LatencyRecorder(LATENCY_SAMPLES);
+
+    public InstrumentedDataSource(DataSource delegate, IDataSourceProvider provider) {
+        this.delegate = delegate;
+        this.provider = provider;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        long start = System.nanoTime();
+        pending.incrementAndGet();
+        try {
+            return delegate.getConnection();
+        } finally {
+            pending.decrementAndGet();
+            acquireLatency.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        long start = System.nanoTime();
+        pending.incrementAndGet();
+        try {
+            return delegate.getConnection(username, password);
+        } finally {
+            pending.decrementAndGet();
+            acquireLatency.record(System.nanoTime() - start);
+        }
+    }
+
+    public ConnectionPoolMetrics getMetrics() {
+        return new ConnectionPoolMetrics(provider.getActiveConnectionCount(), provider.getIdleConnectionCount(),
+                pending.get(), acquireLatency.getTotalCount(), acquireLatency.percentiles(50, 95, 99, 100));
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return delegate.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        delegate.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        delegate.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return delegate.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return delegate.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        return iface.isInstance(this) ? iface.cast(this) : delegate.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || delegate.isWrapperFor(iface);
+    }
+}
@@ -0,0 +1,70 @@
+package org.solvd.recommendation.util.datasource;
+
+import org.apache.ibatis.datasource.pooled.PooledDataSource;
+import org.apache.ibatis.datasource.pooled.PoolState;
+
+import javax.sql.DataSource;
+import java.util.Properties;
+
+/**
+ * Default provider backed by MyBatis's {@link PooledDataSource}.
+ * <p>
+ * Pool sizing and validation come from the {@code db.pool.*} settings. The prepared statement
+ * cache is the MySQL driver's client-side cache, enabled through driver properties.
+ */
+public class PooledDataSourceProvider implements IDataSourceProvider {
+    private PooledDataSource dataSource;
+
+    @Override
+    public DataSource createDataSource(Properties properties) {
+        Properties driverProperties = new Properties();
+        driverProperties.setProperty("user", properties.getProperty("db.user", ""));
+        driverProperties.setProperty("password", properties.getProperty("db.password", ""));
+        if (Boolean.parseBoolean(properties.getProperty("db.statement.cache.enabled", "true"))) {
+            driverProperties.setProperty("cachePrepStmts", "true");
+            driverProperties.setProperty("prepStmtCacheSize", properties.getProperty("db.statement.cache.size", "250"));
+            driverProperties.setProperty("prepStmtCacheSqlLimit", properties.getProperty("db.statement.cache.sql.limit", "2048"));
+        }
+
+        PooledDataSource pool = new PooledDataSource(properties.getProperty("mysql.driver"),
+                properties.getProperty("db.url"), driverProperties);
+        pool.setPoolMaximumActiveConnections(intProperty(properties, "db.pool.max.active", 10));
+        pool.setPoolMaximumIdleConnections(intProperty(properties, "db.pool.max.idle", 5));
+        pool.setPoolMaximumCheckoutTime(intProperty(properties, "db.pool.max.checkout.millis", 20000));
+        pool.setPoolTimeToWait(intProperty(properties, "db.pool.wait.millis", 20000));
+
+        boolean validate = Boolean.parseBoolean(properties.getProperty("db.pool.validation.enabled", "true"));
+        pool.setPoolPingEnabled(validate);
+        pool.setPoolPingQuery(properties.getProperty("db.pool.validation.query", "SELECT 1"));
+        pool.setPoolPingConnectionsNotUsedFor(intProperty(properties, "db.pool.validation.idle.millis", 30000));
+
+        this.dataSource = pool;
+        return pool;
+    }
+
+    @Override
+    public int getActiveConnectionCount() {
+        return dataSource == null ? -1 : poolState().getActiveConnectionCount();
+    }
+
+    @Override
+    public int getIdleConnectionCount() {
+        return dataSource == null ? -1 : poolState().getIdleConnectionCount();
+    }
+
+    private PoolState poolState() {
+        return dataSource.getPoolState();
+    }
+
+    private static int intProperty(Properties properties, String key, int defaultValue) {
+        String value = properties.getProperty(key);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid integer value '" + value + "' for " + key, e);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package org.solvd.recommendation.util.writebehind;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Queues events and writes them in batches on a background thread.
+ * <p>
+ * A batch is written once {@code batchSize} events are pending or {@code flushIntervalMillis}
+ * has passed. The queue is bounded: when it is full, {@link #add} writes the event on the
+ * caller's thread, which slows producers down to the database's pace. Pending events are
+ * flushed by {@link #close()}; {@link org.solvd.recommendation.service.ServiceFactory} closes its
+ * buffers on JVM shutdown.
+ * <p>
+ * If a batch fails, its events are written again one at a time, so a single bad event, e.g. a
+ * duplicate key, fails alone as it would have without the buffer instead of discarding the batch.
+ * This assumes a failed batch left nothing written, so the writer must write a batch in one
+ * transaction; {@link org.solvd.recommendation.service.ServiceFactory} keeps the batch size
+ * within {@code db.batch.size} for that reason.
+ * <p>
+ * Queued events are not visible to reads until their batch has been written.
+ *
+ * @param <T> Event type
+ */
+public class WriteBehindBuffer<T> implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(WriteBehindBuffer.class);
+
+    private final String name;
+    private final Consumer<List<T>> writer;
+    private final int capacity;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+
+    private final Queue<T> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger depth = new AtomicInteger();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    // Held shared by add() and exclusively by close(), so no event is queued after the final flush
+    private final ReentrantReadWriteLock closeLock = new ReentrantReadWriteLock();
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong callerRuns = new AtomicLong();
+
+    private final Thread flusher;
+    private volatile boolean closed;
+
+    /**
+     * @param writer writes one batch, e.g. a DAO's {@code saveAll}
+     */
+    public WriteBehindBuffer(String name, Consumer<List<T>> writer,
+                             int capacity, int batchSize, long flushIntervalMillis) {
+        if (capacity <= 0 || batchSize <= 0 || flushIntervalMillis <= 0) {
+            throw new IllegalArgumentException("Write-behind capacity, batch size and flush interval must be positive");
+        }
+        this.name = name;
+        this.writer = writer;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+
+        this.flusher = new Thread(this::runFlusher, "write-behind-" + name);
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    public void add(T event) {
+        closeLock.readLock().lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Write-behind buffer " + name + " is closed");
+            }
+
+            if (depth.incrementAndGet() <= capacity) {
+                queue.offer(event);
+                if (enqueued.incrementAndGet() % batchSize == 0) {
+                    LockSupport.unpark(flusher);
+                }
+                return;
+            }
+            depth.decrementAndGet();
+        } finally {
+            closeLock.readLock().unlock();
+        }
+
+        // Queue full: written on the caller's thread, outside the lock so close() is not held up
+        callerRuns.incrementAndGet();
+        write(List.of(event));
+    }
+
+    /**
+     * Writes every event queued so far on the calling thread.
+     */
+    public void flush() {
+        writeLock.lock();
+        try {
+            while (drainBatch()) {
+                // keep draining full batches
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Stops the background writer and flushes the remaining events.
+     */
+    @Override
+    public void close() {
+        closeLock.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        } finally {
+            closeLock.writeLock().unlock();
+        }
+        LockSupport.unpark(flusher);
+        try {
+            flusher.join(TimeUnit.NANOSECONDS.toMillis(flushIntervalNanos) * 10);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        logger.info("Write-behind buffer closed: {}", getMetrics());
+    }
+
+    public WriteBehindMetrics getMetrics() {
+        return new WriteBehindMetrics(name, depth.get(), capacity,
+                enqueued.get(), written.get(), failed.get(), callerRuns.get());
+    }
+
+    private void runFlusher() {
+        while (!closed) {
+            if (depth.get() < batchSize) {
+                LockSupport.parkNanos(this, flushIntervalNanos);
+            }
+            writeLock.lock();
+            try {
+                drainBatch();
+            } finally {
+                writeLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * @return whether anything was drained
+     */
+    private boolean drainBatch() {
+        List<T> batch = new ArrayList<>(Math.min(batchSize, Math.max(depth.get(), 1)));
+        T event;
+        while (batch.size() < batchSize && (event = queue.poll()) != null) {
+            batch.add(event);
+        }
+        if (batch.isEmpty()) {
+            return false;
+        }
+        depth.addAndGet(-batch.size());
+        write(batch);
+        return true;
+    }
+
+    private void write(List<T> batch) {
+        try {
+            writer.accept(batch);
+            written.addAndGet(batch.size());
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                failed.incrementAndGet();
+                logger.error("Write-behind buffer {} failed to write an event", name, e);
+                return;
+            }
+            logger.warn("Write-behind buffer {} failed to write a batch of {} events, writing them one by one",
+                    name, batch.size(), e);
+            for (T event : batch) {
+                write(List.of(event));
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package org.solvd.recommendation.util.writebehind;
+
+/**
+ * Point-in-time view of a write-behind buffer.
+ */
+public final class WriteBehindMetrics {
+    private final String name;
+    private final int queueDepth;
+    private final int capacity;
+    private final long enqueued;
+    private final long written;
+    private final long failed;
+    private final long callerRuns;
+
+    public WriteBehindMetrics(String name, int queueDepth, int capacity,
+                              long enqueued, long written, long failed, long callerRuns) {
+        this.name = name;
+        this.queueDepth = queueDepth;
+        this.capacity = capacity;
+        this.enqueued = enqueued;
+        this.written = written;
+        this.failed = failed;
+        this.callerRuns = callerRuns;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getEnqueued() {
+        return enqueued;
+    }
+
+    public long getWritten() {
+        return written;
+    }
+
+    /**
+     * Events dropped because their batch could not be written.
+     */
+    public long getFailed() {
+        return failed;
+    }
+
+    /**
+     * Events written on the caller's thread because the queue was full.
+     */
+    public long getCallerRuns() {
+        return callerRuns;
+    }
+
+    @Override
+    public String toString() {
+        return "WriteBehindMetrics{" +
+                "name=" + name +
+                ", queueDepth=" + queueDepth +
+                ", capacity=" + capacity +
+                ", enqueued=" + enqueued +
+                ", written=" + written +
+                ", failed=" + failed +
+                ", callerRuns=" + callerRuns +
+                '}';
+    }
+}